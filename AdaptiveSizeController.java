@@ -0,0 +1,143 @@
+package com.kopo.jimin;
+
+/**
+ * 라운드트립 측정 기반 Batch Size / Fetch Size 자동 조정기 (Hill-Climbing)
+ * 처리방식: 현재 크기로 라운드트립 3회를 측정하여 처리량(rows/s) 계산
+ *           → 이전 구간보다 좋아지면 같은 방향으로 계속, 나빠지면 방향을 바꾸고 조정 폭 축소
+ *           → 조정 폭이 충분히 작아지면 크기 확정 (처리량이 30% 이상 떨어지면 재탐색)
+ * 특징: 크기는 [최소, 최대] 범위로 제한 (최대값 = 메모리 상한, 청크/배치 1개에 담기는 행 수)
+ *       로컬 DB(환경 A)는 작은 크기에서, 원격 DB(환경 B)는 큰 크기에서 확정되는 경향
+ */
+public class AdaptiveSizeController {
+
+    private static final int WINDOW_ROUND_TRIPS = 3;   // 처리량 측정 단위 (라운드트립 수)
+    private static final double INITIAL_STEP = 2.0;    // 첫 조정 배율
+    private static final double MIN_STEP = 1.1;        // 이 배율 미만이면 확정
+    private static final double TOLERANCE = 0.05;      // 5% 이내 변화는 차이 없음으로 판단
+    private static final double RESTART_DROP = 0.7;    // 확정 후 처리량이 70% 미만으로 떨어지면 재탐색
+
+    private final String label;
+    private final int minSize;
+    private final int maxSize;
+
+    private int size;
+    private double step = INITIAL_STEP;
+    private int direction = 1;
+    private double previousThroughput = 0;
+    private double settledThroughput = 0;
+    private boolean settled = false;
+    private int adjustmentCount = 0;
+
+    // 현재 측정 구간
+    private long windowRows = 0;
+    private long windowNanos = 0;
+    private int windowRoundTrips = 0;
+
+    public AdaptiveSizeController(String label, int initialSize, int minSize, int maxSize) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("크기 범위가 올바르지 않습니다: " + minSize + " ~ " + maxSize);
+        }
+        this.label = label;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.size = clamp(initialSize);
+    }
+
+    /**
+     * 현재 권장 크기
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isSettled() {
+        return settled;
+    }
+
+    /**
+     * 라운드트립 1회 결과 기록 (rows건을 nanos 동안 처리)
+     * @return 크기가 바뀌었으면 true
+     */
+    public boolean record(int rows, long nanos) {
+        if (rows <= 0) {
+            return false;
+        }
+        windowRows += rows;
+        windowNanos += Math.max(1, nanos);
+        if (++windowRoundTrips < WINDOW_ROUND_TRIPS) {
+            return false;
+        }
+
+        double throughput = windowRows * 1_000_000_000.0 / windowNanos;
+        windowRows = 0;
+        windowNanos = 0;
+        windowRoundTrips = 0;
+
+        if (settled) {
+            // 확정 후에는 네트워크 상태 변화만 감시
+            if (throughput >= settledThroughput * RESTART_DROP) {
+                return false;
+            }
+            System.out.printf("[%s] 처리량 저하 감지 (%,.0f → %,.0f rows/s), 크기 재탐색%n",
+                    label, settledThroughput, throughput);
+            settled = false;
+            step = INITIAL_STEP;
+            direction = 1;
+            previousThroughput = throughput;
+            return move();
+        }
+
+        if (previousThroughput == 0) {
+            // 첫 구간: 기준 처리량 기록 후 키우는 방향으로 탐색 시작
+            previousThroughput = throughput;
+            return move();
+        }
+
+        if (throughput > previousThroughput * (1 + TOLERANCE)) {
+            // 개선: 같은 방향 유지
+            previousThroughput = throughput;
+        } else if (throughput < previousThroughput * (1 - TOLERANCE)) {
+            // 악화: 방향 전환 + 조정 폭 축소
+            direction = -direction;
+            step = Math.sqrt(step);
+            previousThroughput = throughput;
+        } else {
+            // 차이 없음: 조정 폭만 축소 (정점 근처)
+            step = Math.sqrt(step);
+            previousThroughput = Math.max(previousThroughput, throughput);
+        }
+
+        if (step < MIN_STEP) {
+            settled = true;
+            settledThroughput = previousThroughput;
+            System.out.printf("[%s] 크기 확정: %,d (%,.0f rows/s, 조정 %d회)%n",
+                    label, size, settledThroughput, adjustmentCount);
+            return false;
+        }
+        return move();
+    }
+
+    private boolean move() {
+        int next = clamp((int) Math.round(direction > 0 ? size * step : size / step));
+        if (next == size) {
+            // 경계에 닿으면 반대 방향으로
+            direction = -direction;
+            return false;
+        }
+        size = next;
+        adjustmentCount++;
+        return true;
+    }
+
+    private int clamp(int value) {
+        return Math.max(minSize, Math.min(maxSize, value));
+    }
+
+    /**
+     * 종료 시 최종 크기 출력
+     */
+    public void printSummary() {
+        System.out.printf("[%s] 최종 크기: %,d (%s, 조정 %d회)%n",
+                label, size, settled ? "확정" : "탐색 중 종료", adjustmentCount);
+    }
+}
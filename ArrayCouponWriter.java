@@ -0,0 +1,132 @@
+package com.kopo.jimin;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.Arrays;
+
+/**
+ * 배열 바인딩 Writer (Java 계산 + callstmt_2의 FORALL INSERT)
+ * 처리방식: 청크 크기만큼 고객ID / 이메일 / 쿠폰코드 / 신용한도를 컬럼별 배열에 모은 뒤
+ *           서버 함수 BONUS_COUPON_ARRAY_INSERT를 1번 호출하여 FORALL로 일괄 INSERT
+ * 특징: addBatch와 달리 행마다 바인딩 처리를 거치지 않고 컬렉션 4개만 전송 (청크당 라운드트립 1번)
+ */
+public class ArrayCouponWriter implements CouponWriter {
+
+    private final Connection conn;
+    private final boolean oracle;
+    private final CallableStatement callStmt;
+    private final int chunkSize;
+
+    private final String[] customerIds;
+    private final String[] emails;
+    private final String[] couponCodes;
+    private final BigDecimal[] creditPoints;
+    private int pendingCount = 0;
+    private int sqlExecutionCount = 0;
+    private StageTimer stages = StageTimer.DISABLED;
+
+    public ArrayCouponWriter(Connection conn, BatchContext ctx, int chunkSize) throws SQLException {
+        CouponArrayProcedure.install(conn);
+
+        this.conn = conn;
+        this.oracle = CouponArrayProcedure.isOracle(conn);
+        this.chunkSize = chunkSize;
+        this.customerIds = new String[chunkSize];
+        this.emails = new String[chunkSize];
+        this.couponCodes = new String[chunkSize];
+        this.creditPoints = new BigDecimal[chunkSize];
+
+        callStmt = conn.prepareCall(CouponArrayProcedure.CALL_SQL);
+        callStmt.registerOutParameter(1, Types.INTEGER);
+        callStmt.setString(2, ctx.targetTable());
+        callStmt.setString(3, ctx.yyyymm());
+    }
+
+    @Override
+    public void write(CustomerRow row, String couponCode) throws SQLException {
+        long t = stages.start();
+        customerIds[pendingCount] = row.id();
+        emails[pendingCount] = row.email();
+        couponCodes[pendingCount] = couponCode;
+        creditPoints[pendingCount] = row.creditLimit();
+        stages.record(StageTimer.Stage.BIND, t);
+        pendingCount++;
+
+        if (pendingCount >= chunkSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        if (pendingCount == 0) {
+            return;
+        }
+
+        // 컬렉션 크기 = 실제 건수 (마지막 청크는 잘라서 전송)
+        long t = stages.start();
+        Array ids = toArray(CouponArrayProcedure.VARCHAR_TYPE, "VARCHAR", customerIds);
+        Array mails = toArray(CouponArrayProcedure.VARCHAR_TYPE, "VARCHAR", emails);
+        Array codes = toArray(CouponArrayProcedure.VARCHAR_TYPE, "VARCHAR", couponCodes);
+        Array points = toArray(CouponArrayProcedure.NUMBER_TYPE, "NUMERIC", creditPoints);
+        try {
+            callStmt.setArray(4, ids);
+            callStmt.setArray(5, mails);
+            callStmt.setArray(6, codes);
+            callStmt.setArray(7, points);
+            t = stages.record(StageTimer.Stage.BIND, t);
+            callStmt.execute();
+            stages.record(StageTimer.Stage.EXECUTE, t);
+            sqlExecutionCount++;
+
+            int insertCount = callStmt.getInt(1);
+            if (insertCount != pendingCount) {
+                throw new SQLException(String.format("배열 INSERT 건수 불일치 (전송: %,d건, INSERT: %,d건)",
+                        pendingCount, insertCount));
+            }
+        } finally {
+            freeQuietly(ids);
+            freeQuietly(mails);
+            freeQuietly(codes);
+            freeQuietly(points);
+        }
+        clear();
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(customerIds, 0, pendingCount, null);
+        Arrays.fill(emails, 0, pendingCount, null);
+        Arrays.fill(couponCodes, 0, pendingCount, null);
+        Arrays.fill(creditPoints, 0, pendingCount, null);
+        pendingCount = 0;
+    }
+
+    private Array toArray(String oracleTypeName, String sqlTypeName, Object[] column) throws SQLException {
+        Object[] elements = pendingCount == column.length ? column : Arrays.copyOf(column, pendingCount);
+        return CouponArrayProcedure.createArray(conn, oracle, oracleTypeName, sqlTypeName, elements);
+    }
+
+    private static void freeQuietly(Array array) {
+        try {
+            array.free();
+        } catch (SQLException | UnsupportedOperationException ignored) {
+            // 해제 실패는 처리 결과에 영향 없음
+        }
+    }
+
+    @Override
+    public void recordStages(StageTimer stages) {
+        this.stages = stages;
+    }
+
+    @Override
+    public int sqlExecutionCount() {
+        return sqlExecutionCount;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        callStmt.close();
+    }
+}
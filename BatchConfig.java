@@ -0,0 +1,269 @@
+package com.kopo.jimin;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 실행 설정 (재컴파일 없이 Fetch/Batch/Commit Size, 발급 월, 가입일 기준, 접속 정보 변경)
+ * 우선순위: 명령행 옵션(--fetch.size=1000) > 환경변수(COUPON_FETCH_SIZE) > 설정 파일 > 기본값
+ * 설정 파일: --config=경로 (지정하지 않으면 현재 디렉토리의 coupon-batch.properties가 있을 때만 사용)
+ */
+public class BatchConfig {
+
+    public static final String DB_URL = "db.url";
+    public static final String DB_USER = "db.user";
+    public static final String DB_PASSWORD = "db.password";
+    public static final String YYYYMM = "yyyymm";
+    public static final String ENROLL_CUTOFF = "enroll.cutoff";
+    public static final String FETCH_SIZE = "fetch.size";
+    public static final String BATCH_SIZE = "batch.size";
+    public static final String COMMIT_SIZE = "commit.size";
+    public static final String PARTITIONS = "partitions";
+    public static final String WRITERS = "writers";
+    public static final String QUEUE = "queue";
+    public static final String CONNECTIONS = "connections";
+    public static final String EVALUATOR = "evaluator";
+    public static final String ADAPTIVE = "adaptive";
+    public static final String ADAPTIVE_MAX_SIZE = "adaptive.max.size";
+    public static final String PARALLEL_DEGREE = "parallel.degree";
+    public static final String PUBLISH = "publish";
+    public static final String CHECKPOINT = "checkpoint";
+    public static final String RESUME = "resume";
+    public static final String BENCH_WARMUP = "bench.warmup";
+    public static final String BENCH_REPEATS = "bench.repeats";
+    public static final String BENCH_ENV = "bench.env";
+    public static final String BENCH_OUTPUT = "bench.output";
+    public static final String STAGE_TIMING = "stage.timing";
+    public static final String METRICS_PORT = "metrics.port";
+    public static final String METRICS_HOST = "metrics.host";
+    public static final String METRICS_FILE = "metrics.file";
+    public static final String PROGRESS_SOURCE = "progress.source";
+    public static final String PROGRESS_INTERVAL = "progress.interval";
+    public static final String PROGRESS_ROWS = "progress.rows";
+    public static final String VERIFY_DEEP = "verify.deep";
+    public static final String VERIFY_CHECKSUM = "verify.checksum";
+    public static final String GENERATOR_ROWS = "generator.rows";
+    public static final String GENERATOR_THREADS = "generator.threads";
+    public static final String GENERATOR_SEED = "generator.seed";
+    public static final String GENERATOR_REPLACE = "generator.replace";
+    public static final String EXPORT_DIR = "export.dir";
+    public static final String EXPORT_FORMAT = "export.format";
+    public static final String EXPORT_COMPRESS = "export.compress";
+    public static final String EXPORT_SPLIT = "export.split";
+    public static final String EXPORT_MAX_MB = "export.max.mb";
+    public static final String EXPORT_PENDING = "export.pending";
+    public static final String DISPATCH_SENDER = "dispatch.sender";
+    public static final String DISPATCH_FILE = "dispatch.file";
+    public static final String DISPATCH_LATENCY = "dispatch.latency";
+    public static final String DISPATCH_CONCURRENCY = "dispatch.concurrency";
+    public static final String DISPATCH_RATE = "dispatch.rate";
+    public static final String DISPATCH_PAGE = "dispatch.page";
+    public static final String DISPATCH_LIMIT = "dispatch.limit";
+    public static final String SNAPSHOT_FILE = "snapshot.file";
+
+    static final String DEFAULT_FILE = "coupon-batch.properties";
+    private static final String ENV_PREFIX = "COUPON_";
+
+    // 기본값 (Fetch/Batch/Commit Size는 기본값 없음 = 전략별 기본값 사용)
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put(DB_URL, null);
+        DEFAULTS.put(DB_USER, null);
+        DEFAULTS.put(DB_PASSWORD, null);
+        DEFAULTS.put(YYYYMM, "202506");
+        DEFAULTS.put(ENROLL_CUTOFF, "2013-01-01");
+        DEFAULTS.put(FETCH_SIZE, null);
+        DEFAULTS.put(BATCH_SIZE, null);
+        DEFAULTS.put(COMMIT_SIZE, null);
+        DEFAULTS.put(PARTITIONS, "4");
+        DEFAULTS.put(WRITERS, "2");
+        DEFAULTS.put(QUEUE, "8");
+        DEFAULTS.put(CONNECTIONS, "16");
+        DEFAULTS.put(EVALUATOR, "compiled");
+        DEFAULTS.put(ADAPTIVE, "false");
+        DEFAULTS.put(ADAPTIVE_MAX_SIZE, "20000");
+        DEFAULTS.put(PARALLEL_DEGREE, "0");
+        DEFAULTS.put(PUBLISH, "truncate");
+        DEFAULTS.put(CHECKPOINT, "false");
+        DEFAULTS.put(RESUME, "false");
+        DEFAULTS.put(BENCH_WARMUP, "1");
+        DEFAULTS.put(BENCH_REPEATS, "3");
+        DEFAULTS.put(BENCH_ENV, "local");
+        DEFAULTS.put(BENCH_OUTPUT, "benchmark-results");
+        DEFAULTS.put(STAGE_TIMING, "false");
+        DEFAULTS.put(METRICS_PORT, "0");
+        DEFAULTS.put(METRICS_HOST, "127.0.0.1");
+        DEFAULTS.put(METRICS_FILE, null);
+        DEFAULTS.put(PROGRESS_SOURCE, "longops");
+        DEFAULTS.put(PROGRESS_INTERVAL, "5000");
+        DEFAULTS.put(PROGRESS_ROWS, "10000");
+        DEFAULTS.put(VERIFY_DEEP, "false");
+        DEFAULTS.put(VERIFY_CHECKSUM, "false");
+        DEFAULTS.put(GENERATOR_ROWS, "5700000");
+        DEFAULTS.put(GENERATOR_THREADS, "0");
+        DEFAULTS.put(GENERATOR_SEED, "20250601");
+        DEFAULTS.put(GENERATOR_REPLACE, "false");
+        DEFAULTS.put(EXPORT_DIR, "export");
+        DEFAULTS.put(EXPORT_FORMAT, "csv");
+        DEFAULTS.put(EXPORT_COMPRESS, "gzip");
+        DEFAULTS.put(EXPORT_SPLIT, "code");
+        DEFAULTS.put(EXPORT_MAX_MB, "0");
+        DEFAULTS.put(EXPORT_PENDING, "true");
+        DEFAULTS.put(DISPATCH_SENDER, "file");
+        DEFAULTS.put(DISPATCH_FILE, "dispatch-sent.csv");
+        DEFAULTS.put(DISPATCH_LATENCY, "0");
+        DEFAULTS.put(DISPATCH_CONCURRENCY, "64");
+        DEFAULTS.put(DISPATCH_RATE, "200");
+        DEFAULTS.put(DISPATCH_PAGE, "5000");
+        DEFAULTS.put(DISPATCH_LIMIT, "0");
+        DEFAULTS.put(SNAPSHOT_FILE, null);
+    }
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+    private final Map<String, String> sources = new HashMap<>();
+    private final List<String> arguments = new ArrayList<>();
+
+    private BatchConfig() {
+    }
+
+    /**
+     * 기본값 → 설정 파일 → 환경변수 → 명령행 순서로 덮어써서 최종 설정 생성
+     */
+    public static BatchConfig load(String[] args) {
+        return load(args, System.getenv());
+    }
+
+    static BatchConfig load(String[] args, Map<String, String> env) {
+        BatchConfig config = new BatchConfig();
+        DEFAULTS.forEach((key, value) -> config.put(key, value, "기본값"));
+
+        // 1. 명령행 분리 (옵션과 위치 인자)
+        Map<String, String> cliOptions = new LinkedHashMap<>();
+        String configFile = null;
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                String key = normalize(arg.substring(2, eq));
+                String value = arg.substring(eq + 1);
+                if (key.equals("config")) {
+                    configFile = value;
+                } else {
+                    cliOptions.put(key, value);
+                }
+            } else {
+                config.arguments.add(arg);
+            }
+        }
+
+        // 2. 설정 파일
+        Path file = Path.of(configFile != null ? configFile : DEFAULT_FILE);
+        if (configFile != null || Files.exists(file)) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("설정 파일을 읽을 수 없습니다: " + file, e);
+            }
+            for (String key : properties.stringPropertyNames()) {
+                config.put(normalize(key), properties.getProperty(key).trim(), "파일(" + file + ")");
+            }
+        }
+
+        // 3. 환경변수 (COUPON_FETCH_SIZE → fetch.size)
+        for (String key : DEFAULTS.keySet()) {
+            String value = env.get(ENV_PREFIX + key.toUpperCase(Locale.ROOT).replace('.', '_'));
+            if (value != null) {
+                config.put(key, value, "환경변수");
+            }
+        }
+
+        // 4. 명령행 옵션
+        cliOptions.forEach((key, value) -> config.put(key, value, "명령행"));
+
+        for (String key : config.values.keySet()) {
+            if (!DEFAULTS.containsKey(key)) {
+                System.err.println("⚠️  알 수 없는 설정 항목 (무시됨): " + key);
+            }
+        }
+
+        // 5. 지연 주입 URL이면 드라이버 등록 (DriverManager.getConnection만 쓰는 기존 클래스도 그대로 사용)
+        String url = config.get(DB_URL);
+        if (url != null && url.startsWith(LatencyProxyDriver.URL_PREFIX)) {
+            LatencyProxyDriver.register();
+        }
+        return config;
+    }
+
+    /**
+     * --fetch-size, --FETCH_SIZE, fetch.size 모두 fetch.size로 통일
+     */
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT).replace('-', '.').replace('_', '.');
+    }
+
+    private void put(String key, String value, String source) {
+        values.put(key, value);
+        sources.put(key, source);
+    }
+
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    public boolean isSet(String key) {
+        return values.get(key) != null;
+    }
+
+    public int getInt(String key) {
+        String value = values.get(key);
+        try {
+            return Integer.parseInt(value.replace(",", "").replace("_", ""));
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new IllegalArgumentException("정수 설정값이 올바르지 않습니다: " + key + "=" + value, e);
+        }
+    }
+
+    /**
+     * 설정 값이 있으면 그 값, 없으면 전략 기본값
+     */
+    public int getInt(String key, int strategyDefault) {
+        return isSet(key) ? getInt(key) : strategyDefault;
+    }
+
+    public boolean getBoolean(String key) {
+        return Boolean.parseBoolean(values.get(key));
+    }
+
+    public LocalDate getDate(String key) {
+        return LocalDate.parse(values.get(key));
+    }
+
+    /**
+     * 옵션(--key=value)을 제외한 위치 인자 (예: 전략 이름)
+     */
+    public List<String> arguments() {
+        return arguments;
+    }
+
+    /**
+     * 최종 설정값 출력 (실행 간 비교용, 비밀번호는 가림)
+     */
+    public void print() {
+        System.out.println("=== 실행 설정 ===");
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String value = entry.getValue();
+            if (value == null) {
+                value = entry.getKey().endsWith(".size") ? "(전략 기본값)" : "(미설정)";
+            } else if (entry.getKey().equals(DB_PASSWORD)) {
+                value = "********";
+            }
+            System.out.printf("  %-17s = %-30s [%s]%n", entry.getKey(), value, sources.get(entry.getKey()));
+        }
+    }
+}
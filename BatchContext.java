@@ -0,0 +1,235 @@
+package com.kopo.jimin;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.*;
+import java.time.LocalDate;
+
+/**
+ * 전략 공통 실행 정보 (접속 정보, 발급 월, 가입일 기준, 쿠폰 규칙표/계산기, 크기 설정)
+ * 특징: 모든 전략이 동일한 조건으로 실행되도록 엔진이 1번 생성하여 전달
+ */
+public class BatchContext {
+
+    private final String dbUrl;
+    private final String dbUser;
+    private final String dbPassword;
+    private final String yyyymm;
+    private final LocalDate enrollCutoff;
+    private final CouponRuleTable ruleTable;
+    private final CouponRuleEvaluator evaluator;
+    private final int partitionCount;
+    private final int writerCount;
+    private final int queueCapacity;
+    private final int maxConnections;
+    private final BatchConfig config;
+    private final CouponPublisher publisher;
+    private final BatchMetrics metrics;
+    private CustomerSnapshot snapshot; // --snapshot.file 지정시 처음 사용할 때 매핑
+
+    public BatchContext(BatchConfig config, CouponRuleTable ruleTable, CouponRuleEvaluator evaluator) {
+        this.config = config;
+        this.dbUrl = config.get(BatchConfig.DB_URL);
+        this.dbUser = config.get(BatchConfig.DB_USER);
+        this.dbPassword = config.get(BatchConfig.DB_PASSWORD);
+        this.yyyymm = config.get(BatchConfig.YYYYMM);
+        this.enrollCutoff = config.getDate(BatchConfig.ENROLL_CUTOFF);
+        this.ruleTable = ruleTable;
+        this.evaluator = evaluator;
+        this.partitionCount = config.getInt(BatchConfig.PARTITIONS);
+        this.writerCount = config.getInt(BatchConfig.WRITERS);
+        this.queueCapacity = config.getInt(BatchConfig.QUEUE);
+        this.maxConnections = config.getInt(BatchConfig.CONNECTIONS);
+        this.publisher = CouponPublisher.of(config.get(BatchConfig.PUBLISH));
+        this.metrics = BatchMetrics.create(config);
+    }
+
+    /**
+     * 새 Connection 생성 (AutoCommit 해제)
+     */
+    public Connection openConnection() throws SQLException {
+        Connection conn = DriverManager.getConnection(dbUrl, dbUser, dbPassword);
+        conn.setAutoCommit(false);
+        return conn;
+    }
+
+    public String yyyymm() {
+        return yyyymm;
+    }
+
+    public LocalDate enrollCutoff() {
+        return enrollCutoff;
+    }
+
+    public Date enrollCutoffDate() {
+        return Date.valueOf(enrollCutoff);
+    }
+
+    /**
+     * 쿠폰 규칙표 (서버 처리 전략의 SQL CASE / PL/SQL 함수 생성용)
+     */
+    public CouponRuleTable ruleTable() {
+        return ruleTable;
+    }
+
+    public CouponRuleEvaluator evaluator() {
+        return evaluator;
+    }
+
+    /**
+     * 병렬 전략의 파티션 수 (= 동시 Connection 수)
+     */
+    public int partitionCount() {
+        return partitionCount;
+    }
+
+    /**
+     * 파이프라인 전략의 Writer 스레드 수 (= Writer Connection 수)
+     */
+    public int writerCount() {
+        return writerCount;
+    }
+
+    /**
+     * 파이프라인 전략의 대기열 크기 (청크 단위, 가득 차면 Reader가 대기)
+     */
+    public int queueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * 가상 스레드 전략의 동시 Connection 상한 (Semaphore 허가 수)
+     */
+    public int maxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Fetch Size (설정값이 없으면 전략 기본값)
+     */
+    public int fetchSize(int strategyDefault) {
+        return config.getInt(BatchConfig.FETCH_SIZE, strategyDefault);
+    }
+
+    /**
+     * Batch Size (설정값이 없으면 전략 기본값)
+     */
+    public int batchSize(int strategyDefault) {
+        return config.getInt(BatchConfig.BATCH_SIZE, strategyDefault);
+    }
+
+    /**
+     * Commit Size (설정값이 없으면 전략 기본값)
+     */
+    public int commitSize(int strategyDefault) {
+        return config.getInt(BatchConfig.COMMIT_SIZE, strategyDefault);
+    }
+
+    /**
+     * Batch Size / Fetch Size 자동 조정 사용 여부 (AdaptiveSizeController)
+     */
+    public boolean adaptive() {
+        return config.getBoolean(BatchConfig.ADAPTIVE);
+    }
+
+    /**
+     * 자동 조정 크기 상한 (청크/배치 1개에 담는 최대 행 수 = 메모리 상한)
+     */
+    public int adaptiveMaxSize() {
+        return config.getInt(BatchConfig.ADAPTIVE_MAX_SIZE);
+    }
+
+    /**
+     * Direct-Path 집합 처리 전략의 Parallel DML 병렬도 (0이면 직렬 Direct-Path)
+     */
+    public int parallelDegree() {
+        return config.getInt(BatchConfig.PARALLEL_DEGREE);
+    }
+
+    /**
+     * 발행 방식 (truncate: BONUS_COUPON 직접 INSERT, exchange: 스테이징 테이블 + 파티션 교환)
+     */
+    public CouponPublisher publisher() {
+        return publisher;
+    }
+
+    /**
+     * 전략이 INSERT할 테이블 (BONUS_COUPON 또는 스테이징 테이블)
+     */
+    public String targetTable() {
+        return publisher.targetTable(this);
+    }
+
+    /**
+     * Commit마다 체크포인트 기록 여부 (재시작 모드면 항상 기록)
+     */
+    public boolean checkpointEnabled() {
+        return config.getBoolean(BatchConfig.CHECKPOINT) || resume();
+    }
+
+    /**
+     * 체크포인트 재시작 모드 (대상 테이블을 비우지 않고 마지막 Commit 이후부터 처리)
+     */
+    public boolean resume() {
+        return config.getBoolean(BatchConfig.RESUME);
+    }
+
+    public BatchConfig config() {
+        return config;
+    }
+
+    /**
+     * 실행 지표 (metrics.port / metrics.file 미설정시 DISABLED)
+     */
+    public BatchMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * 단계별 소요 시간 측정기 (--stage.timing=true이거나 지표를 켤 때만 측정, 기본은 측정하지 않는 DISABLED)
+     * 지표를 켜면 SQL 실행 / Commit 소요 시간을 지표로도 전달
+     */
+    public StageTimer newStageTimer() {
+        return config.getBoolean(BatchConfig.STAGE_TIMING) || metrics.enabled()
+                ? new StageTimer(metrics)
+                : StageTimer.DISABLED;
+    }
+
+    /**
+     * CUSTOMER 스냅샷 (--snapshot.file 미설정시 null, 처음 호출할 때 1번만 매핑하여 파티션 스레드가 공유)
+     */
+    public synchronized CustomerSnapshot customerSnapshot() {
+        if (snapshot == null && config.isSet(BatchConfig.SNAPSHOT_FILE)) {
+            try {
+                snapshot = CustomerSnapshot.open(Path.of(config.get(BatchConfig.SNAPSHOT_FILE)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("CUSTOMER 스냅샷을 열 수 없습니다: " + e.getMessage(), e);
+            }
+            if (enrollCutoff.isBefore(snapshot.enrollCutoff())) {
+                throw new IllegalStateException("스냅샷은 ENROLL_DT >= " + snapshot.enrollCutoff()
+                        + " 고객만 있으므로 가입일 기준 " + enrollCutoff + "로 실행할 수 없습니다");
+            }
+            System.out.println("CUSTOMER 스냅샷 사용: " + snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * CUSTOMER Reader (스냅샷이 있으면 SnapshotCustomerReader, 없으면 ResultSetCustomerReader)
+     */
+    public CustomerReader openCustomerReader(Connection conn, int fetchSize, boolean filterInSql,
+                                             CustomerPartition partition, String afterId) throws SQLException {
+        CustomerSnapshot snapshot = customerSnapshot();
+        return snapshot != null
+                ? new SnapshotCustomerReader(snapshot, this, filterInSql, partition, afterId)
+                : new ResultSetCustomerReader(conn, this, fetchSize, filterInSql, partition, afterId);
+    }
+
+    /**
+     * 처리 중 발급 집계 (--verify.checksum=true이면 128비트 체크섬도 누적)
+     */
+    public CouponTally newCouponTally() {
+        return new CouponTally(config.getBoolean(BatchConfig.VERIFY_CHECKSUM));
+    }
+}
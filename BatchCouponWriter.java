@@ -0,0 +1,72 @@
+package com.kopo.jimin;
+
+import java.sql.*;
+
+/**
+ * PreparedStatement + addBatch/executeBatch 방식 Writer (pstmt_2)
+ * 특징: Batch Size 단위로 일괄 실행하여 네트워크 라운드트립 감소
+ *       자동 조정(--adaptive=true)시 executeBatch 소요 시간으로 Batch Size를 조정
+ */
+public class BatchCouponWriter extends PreparedCouponWriter {
+
+    private static final int MIN_ADAPTIVE_BATCH_SIZE = 10;
+
+    private final AdaptiveSizeController sizeController; // null이면 고정 Batch Size
+    private int batchSize;
+    private int pendingCount = 0;
+
+    public BatchCouponWriter(Connection conn, BatchContext ctx, int batchSize) throws SQLException {
+        super(conn, ctx);
+        this.batchSize = batchSize;
+        this.sizeController = ctx.adaptive()
+                ? new AdaptiveSizeController("적응형 Batch Size", batchSize,
+                        MIN_ADAPTIVE_BATCH_SIZE, Math.max(MIN_ADAPTIVE_BATCH_SIZE, ctx.adaptiveMaxSize()))
+                : null;
+    }
+
+    @Override
+    public void write(CustomerRow row, String couponCode) throws SQLException {
+        long t = stages.start();
+        bind(row, couponCode);
+        insertPstmt.addBatch();  // 실행하지 않고 누적
+        stages.record(StageTimer.Stage.BIND, t);
+        pendingCount++;
+
+        if (pendingCount >= batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        if (pendingCount == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        insertPstmt.executeBatch();
+        insertPstmt.clearBatch();
+        stages.record(StageTimer.Stage.EXECUTE, start);
+        sqlExecutionCount++;
+
+        // 절반 이상 찬 배치만 측정 (Commit 직전의 작은 자투리 배치는 처리량 왜곡)
+        if (sizeController != null && pendingCount * 2 >= batchSize
+                && sizeController.record(pendingCount, System.nanoTime() - start)) {
+            batchSize = sizeController.size();
+        }
+        pendingCount = 0;
+    }
+
+    @Override
+    public void clear() throws SQLException {
+        insertPstmt.clearBatch();
+        pendingCount = 0;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (sizeController != null) {
+            sizeController.printSummary();
+        }
+        super.close();
+    }
+}
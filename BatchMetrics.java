@@ -0,0 +1,333 @@
+package com.kopo.jimin;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 배치 실행 지표 (Prometheus 텍스트 형식)
+ * 지표: 조회 건수, 쿠폰코드별 발급 건수, 오류 건수, SQL 실행(executeBatch 등) / Commit 소요 시간 분포,
+ *       단계별 누적 시간, 파이프라인 대기열 깊이, 현재 실행 전략 / 마지막 실행 결과
+ * 노출: --metrics.port=9464 → http://metrics.host:port/metrics (JDK 내장 com.sun.net.httpserver)
+ *       --metrics.file=경로 → FILE_INTERVAL_SECONDS마다 파일 교체 기록 (node_exporter textfile 수집용)
+ * 특징: 모든 값은 LongAdder / DoubleAdder (여러 파티션 / Writer 스레드가 동시에 기록)
+ *       둘 다 지정하지 않으면 DISABLED (기록 메서드가 바로 반환)
+ */
+public class BatchMetrics implements AutoCloseable {
+
+    private static final int FILE_INTERVAL_SECONDS = 5;
+    private static final double[] LATENCY_BUCKETS = {
+            0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+
+    public static final BatchMetrics DISABLED = new BatchMetrics(false, null, 0, null);
+
+    private final boolean enabled;
+    private final String host;
+    private final int port;
+    private final Path file;
+
+    private final LongAdder rowsRead = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> couponsIssued = new ConcurrentHashMap<>();
+    private final Histogram executeSeconds = new Histogram();
+    private final Histogram commitSeconds = new Histogram();
+    private final DoubleAdder[] stageSeconds = new DoubleAdder[StageTimer.Stage.values().length];
+    private final AtomicLong queueDepth = new AtomicLong();
+
+    private volatile String runningStrategy;
+    private volatile String lastStrategy;
+    private volatile long lastRunRows;
+    private volatile double lastRunSeconds;
+    private volatile boolean lastRunSucceeded;
+    private volatile long lastRunEndEpochSeconds;
+
+    private HttpServer server;
+    private ScheduledExecutorService fileWriter;
+
+    private BatchMetrics(boolean enabled, String host, int port, Path file) {
+        this.enabled = enabled;
+        this.host = host;
+        this.port = port;
+        this.file = file;
+        for (int i = 0; i < stageSeconds.length; i++) {
+            stageSeconds[i] = new DoubleAdder();
+        }
+    }
+
+    /**
+     * 설정으로 생성 (metrics.port / metrics.file 둘 다 없으면 DISABLED)
+     */
+    public static BatchMetrics create(BatchConfig config) {
+        int port = config.getInt(BatchConfig.METRICS_PORT);
+        String file = config.get(BatchConfig.METRICS_FILE);
+        if (port <= 0 && file == null) {
+            return DISABLED;
+        }
+        return new BatchMetrics(true, config.get(BatchConfig.METRICS_HOST), port, file == null ? null : Path.of(file));
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * HTTP 엔드포인트 / 파일 기록 시작 (처음 1번만)
+     */
+    public synchronized void start() {
+        if (!enabled || server != null || fileWriter != null) {
+            return;
+        }
+        if (port > 0) {
+            try {
+                server = HttpServer.create(new InetSocketAddress(host, port), 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException("지표 HTTP 서버를 시작할 수 없습니다: " + host + ":" + port, e);
+            }
+            server.createContext("/metrics", exchange -> {
+                byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            System.out.printf("지표 엔드포인트 시작: http://%s:%d/metrics%n", host, server.getAddress().getPort());
+        }
+        if (file != null) {
+            fileWriter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "metrics-file-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            fileWriter.scheduleAtFixedRate(this::writeFileQuietly, 0, FILE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+            System.out.printf("지표 파일 기록 시작: %s (%d초 간격)%n", file.toAbsolutePath(), FILE_INTERVAL_SECONDS);
+        }
+    }
+
+    // ===== 기록 (전략 / Reader / Writer에서 호출) =====
+
+    public void rowRead() {
+        if (enabled) {
+            rowsRead.increment();
+        }
+    }
+
+    /**
+     * 여러 건을 한 번에 반영 (서버 처리 전략의 진행률 조회 결과 등)
+     */
+    public void rowsRead(long count) {
+        if (enabled) {
+            rowsRead.add(count);
+        }
+    }
+
+    public void couponIssued(String couponCode) {
+        if (enabled) {
+            couponsIssued.computeIfAbsent(couponCode, code -> new LongAdder()).increment();
+        }
+    }
+
+    public void error() {
+        if (enabled) {
+            errors.increment();
+        }
+    }
+
+    public void queueDepth(int depth) {
+        if (enabled) {
+            queueDepth.set(depth);
+        }
+    }
+
+    /**
+     * StageTimer가 단계 1개를 기록할 때마다 호출 (SQL 실행 / Commit은 분포로도 기록)
+     */
+    void stage(StageTimer.Stage stage, long nanos) {
+        double seconds = nanos / 1e9;
+        stageSeconds[stage.ordinal()].add(seconds);
+        if (stage == StageTimer.Stage.EXECUTE) {
+            executeSeconds.observe(seconds);
+        } else if (stage == StageTimer.Stage.COMMIT) {
+            commitSeconds.observe(seconds);
+        }
+    }
+
+    public void runStarted(String strategyName) {
+        runningStrategy = strategyName;
+    }
+
+    /**
+     * 실행 종료 기록 (stats는 전략 실행이 끝났으면 있음, succeeded는 발행 / 검증까지 성공했는지)
+     */
+    public void runFinished(String strategyName, BatchStats stats, boolean succeeded) {
+        runningStrategy = null;
+        lastStrategy = strategyName;
+        lastRunSucceeded = succeeded;
+        lastRunRows = stats == null ? 0 : stats.processedCount();
+        lastRunSeconds = stats == null ? 0 : stats.elapsedMillis() / 1000.0;
+        lastRunEndEpochSeconds = System.currentTimeMillis() / 1000;
+        if (enabled && file != null) {
+            writeFileQuietly();
+        }
+    }
+
+    // ===== Prometheus 텍스트 형식 =====
+
+    /**
+     * 현재 지표 전체 (Prometheus text exposition format 0.0.4)
+     */
+    public String scrape() {
+        StringBuilder sb = new StringBuilder();
+        header(sb, "coupon_batch_rows_read_total", "counter", "CUSTOMER rows read by client-side strategies");
+        sample(sb, "coupon_batch_rows_read_total", "", rowsRead.sum());
+
+        header(sb, "coupon_batch_coupons_issued_total", "counter", "Coupons written per coupon code");
+        couponsIssued.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry ->
+                sample(sb, "coupon_batch_coupons_issued_total", label("coupon_code", entry.getKey()),
+                        entry.getValue().sum()));
+
+        header(sb, "coupon_batch_errors_total", "counter", "Rows that failed to write");
+        sample(sb, "coupon_batch_errors_total", "", errors.sum());
+
+        executeSeconds.write(sb, "coupon_batch_execute_seconds",
+                "Latency of one SQL execution (executeUpdate, executeBatch or array call)");
+        commitSeconds.write(sb, "coupon_batch_commit_seconds", "Latency of one commit");
+
+        header(sb, "coupon_batch_stage_seconds_total", "counter", "Cumulative time spent per row-loop stage");
+        for (StageTimer.Stage stage : StageTimer.Stage.values()) {
+            sample(sb, "coupon_batch_stage_seconds_total",
+                    label("stage", stage.name().toLowerCase(Locale.ROOT)), stageSeconds[stage.ordinal()].sum());
+        }
+
+        header(sb, "coupon_batch_queue_depth", "gauge", "Chunks waiting in the reader/writer pipeline queue");
+        sample(sb, "coupon_batch_queue_depth", "", queueDepth.get());
+
+        String running = runningStrategy;
+        header(sb, "coupon_batch_running", "gauge", "1 while a strategy is running");
+        sample(sb, "coupon_batch_running", running == null ? "" : label("strategy", running), running == null ? 0 : 1);
+
+        String last = lastStrategy;
+        if (last != null) {
+            String strategyLabel = label("strategy", last);
+            header(sb, "coupon_batch_last_run_success", "gauge", "1 if the last run finished publish and verification without exception");
+            sample(sb, "coupon_batch_last_run_success", strategyLabel, lastRunSucceeded ? 1 : 0);
+            header(sb, "coupon_batch_last_run_rows", "gauge", "Rows processed by the last run");
+            sample(sb, "coupon_batch_last_run_rows", strategyLabel, lastRunRows);
+            header(sb, "coupon_batch_last_run_duration_seconds", "gauge", "Execution time of the last run");
+            sample(sb, "coupon_batch_last_run_duration_seconds", strategyLabel, lastRunSeconds);
+            header(sb, "coupon_batch_last_run_end_timestamp_seconds", "gauge", "Unix time the last run finished");
+            sample(sb, "coupon_batch_last_run_end_timestamp_seconds", strategyLabel, lastRunEndEpochSeconds);
+        }
+        return sb.toString();
+    }
+
+    private static void header(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder sb, String name, String labels, double value) {
+        sb.append(name).append(labels).append(' ').append(format(value)).append('\n');
+    }
+
+    private static String label(String name, String value) {
+        return "{" + name + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"}";
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 교체 (수집기가 쓰는 도중의 파일을 읽지 않도록)
+     */
+    private void writeFileQuietly() {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temp, scrape(), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("⚠️  지표 파일 기록 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * HTTP 서버 / 파일 기록 종료 (파일은 마지막 값을 1번 더 기록)
+     */
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (fileWriter != null) {
+            fileWriter.shutdownNow();
+            fileWriter = null;
+            writeFileQuietly();
+        }
+    }
+
+    /**
+     * Prometheus histogram (고정 구간, 초 단위)
+     */
+    private static class Histogram {
+
+        private final LongAdder[] buckets = new LongAdder[LATENCY_BUCKETS.length + 1];
+        private final DoubleAdder sum = new DoubleAdder();
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void observe(double seconds) {
+            int i = 0;
+            while (i < LATENCY_BUCKETS.length && seconds > LATENCY_BUCKETS[i]) {
+                i++;
+            }
+            buckets[i].increment();
+            sum.add(seconds);
+        }
+
+        void write(StringBuilder sb, String name, String help) {
+            header(sb, name, "histogram", help);
+            long cumulative = 0;
+            for (int i = 0; i < LATENCY_BUCKETS.length; i++) {
+                cumulative += buckets[i].sum();
+                sample(sb, name + "_bucket",
+                        "{le=\"" + BigDecimal.valueOf(LATENCY_BUCKETS[i]).toPlainString() + "\"}", cumulative);
+            }
+            cumulative += buckets[LATENCY_BUCKETS.length].sum();
+            sample(sb, name + "_bucket", "{le=\"+Inf\"}", cumulative);
+            sample(sb, name + "_sum", "", sum.sum());
+            sample(sb, name + "_count", "", cumulative);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.kopo.jimin;
+
+/**
+ * 전략 실행 결과 집계
+ * 특징: 기존 클래스마다 지역 변수로 흩어져 있던 카운터를 한 곳에 모음
+ */
+public class BatchStats {
+
+    private final String strategyName;
+    private final long startTime = System.currentTimeMillis();
+    private long endTime;
+
+    long processedCount = 0;   // 조회 건수
+    long eligibleCount = 0;    // 가입일 조건 통과 건수
+    long insertCount = 0;      // 쿠폰 발급 건수
+    long errorCount = 0;       // 오류 건수
+    long commitCount = 0;      // Commit 횟수
+    long sqlExecutionCount = 0; // INSERT SQL 실행 횟수 (Batch/PL/SQL은 호출 단위)
+    int fetchSize = 0;         // 0이면 서버 처리 (Fetch 없음)
+    long fetchCount = 0;       // Fetch 라운드트립 횟수 (Reader가 센 값, 서버 처리 / 스냅샷은 0)
+    StageTimer stages = StageTimer.DISABLED; // 단계별 소요 시간 (Java 처리 전략만)
+    CouponTally tally = null;  // 처리 중 발급 집계 (Java 처리 전략만, null이면 집계하지 않은 실행)
+
+    public BatchStats(String strategyName) {
+        this.strategyName = strategyName;
+    }
+
+    /**
+     * 실행 종료 시각 기록
+     */
+    public void finish() {
+        endTime = System.currentTimeMillis();
+    }
+
+    /**
+     * 파티션별 결과 합산 (종료 시각은 가장 늦은 파티션 기준)
+     */
+    public void merge(BatchStats other) {
+        processedCount += other.processedCount;
+        eligibleCount += other.eligibleCount;
+        insertCount += other.insertCount;
+        errorCount += other.errorCount;
+        commitCount += other.commitCount;
+        sqlExecutionCount += other.sqlExecutionCount;
+        fetchSize = Math.max(fetchSize, other.fetchSize);
+        fetchCount += other.fetchCount;
+        endTime = Math.max(endTime, other.endTime);
+        if (!stages.enabled() && other.stages.enabled()) {
+            stages = new StageTimer();
+        }
+        stages.merge(other.stages);
+        if (other.tally != null) {
+            if (tally == null) {
+                tally = new CouponTally(other.tally.hasChecksum());
+            }
+            tally.merge(other.tally);
+        }
+    }
+
+    public long elapsedMillis() {
+        return (endTime > 0 ? endTime : System.currentTimeMillis()) - startTime;
+    }
+
+    public String strategyName() {
+        return strategyName;
+    }
+
+    public long processedCount() {
+        return processedCount;
+    }
+
+    public long eligibleCount() {
+        return eligibleCount;
+    }
+
+    public long insertCount() {
+        return insertCount;
+    }
+
+    public long errorCount() {
+        return errorCount;
+    }
+
+    public long commitCount() {
+        return commitCount;
+    }
+
+    public long sqlExecutionCount() {
+        return sqlExecutionCount;
+    }
+
+    public CouponTally tally() {
+        return tally;
+    }
+
+    public int fetchSize() {
+        return fetchSize;
+    }
+
+    public long fetchCount() {
+        return fetchCount;
+    }
+
+    /**
+     * 결과 출력
+     */
+    public void printResults() {
+        long executionTime = elapsedMillis();
+
+        System.out.printf("%n=== [%s] 처리 결과 ===%n", strategyName);
+        System.out.printf("총 조회 건수: %,d건%n", processedCount);
+        if (eligibleCount != processedCount) {
+            System.out.printf("조건 통과 건수: %,d건 (Java 필터링)%n", eligibleCount);
+        }
+        System.out.printf("쿠폰 발급 건수: %,d건%n", insertCount);
+        System.out.printf("처리 오류 건수: %,d건%n", errorCount);
+        System.out.printf("SQL 실행 횟수: %,d회%n", sqlExecutionCount);
+        System.out.printf("Commit 횟수: %,d회%n", commitCount);
+        if (fetchSize > 0) {
+            System.out.printf("Fetch Size: %,d건 (Fetch 라운드트립: %,d회)%n", fetchSize, fetchCount);
+        }
+        System.out.printf("총 처리 시간: %,d ms (%.2f초)%n", executionTime, executionTime / 1000.0);
+
+        if (errorCount > 0 && processedCount > 0) {
+            System.out.printf("• 오류율: %.2f%%%n", ((double) errorCount / processedCount) * 100);
+        }
+        if (processedCount > 0 && executionTime > 0) {
+            System.out.printf("• 처리 속도: %,.0f건/초%n", (double) processedCount / (executionTime / 1000.0));
+        }
+        stages.printReport(executionTime);
+    }
+}
@@ -26,6 +26,12 @@ public class Calc_Bonus_by_pstmt_1 {
     }
 
     public static void main(String[] args) {
+        // 접속 정보 로드 (설정 파일 / 환경변수 / 명령행, BatchConfig 참고)
+        BatchConfig config = BatchConfig.load(args);
+        DB_URL = config.get(BatchConfig.DB_URL);
+        DB_USER = config.get(BatchConfig.DB_USER);
+        DB_PASSWORD = config.get(BatchConfig.DB_PASSWORD);
+
         Connection conn = null;
         Statement selectStmt = null;
         PreparedStatement insertPstmt = null; // PreparedStatement로 변경!
@@ -0,0 +1,198 @@
+package com.kopo.jimin;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Commit 단위 체크포인트 저장소 (BONUS_COUPON_CHECKPOINT)
+ * 처리방식: Commit 직전에 마지막으로 처리한 CUSTOMER.ID와 카운터를 같은 트랜잭션으로 MERGE
+ *           → 체크포인트와 BONUS_COUPON 데이터는 항상 같은 시점 (Commit 1번에 함께 반영)
+ * 재시작: --resume=true이면 ORDER BY ID 조회를 ID > 마지막 ID부터 다시 시작하고 카운터도 이어서 집계
+ * 키: YYYYMM + 실행 이름 (단일 실행은 전략 이름, 파티션은 전략이름#P번호)
+ */
+public class CheckpointStore {
+
+    static final String TABLE = "BONUS_COUPON_CHECKPOINT";
+
+    /**
+     * 저장된 체크포인트 (lastId가 null이면 아직 Commit 전)
+     */
+    public record Checkpoint(String runName, int partitionIndex, String lowId, String highId, String lastId,
+                             boolean done, long processedCount, long eligibleCount, long insertCount,
+                             long errorCount, long commitCount, long sqlExecutionCount) {
+
+        /**
+         * 저장된 카운터를 이어서 집계하도록 복원
+         */
+        void restoreInto(BatchStats stats) {
+            stats.processedCount = processedCount;
+            stats.eligibleCount = eligibleCount;
+            stats.insertCount = insertCount;
+            stats.errorCount = errorCount;
+            stats.commitCount = commitCount;
+            stats.sqlExecutionCount = sqlExecutionCount;
+            if (stats.tally != null) {
+                stats.tally.markPartial();
+            }
+        }
+
+        CustomerPartition partition() {
+            return lowId == null ? null : new CustomerPartition(partitionIndex, lowId, highId, 0);
+        }
+    }
+
+    private static final String SELECT_SQL = """
+            SELECT RUN_NAME, PARTITION_NO, LOW_ID, HIGH_ID, LAST_ID, DONE,
+                   PROCESSED_CNT, ELIGIBLE_CNT, INSERT_CNT, ERROR_CNT, COMMIT_CNT, SQL_EXEC_CNT
+            FROM BONUS_COUPON_CHECKPOINT
+            WHERE YYYYMM = ?
+              AND (RUN_NAME = ? OR RUN_NAME LIKE ? ESCAPE '\\')
+            ORDER BY PARTITION_NO
+            """;
+
+    private static final String MERGE_SQL = """
+            MERGE INTO BONUS_COUPON_CHECKPOINT c
+            USING (SELECT ? AS YYYYMM, ? AS RUN_NAME FROM DUAL) s
+            ON (c.YYYYMM = s.YYYYMM AND c.RUN_NAME = s.RUN_NAME)
+            WHEN MATCHED THEN UPDATE SET
+                c.LAST_ID = ?, c.DONE = ?, c.PROCESSED_CNT = ?, c.ELIGIBLE_CNT = ?, c.INSERT_CNT = ?,
+                c.ERROR_CNT = ?, c.COMMIT_CNT = ?, c.SQL_EXEC_CNT = ?, c.UPDATED_AT = SYSTIMESTAMP
+            WHEN NOT MATCHED THEN INSERT
+                (YYYYMM, RUN_NAME, PARTITION_NO, LOW_ID, HIGH_ID, LAST_ID, DONE,
+                 PROCESSED_CNT, ELIGIBLE_CNT, INSERT_CNT, ERROR_CNT, COMMIT_CNT, SQL_EXEC_CNT)
+                VALUES (s.YYYYMM, s.RUN_NAME, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final String yyyymm;
+
+    public CheckpointStore(String yyyymm) {
+        this.yyyymm = yyyymm;
+    }
+
+    /**
+     * 체크포인트 테이블 생성 (없을 때만, DDL이므로 처리 시작 전에 호출)
+     */
+    public static void ensureTable(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT COUNT(*) FROM USER_TABLES WHERE TABLE_NAME = ?")) {
+            pstmt.setString(1, TABLE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next() && rs.getInt(1) > 0) {
+                    return;
+                }
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                    CREATE TABLE BONUS_COUPON_CHECKPOINT (
+                        YYYYMM        VARCHAR2(6)   NOT NULL,
+                        RUN_NAME      VARCHAR2(100) NOT NULL,
+                        PARTITION_NO  NUMBER        NOT NULL,
+                        LOW_ID        VARCHAR2(50),
+                        HIGH_ID       VARCHAR2(50),
+                        LAST_ID       VARCHAR2(50),
+                        DONE          CHAR(1)       DEFAULT 'N' NOT NULL,
+                        PROCESSED_CNT NUMBER DEFAULT 0 NOT NULL,
+                        ELIGIBLE_CNT  NUMBER DEFAULT 0 NOT NULL,
+                        INSERT_CNT    NUMBER DEFAULT 0 NOT NULL,
+                        ERROR_CNT     NUMBER DEFAULT 0 NOT NULL,
+                        COMMIT_CNT    NUMBER DEFAULT 0 NOT NULL,
+                        SQL_EXEC_CNT  NUMBER DEFAULT 0 NOT NULL,
+                        UPDATED_AT    TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL,
+                        CONSTRAINT PK_BONUS_COUPON_CHECKPOINT PRIMARY KEY (YYYYMM, RUN_NAME)
+                    )
+                    """);
+            System.out.println("체크포인트 테이블 " + TABLE + " 생성 완료");
+        }
+    }
+
+    /**
+     * 전략의 체크포인트 목록 (단일 실행 1건 또는 파티션별 N건)
+     */
+    public List<Checkpoint> load(Connection conn, String strategyName) throws SQLException {
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(SELECT_SQL)) {
+            pstmt.setString(1, yyyymm);
+            pstmt.setString(2, strategyName);
+            pstmt.setString(3, strategyName.replace("\\", "\\\\").replace("_", "\\_").replace("%", "\\%") + "#%");
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    checkpoints.add(new Checkpoint(
+                            rs.getString("RUN_NAME"),
+                            rs.getInt("PARTITION_NO"),
+                            rs.getString("LOW_ID"),
+                            rs.getString("HIGH_ID"),
+                            rs.getString("LAST_ID"),
+                            "Y".equals(rs.getString("DONE")),
+                            rs.getLong("PROCESSED_CNT"),
+                            rs.getLong("ELIGIBLE_CNT"),
+                            rs.getLong("INSERT_CNT"),
+                            rs.getLong("ERROR_CNT"),
+                            rs.getLong("COMMIT_CNT"),
+                            rs.getLong("SQL_EXEC_CNT")));
+                }
+            }
+        }
+        return checkpoints;
+    }
+
+    /**
+     * 실행 이름 1개의 체크포인트 (없으면 null)
+     */
+    public Checkpoint find(Connection conn, String runName) throws SQLException {
+        for (Checkpoint checkpoint : load(conn, runName)) {
+            if (checkpoint.runName().equals(runName)) {
+                return checkpoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 전략의 체크포인트 삭제 (처음부터 새로 실행할 때, Commit 포함)
+     */
+    public void reset(Connection conn, String strategyName) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "DELETE FROM BONUS_COUPON_CHECKPOINT WHERE YYYYMM = ? AND (RUN_NAME = ? OR RUN_NAME LIKE ? ESCAPE '\\')")) {
+            pstmt.setString(1, yyyymm);
+            pstmt.setString(2, strategyName);
+            pstmt.setString(3, strategyName.replace("\\", "\\\\").replace("_", "\\_").replace("%", "\\%") + "#%");
+            pstmt.executeUpdate();
+        }
+        conn.commit();
+    }
+
+    /**
+     * 체크포인트 기록 (Commit은 호출하는 쪽에서 데이터와 함께 수행)
+     */
+    public void save(Connection conn, String runName, CustomerPartition partition, String lastId,
+                     BatchStats stats, boolean done) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(MERGE_SQL)) {
+            int i = 1;
+            pstmt.setString(i++, yyyymm);
+            pstmt.setString(i++, runName);
+            // UPDATE
+            i = bindProgress(pstmt, i, lastId, stats, done);
+            // INSERT
+            pstmt.setInt(i++, partition == null ? 0 : partition.index());
+            pstmt.setString(i++, partition == null ? null : partition.lowId());
+            pstmt.setString(i++, partition == null ? null : partition.highId());
+            bindProgress(pstmt, i, lastId, stats, done);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static int bindProgress(PreparedStatement pstmt, int i, String lastId, BatchStats stats,
+                                    boolean done) throws SQLException {
+        pstmt.setString(i++, lastId);
+        pstmt.setString(i++, done ? "Y" : "N");
+        pstmt.setLong(i++, stats.processedCount);
+        pstmt.setLong(i++, stats.eligibleCount);
+        pstmt.setLong(i++, stats.insertCount);
+        pstmt.setLong(i++, stats.errorCount);
+        pstmt.setLong(i++, stats.commitCount);
+        pstmt.setLong(i++, stats.sqlExecutionCount);
+        return i;
+    }
+}
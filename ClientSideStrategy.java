@@ -0,0 +1,218 @@
+package com.kopo.jimin;
+
+import java.sql.*;
+
+/**
+ * Java에서 쿠폰을 계산하는 전략 공통 구현 (stmt_1 ~ pstmt_2)
+ * 처리방식: Reader로 조회 → CouponRuleEvaluator로 계산 → Writer로 INSERT → Commit Size 단위 Commit
+ * 특징: 전략 간 차이는 Fetch Size, SQL 조건절 여부, Commit Size, Writer 종류뿐
+ *       Fetch/Commit Size는 전략 기본값이며 실행 설정(BatchConfig)으로 덮어쓸 수 있음
+ *       체크포인트 사용시 Commit마다 마지막 ID와 카운터를 기록하고, 재시작시 ID > 마지막 ID부터 이어서 처리
+ *       (체크포인트 사용 중 쓰기 오류는 롤백 후 중단 → 롤백된 행이 다음 체크포인트 ID에 묻혀 건너뛰어지지 않음)
+ *       --snapshot.file 지정시 CUSTOMER를 DB 대신 로컬 스냅샷(CustomerSnapshot)에서 읽음
+ */
+public class ClientSideStrategy implements CouponBatchStrategy {
+
+    private static final int MAX_ERRORS = 1000;
+    private static final int PROGRESS_INTERVAL = 50000;
+
+    /**
+     * Writer 생성 방식 (전략별 INSERT 방식)
+     */
+    @FunctionalInterface
+    public interface WriterFactory {
+        CouponWriter open(Connection conn, BatchContext ctx) throws SQLException;
+    }
+
+    private final String name;
+    private final String description;
+    private final int fetchSize;
+    private final boolean filterInSql;
+    private final int commitSize;
+    private final WriterFactory writerFactory;
+
+    public ClientSideStrategy(String name, String description, int fetchSize, boolean filterInSql,
+                              int commitSize, WriterFactory writerFactory) {
+        this.name = name;
+        this.description = description;
+        this.fetchSize = fetchSize;
+        this.filterInSql = filterInSql;
+        this.commitSize = commitSize;
+        this.writerFactory = writerFactory;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String description() {
+        return description;
+    }
+
+    @Override
+    public BatchStats execute(Connection conn, BatchContext ctx) throws SQLException {
+        return process(conn, ctx, null, name);
+    }
+
+    @Override
+    public boolean supportsCheckpoint() {
+        return true;
+    }
+
+    /**
+     * Reader → 쿠폰 계산 → Writer 루프 실행 (partition이 null이면 전체 대상)
+     */
+    public BatchStats process(Connection conn, BatchContext ctx, CustomerPartition partition,
+                              String statsName) throws SQLException {
+        BatchStats stats = new BatchStats(statsName);
+        // 실행 설정값이 있으면 전략 기본값 대신 사용
+        int fetchSize = ctx.fetchSize(this.fetchSize);
+        int commitSize = ctx.commitSize(this.commitSize);
+        stats.fetchSize = fetchSize;
+        StageTimer stages = ctx.newStageTimer();
+        stats.stages = stages;
+        CouponTally tally = ctx.newCouponTally();
+        stats.tally = tally;
+
+        BatchMetrics metrics = ctx.metrics();
+        CouponRuleEvaluator evaluator = ctx.evaluator();
+        Date cutoff = ctx.enrollCutoffDate();
+
+        if (partition == null) {
+            System.out.printf("Fetch Size: %,d / Commit Size: %,d / SQL 조건절: %s%n",
+                    fetchSize, commitSize, filterInSql ? "사용" : "미사용 (Java 필터링)");
+        }
+
+        // 체크포인트 재시작 (완료된 실행은 건너뛰고, 진행 중이면 마지막 Commit 이후부터)
+        CheckpointStore checkpoints = ctx.checkpointEnabled() ? new CheckpointStore(ctx.yyyymm()) : null;
+        String lastCommittedId = null;
+        if (checkpoints != null && ctx.resume()) {
+            CheckpointStore.Checkpoint checkpoint = checkpoints.find(conn, statsName);
+            if (checkpoint != null) {
+                checkpoint.restoreInto(stats);
+                if (checkpoint.done()) {
+                    System.out.printf("[%s] 이미 완료된 실행 → 건너뜀 (발급 %,d건)%n", statsName, stats.insertCount);
+                    stats.finish();
+                    return stats;
+                }
+                lastCommittedId = checkpoint.lastId();
+                System.out.printf("[%s] 체크포인트에서 재시작: ID > %s (조회 %,d건 / 발급 %,d건 이어서 집계)%n",
+                        statsName, lastCommittedId == null ? "(처음)" : lastCommittedId,
+                        stats.processedCount, stats.insertCount);
+            }
+        }
+        long previousSqlExecutionCount = stats.sqlExecutionCount;
+
+        try (CustomerReader reader = ctx.openCustomerReader(conn, fetchSize, filterInSql, partition, lastCommittedId);
+             CouponWriter writer = writerFactory.open(conn, ctx)) {
+            reader.recordStages(stages);
+            writer.recordStages(stages);
+
+            String lastReadId = lastCommittedId;
+            boolean aborted = false;
+
+            CustomerRow row;
+            while ((row = reader.read()) != null) {
+                stats.processedCount++;
+                metrics.rowRead();
+                lastReadId = row.id();
+
+                if (stats.processedCount % PROGRESS_INTERVAL == 0) {
+                    System.out.printf("[%s] 처리 진행률: %,d건 조회됨 (발급: %,d건, 오류: %,d건) %s%n",
+                            statsName, stats.processedCount, stats.insertCount, stats.errorCount,
+                            stages.progressLine());
+                }
+
+                // Java에서 가입일 조건 체크 (SQL 조건절 미사용 전략만)
+                if (!filterInSql && !row.enrolledOnOrAfter(cutoff)) {
+                    continue;
+                }
+                stats.eligibleCount++;
+
+                // NULL 체크
+                if (!row.hasRequiredFields()) {
+                    System.err.printf("필수 데이터 누락 - ID: %s, EMAIL: %s, CREDIT: %s%n",
+                            row.id(), row.email(), row.creditLimit());
+                    continue;
+                }
+                tally.target();
+
+                long t = stages.start();
+                String couponCode = evaluator.evaluate(row);
+                stages.record(StageTimer.Stage.EVALUATE, t);
+                if (couponCode == null) {
+                    continue;
+                }
+
+                try {
+                    writer.write(row, couponCode);
+                    stats.insertCount++;
+                    tally.issued(row.id(), couponCode, row.creditLimit());
+                    metrics.couponIssued(couponCode);
+
+                    // Commit 단위 체크
+                    if (stats.insertCount % commitSize == 0) {
+                        writer.flush();
+                        stats.commitCount++;
+                        if (checkpoints != null) {
+                            stats.sqlExecutionCount = previousSqlExecutionCount + writer.sqlExecutionCount();
+                            checkpoints.save(conn, statsName, partition, lastReadId, stats, false);
+                        }
+                        t = stages.start();
+                        conn.commit();
+                        stages.record(StageTimer.Stage.COMMIT, t);
+                        lastCommittedId = lastReadId;
+                    }
+
+                } catch (SQLException e) {
+                    stats.errorCount++;
+                    metrics.error();
+                    System.err.printf("[%s] 행 처리 중 오류 (행번호: %d): %s%n",
+                            statsName, stats.processedCount, e.getMessage());
+
+                    // 오류 발생시 누적 배치 클리어 및 롤백
+                    try {
+                        writer.clear();
+                        conn.rollback();
+                    } catch (SQLException rollbackEx) {
+                        System.err.println("롤백 실패: " + rollbackEx.getMessage());
+                    }
+
+                    // 체크포인트 사용시 계속 진행하면 다음 체크포인트가 롤백된 행 이후 ID와 그 행을 포함한 카운터를 기록하므로
+                    // 여기서 중단 (재시작하면 마지막으로 Commit된 체크포인트부터 다시 처리)
+                    if (checkpoints != null) {
+                        System.err.printf("[%s] 체크포인트 사용 중 쓰기 오류 → 처리를 중단합니다 (재시작시 ID > %s부터)%n",
+                                statsName, lastCommittedId == null ? "(처음)" : lastCommittedId);
+                        throw e;
+                    }
+
+                    if (stats.errorCount > MAX_ERRORS) {
+                        System.err.println("오류가 너무 많이 발생했습니다. 처리를 중단합니다.");
+                        aborted = true;
+                        break;
+                    }
+                }
+            }
+
+            stats.fetchCount += reader.fetchCount();
+
+            // 마지막 남은 Batch 실행 및 Commit (체크포인트 사용시 완료 표시도 함께 Commit)
+            writer.flush();
+            stats.sqlExecutionCount = previousSqlExecutionCount + writer.sqlExecutionCount();
+            if (stats.insertCount % commitSize != 0 || checkpoints != null) {
+                stats.commitCount++;
+                if (checkpoints != null) {
+                    checkpoints.save(conn, statsName, partition, lastReadId, stats, !aborted);
+                }
+                long t = stages.start();
+                conn.commit();
+                stages.record(StageTimer.Stage.COMMIT, t);
+            }
+        }
+
+        stats.finish();
+        return stats;
+    }
+}
@@ -0,0 +1,108 @@
+package com.kopo.jimin;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * CouponRuleTable을 배열 구조로 변환한 쿠폰 계산기
+ * 특징: 구간 상한(1/100 단위 long) 배열을 순서대로 비교 → 해당 구간의 예외 조건 검사
+ *       ScaledCreditCouponRuleEvaluator와 같이 할당 없이 계산 (반환값은 규칙표의 코드 문자열)
+ */
+public class CompiledCouponRuleEvaluator implements CouponRuleEvaluator {
+
+    private final long[] upperCents;          // 구간 상한 (마지막 구간은 Long.MAX_VALUE)
+    private final BigDecimal[] upperDecimals; // 소수점 2자리 초과 값 비교용
+    private final String[] bandCodes;
+    private final BandOverride[][] bandOverrides;
+
+    /**
+     * 구간별 예외 조건 (키워드는 ADDRESS1 / ADDRESS2 중 어디에든 있으면 일치)
+     */
+    private record BandOverride(String gender, String[] keywords, String couponCode) {
+
+        boolean matches(String gender, String address1, String address2) {
+            if (!this.gender.equals(gender)) {
+                return false;
+            }
+            for (String keyword : keywords) {
+                if (!contains(address1, keyword) && !contains(address2, keyword)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean contains(String address, String keyword) {
+            return address != null && address.contains(keyword);
+        }
+    }
+
+    CompiledCouponRuleEvaluator(CouponRuleTable table) {
+        List<CouponRuleTable.CreditBand> bands = table.bands();
+        int size = bands.size();
+        upperCents = new long[size];
+        upperDecimals = new BigDecimal[size];
+        bandCodes = new String[size];
+        bandOverrides = new BandOverride[size][];
+
+        for (int i = 0; i < size; i++) {
+            CouponRuleTable.CreditBand band = bands.get(i);
+            Long upper = band.upperCents();
+            upperCents[i] = upper == null ? Long.MAX_VALUE : upper;
+            upperDecimals[i] = upper == null ? null : BigDecimal.valueOf(upper, 2);
+            bandCodes[i] = band.couponCode().intern();
+            bandOverrides[i] = table.overridesOf(band).stream()
+                    .map(o -> new BandOverride(o.gender(), o.addressKeywords().toArray(String[]::new),
+                            o.couponCode().intern()))
+                    .toArray(BandOverride[]::new);
+        }
+    }
+
+    @Override
+    public String evaluate(CustomerRow row) {
+        BigDecimal creditLimit = row.creditLimit();
+        if (creditLimit == null) {
+            return null;
+        }
+        int band = ScaledCreditCouponRuleEvaluator.isExactCents(creditLimit)
+                ? bandOf(ScaledCreditCouponRuleEvaluator.toCents(creditLimit))
+                : bandOf(creditLimit);
+        return band < 0 ? null : codeOf(band, row.gender(), row.address1(), row.address2());
+    }
+
+    /**
+     * 1/100 단위 신용한도로 쿠폰 코드 계산 (스냅샷 Reader 등 BigDecimal이 없는 경로용)
+     */
+    public String evaluate(long creditCents, String gender, String address1, String address2) {
+        int band = bandOf(creditCents);
+        return band < 0 ? null : codeOf(band, gender, address1, address2);
+    }
+
+    private int bandOf(long creditCents) {
+        for (int i = 0; i < upperCents.length; i++) {
+            if (creditCents < upperCents[i]) {
+                return i;
+            }
+        }
+        // 마지막 구간 상한이 Long.MAX_VALUE면 여기 오지 않음
+        return upperDecimals[upperDecimals.length - 1] == null ? upperCents.length - 1 : -1;
+    }
+
+    private int bandOf(BigDecimal creditLimit) {
+        for (int i = 0; i < upperDecimals.length; i++) {
+            if (upperDecimals[i] == null || creditLimit.compareTo(upperDecimals[i]) < 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String codeOf(int band, String gender, String address1, String address2) {
+        for (BandOverride override : bandOverrides[band]) {
+            if (override.matches(gender, address1, address2)) {
+                return override.couponCode();
+            }
+        }
+        return bandCodes[band];
+    }
+}
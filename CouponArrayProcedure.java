@@ -0,0 +1,190 @@
+package com.kopo.jimin;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 배열 바인딩 INSERT용 서버 함수 BONUS_COUPON_ARRAY_INSERT 설치/호출 도우미 (ArrayCouponWriter용)
+ * Oracle: SQL 컬렉션 타입(COUPON_VARCHAR_TAB, COUPON_NUMBER_TAB) + FORALL INSERT 함수 (callstmt_2의 FORALL과 동일)
+ * 로컬 대체 DB(H2): 같은 이름의 Java 함수 별칭(insertChunk)으로 설치하여 동일한 호출문으로 테스트
+ * 특징: 컬렉션 타입은 없을 때만 생성 (교체하면 의존 객체가 무효화됨), 함수는 매개변수 목록이 다르거나
+ *       유효하지 않으면 CREATE OR REPLACE로 교체 (이전 버전 시그니처가 남아 PLS-00306이 나지 않도록)
+ *       Oracle DDL은 암시적 Commit이 발생하므로 Writer 생성 시점 = INSERT 전에만 호출
+ */
+public final class CouponArrayProcedure {
+
+    static final String FUNCTION_NAME = "BONUS_COUPON_ARRAY_INSERT";
+    static final String VARCHAR_TYPE = "COUPON_VARCHAR_TAB";
+    static final String NUMBER_TYPE = "COUPON_NUMBER_TAB";
+
+    /**
+     * 호출문 (반환값 = INSERT 건수)
+     */
+    static final String CALL_SQL = "{? = call " + FUNCTION_NAME + "(?, ?, ?, ?, ?, ?)}";
+
+    /**
+     * 현재 함수의 매개변수 (USER_ARGUMENTS 순서, 설치된 함수와 다르면 교체)
+     */
+    private static final List<String> FUNCTION_ARGUMENTS = List.of(
+            "P_TARGET_TABLE", "P_YYYYMM", "P_CUSTOMER_IDS", "P_EMAILS", "P_COUPON_CODES", "P_CREDIT_POINTS");
+
+    private static final String ORACLE_VARCHAR_TYPE_DDL =
+            "CREATE TYPE " + VARCHAR_TYPE + " AS TABLE OF VARCHAR2(100)";
+
+    private static final String ORACLE_NUMBER_TYPE_DDL =
+            "CREATE TYPE " + NUMBER_TYPE + " AS TABLE OF NUMBER";
+
+    private static final String ORACLE_FUNCTION_DDL = """
+            CREATE OR REPLACE FUNCTION BONUS_COUPON_ARRAY_INSERT(
+                p_target_table  IN VARCHAR2,
+                p_yyyymm        IN VARCHAR2,
+                p_customer_ids  IN COUPON_VARCHAR_TAB,
+                p_emails        IN COUPON_VARCHAR_TAB,
+                p_coupon_codes  IN COUPON_VARCHAR_TAB,
+                p_credit_points IN COUPON_NUMBER_TAB
+            ) RETURN NUMBER IS
+            BEGIN
+                -- 대상 테이블(BONUS_COUPON 또는 스테이징 테이블)은 실행 시 지정 → 동적 SQL + FORALL 일괄 바인딩
+                FORALL i IN 1..p_customer_ids.COUNT
+                    EXECUTE IMMEDIATE
+                        'INSERT INTO ' || DBMS_ASSERT.SQL_OBJECT_NAME(p_target_table)
+                        || ' (YYYYMM, CUSTOMER_ID, EMAIL, COUPON_CD, CREDIT_POINT, SEND_DT)'
+                        || ' VALUES (:1, :2, :3, :4, :5, NULL)'
+                        USING p_yyyymm, p_customer_ids(i), p_emails(i), p_coupon_codes(i), p_credit_points(i);
+                RETURN SQL%ROWCOUNT;
+            END BONUS_COUPON_ARRAY_INSERT;
+            """;
+
+    private static final String H2_ALIAS_DDL = "CREATE ALIAS IF NOT EXISTS " + FUNCTION_NAME
+            + " FOR '" + CouponArrayProcedure.class.getName() + ".insertChunk'";
+
+    private CouponArrayProcedure() {
+    }
+
+    static boolean isOracle(Connection conn) throws SQLException {
+        return conn.getMetaData().getDatabaseProductName().toUpperCase().contains("ORACLE");
+    }
+
+    /**
+     * 서버 함수 설치 (타입은 이미 있으면 생략, 함수는 현재 버전이 아니면 교체)
+     */
+    static void install(Connection conn) throws SQLException {
+        String product = conn.getMetaData().getDatabaseProductName().toUpperCase();
+        try (Statement stmt = conn.createStatement()) {
+            if (product.contains("ORACLE")) {
+                createIfMissing(conn, stmt, VARCHAR_TYPE, "TYPE", ORACLE_VARCHAR_TYPE_DDL);
+                createIfMissing(conn, stmt, NUMBER_TYPE, "TYPE", ORACLE_NUMBER_TYPE_DDL);
+                replaceIfOutdated(conn, stmt);
+            } else if (product.contains("H2")) {
+                stmt.execute(H2_ALIAS_DDL);
+            } else {
+                throw new SQLException("배열 바인딩 INSERT를 지원하지 않는 DB입니다: " + product);
+            }
+        }
+    }
+
+    private static void createIfMissing(Connection conn, Statement stmt, String objectName,
+                                        String objectType, String ddl) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT STATUS FROM USER_OBJECTS WHERE OBJECT_NAME = ? AND OBJECT_TYPE = ?")) {
+            pstmt.setString(1, objectName);
+            pstmt.setString(2, objectType);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next() && "VALID".equals(rs.getString(1))) {
+                    return;
+                }
+            }
+        }
+
+        try {
+            stmt.execute(ddl);
+            System.out.printf("%s %s 생성 완료%n", objectType, objectName);
+        } catch (SQLException e) {
+            // 병렬 파티션이 동시에 생성한 경우 (ORA-00955: 이미 사용된 이름)
+            if (e.getErrorCode() != 955) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 함수가 VALID이고 매개변수 목록이 FUNCTION_ARGUMENTS와 같으면 그대로, 아니면 CREATE OR REPLACE
+     * (매번 교체하지 않는 이유: 병렬 파티션이 사용 중인 함수를 다시 컴파일하면 Library Cache 잠금 대기가 생김)
+     */
+    private static void replaceIfOutdated(Connection conn, Statement stmt) throws SQLException {
+        List<String> installed = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("""
+                SELECT A.ARGUMENT_NAME
+                FROM USER_OBJECTS O
+                JOIN USER_ARGUMENTS A ON A.OBJECT_ID = O.OBJECT_ID
+                WHERE O.OBJECT_NAME = ?
+                  AND O.OBJECT_TYPE = 'FUNCTION'
+                  AND O.STATUS = 'VALID'
+                  AND A.DATA_LEVEL = 0
+                  AND A.ARGUMENT_NAME IS NOT NULL
+                ORDER BY A.POSITION
+                """)) {
+            pstmt.setString(1, FUNCTION_NAME);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    installed.add(rs.getString(1));
+                }
+            }
+        }
+        if (installed.equals(FUNCTION_ARGUMENTS)) {
+            return;
+        }
+        stmt.execute(ORACLE_FUNCTION_DDL);
+        System.out.printf("FUNCTION %s %s 완료%n", FUNCTION_NAME,
+                installed.isEmpty() ? "생성" : "교체 (이전 매개변수: " + installed + ")");
+    }
+
+    /**
+     * 컬렉션 타입 배열 생성 (Oracle은 createOracleArray, 그 외 DB는 표준 createArrayOf)
+     * ojdbc를 컴파일 의존성으로 두지 않기 위해 OracleConnection 메서드는 리플렉션으로 호출
+     */
+    static Array createArray(Connection conn, boolean oracle, String oracleTypeName, String sqlTypeName,
+                             Object[] elements) throws SQLException {
+        if (!oracle) {
+            return conn.createArrayOf(sqlTypeName, elements);
+        }
+        try {
+            Class<?> oracleConnectionClass = Class.forName("oracle.jdbc.OracleConnection");
+            Method createOracleArray = oracleConnectionClass.getMethod("createOracleArray", String.class, Object.class);
+            return (Array) createOracleArray.invoke(conn.unwrap(oracleConnectionClass), oracleTypeName, elements);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException sqlEx) {
+                throw sqlEx;
+            }
+            throw new SQLException("Oracle 배열 생성 실패: " + e.getCause(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new SQLException("Oracle JDBC 드라이버(oracle.jdbc.OracleConnection)를 찾을 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * H2 대체 함수 본체 (서버 측 FORALL 대신 같은 Connection에서 JDBC Batch로 INSERT)
+     */
+    public static int insertChunk(Connection conn, String targetTable, String yyyymm, Object[] customerIds,
+                                  Object[] emails, Object[] couponCodes, Object[] creditPoints) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(PreparedCouponWriter.insertSql(targetTable))) {
+            pstmt.setString(1, yyyymm);
+            for (int i = 0; i < customerIds.length; i++) {
+                pstmt.setString(2, (String) customerIds[i]);
+                pstmt.setString(3, (String) emails[i]);
+                pstmt.setString(4, (String) couponCodes[i]);
+                pstmt.setBigDecimal(5, (BigDecimal) creditPoints[i]);
+                pstmt.addBatch();
+            }
+            int insertCount = 0;
+            for (int count : pstmt.executeBatch()) {
+                insertCount += Math.max(count, 0);
+            }
+            return insertCount;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.kopo.jimin;
+
+import java.sql.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 쿠폰 발급 배치 엔진
+ * 특징: 10개 Calc_Bonus_by_* 클래스의 공통 골격(접속/초기화/검증/정리)을 1곳에 모으고
+ *       처리 방식은 이름으로 선택하는 전략(CouponBatchStrategy)으로 분리
+ * 사용법: java com.kopo.jimin.CouponBatchEngine <전략이름> [--config=파일] [--항목=값 ...]
+ *         (설정 항목과 우선순위는 BatchConfig 참고)
+ */
+public final class CouponBatchEngine {
+
+    static {
+        // 인코딩 설정
+        System.setProperty("file.encoding", "UTF-8");
+    }
+
+    private final Map<String, CouponBatchStrategy> strategies = new LinkedHashMap<>();
+
+    public CouponBatchEngine() {
+        registerDefaultStrategies();
+    }
+
+    /**
+     * 기존 Calc_Bonus_by_* 클래스를 전략으로 등록 (클래스 1개 = 전략 1개)
+     */
+    private void registerDefaultStrategies() {
+        register(new ClientSideStrategy("stmt-full-scan",
+                "stmt_1: 전체 조회 + Java 필터링 + 매번 Statement 생성 + 매번 Commit",
+                10, false, 1, (conn, ctx) -> new StatementCouponWriter(conn, ctx, true)));
+        register(new ClientSideStrategy("stmt-reuse",
+                "stmt_2: 전체 조회 + Java 필터링 + Statement 재사용 + 매번 Commit",
+                10, false, 1, (conn, ctx) -> new StatementCouponWriter(conn, ctx, false)));
+        register(new ClientSideStrategy("stmt-per-row",
+                "stmt_3: SQL 조건절 + Statement 재사용 + 매번 Commit",
+                10, true, 1, (conn, ctx) -> new StatementCouponWriter(conn, ctx, false)));
+        register(new ClientSideStrategy("stmt-commit",
+                "stmt_4: SQL 조건절 + Statement 재사용 + 10,000건 단위 Commit",
+                10, true, 10000, (conn, ctx) -> new StatementCouponWriter(conn, ctx, false)));
+        ClientSideStrategy stmtFetch = new ClientSideStrategy("stmt-fetch",
+                "stmt_5: stmt_4 + Fetch Size 1,000",
+                1000, true, 10000, (conn, ctx) -> new StatementCouponWriter(conn, ctx, false));
+        register(stmtFetch);
+        register(new ClientSideStrategy("pstmt-row",
+                "pstmt_1: PreparedStatement 건별 실행 (Hard Parsing 1번)",
+                1000, true, 10000, PreparedCouponWriter::new));
+        ClientSideStrategy pstmtBatch = new ClientSideStrategy("pstmt-batch",
+                "pstmt_2: PreparedStatement + addBatch/executeBatch (Batch Size 1,000)",
+                1000, true, 10000, (conn, ctx) -> new BatchCouponWriter(conn, ctx, ctx.batchSize(1000)));
+        register(pstmtBatch);
+        register(new ClientSideStrategy("pstmt-array",
+                "pstmt_2 + 배열 바인딩 (청크를 컬렉션으로 전송, 서버 FORALL INSERT 1번 호출)",
+                1000, true, 10000, (conn, ctx) -> new ArrayCouponWriter(conn, ctx, ctx.batchSize(1000))));
+        register(new ParallelPartitionStrategy("pstmt-batch-parallel", pstmtBatch));
+        register(new PipelinedStrategy("pstmt-batch-pipelined", 1000, 1000, 10000));
+        register(new ParallelPartitionStrategy("stmt-fetch-virtual", stmtFetch, true));
+        register(new ParallelPartitionStrategy("pstmt-batch-virtual", pstmtBatch, true));
+        register(new IncrementalStrategy("incremental", 1000, 1000, 10000));
+        register(new PlsqlBlockStrategy("plsql-cursor",
+                "callstmt_1: PL/SQL Cursor + 1Row 단위 처리",
+                CouponPlsqlBlocks.CURSOR_BLOCK));
+        register(new PlsqlBlockStrategy("plsql-bulk",
+                "callstmt_2: PL/SQL Bulk Collect + FORALL",
+                CouponPlsqlBlocks.BULK_BLOCK));
+        register(new PlsqlBlockStrategy("set-based",
+                "callstmt_3: 단일 INSERT ... SELECT 집합 처리",
+                CouponPlsqlBlocks.SET_BASED_BLOCK));
+        register(new PlsqlBlockStrategy("set-based-direct",
+                "callstmt_3 + Direct-Path INSERT /*+ APPEND */ (+ Parallel DML) + 1번 조회로 건수 산출",
+                CouponPlsqlBlocks.DIRECT_PATH_BLOCK));
+    }
+
+    public void register(CouponBatchStrategy strategy) {
+        strategies.put(strategy.name(), strategy);
+    }
+
+    public CouponBatchStrategy strategy(String name) {
+        CouponBatchStrategy strategy = strategies.get(name);
+        if (strategy == null) {
+            throw new IllegalArgumentException("알 수 없는 전략: " + name + " (사용 가능: " + strategies.keySet() + ")");
+        }
+        return strategy;
+    }
+
+    public Map<String, CouponBatchStrategy> strategies() {
+        return strategies;
+    }
+
+    public static void main(String[] args) {
+        CouponBatchEngine engine = new CouponBatchEngine();
+
+        BatchConfig config = BatchConfig.load(args);
+        if (config.arguments().isEmpty()) {
+            printUsage(engine);
+            return;
+        }
+        config.print();
+
+        BatchContext ctx = createContext(config);
+
+        try {
+            engine.run(engine.strategy(config.arguments().get(0)), ctx);
+        } finally {
+            ctx.metrics().close();
+        }
+    }
+
+    /**
+     * 설정으로 실행 정보 생성 (쿠폰 계산기는 evaluator 설정으로 선택)
+     */
+    static BatchContext createContext(BatchConfig config) {
+        CouponRuleTable ruleTable = CouponRuleTable.standard();
+        CouponRuleEvaluator evaluator = switch (config.get(BatchConfig.EVALUATOR)) {
+            case "compiled" -> ruleTable.compile();
+            case "scaled" -> new ScaledCreditCouponRuleEvaluator();
+            case "legacy" -> new LegacyCouponRuleEvaluator();
+            default -> throw new IllegalArgumentException(
+                    "알 수 없는 계산기: " + config.get(BatchConfig.EVALUATOR) + " (compiled|scaled|legacy)");
+        };
+        return new BatchContext(config, ruleTable, evaluator);
+    }
+
+    private static void printUsage(CouponBatchEngine engine) {
+        System.out.println("사용법: java com.kopo.jimin.CouponBatchEngine <전략이름> [--config=파일] [--항목=값 ...]");
+        System.out.println("  설정 항목: db.url, db.user, db.password, yyyymm, enroll.cutoff,");
+        System.out.println("             fetch.size, batch.size, commit.size, partitions, writers, queue, connections,");
+        System.out.println("             evaluator(compiled|scaled|legacy), adaptive, adaptive.max.size, parallel.degree, publish(truncate|exchange),");
+        System.out.println("             checkpoint, resume, stage.timing, metrics.port, metrics.host, metrics.file,");
+        System.out.println("             progress.source(longops|table|none), progress.interval, progress.rows,");
+        System.out.println("             verify.deep (CUSTOMER 전체 조회 정밀 검증), verify.checksum (쿠폰코드별 체크섬 대조),");
+        System.out.println("             snapshot.file (CUSTOMER 스냅샷에서 읽기, CustomerSnapshot으로 생성),");
+        System.out.println("             bench.warmup, bench.repeats, bench.env, bench.output (StrategyBenchmark)");
+        System.out.println("  우선순위: 명령행(--fetch.size=500) > 환경변수(COUPON_FETCH_SIZE) > 설정 파일(" + BatchConfig.DEFAULT_FILE + ")");
+        System.out.println("\n사용 가능한 전략:");
+        for (CouponBatchStrategy strategy : engine.strategies().values()) {
+            System.out.printf("  %-16s %s%n", strategy.name(), strategy.description());
+        }
+    }
+
+    /**
+     * 전략 1개 실행 (접속 → 초기화 → 실행 → 결과 출력 → 검증 → 정리)
+     * 반환: 발행 / 검증까지 성공한 실행의 결과 (전략이 끝났어도 발행 / 검증에서 실패하면 null)
+     */
+    public BatchStats run(CouponBatchStrategy strategy, BatchContext ctx) {
+        Connection conn = null;
+        BatchStats stats = null;
+        boolean succeeded = false; // 발행 / 검증까지 예외 없이 끝났을 때만 true
+        long startTime = System.currentTimeMillis();
+
+        ctx.metrics().start();
+        ctx.metrics().runStarted(strategy.name());
+        try {
+            System.out.printf("=== 배치 처리 시작 - [%s] %s ===%n", strategy.name(), strategy.description());
+
+            // 1. 데이터베이스 연결
+            conn = ctx.openConnection();
+            System.out.println("데이터베이스 연결 성공");
+
+            // 2. 대상 테이블 준비 (기존 데이터 삭제 또는 스테이징 테이블 생성, 증분 전략 / 재시작은 생략)
+            boolean resuming = prepareCheckpoint(conn, strategy, ctx);
+            if (strategy.incremental()) {
+                if (!(ctx.publisher() instanceof TruncatePublisher)) {
+                    throw new IllegalArgumentException("증분 전략은 BONUS_COUPON에 직접 MERGE하므로 publish=exchange와 함께 사용할 수 없습니다.");
+                }
+            } else if (!resuming) {
+                ctx.publisher().prepare(conn, ctx);
+            }
+
+            // 3. 전략 실행
+            stats = strategy.execute(conn, ctx);
+
+            // 4. 발행 (교환 발행 방식은 이 시점에 BONUS_COUPON에 공개)
+            if (!strategy.incremental()) {
+                ctx.publisher().publish(conn, ctx);
+            }
+
+            // 5. 최종 결과 출력
+            stats.printResults();
+
+            // 6. 결과 검증 (처리 중 집계와 BONUS_COUPON 집계 비교)
+            CouponResultVerifier.verify(conn, ctx, strategy, stats);
+            succeeded = true;
+
+        } catch (SQLException e) {
+            System.err.println("=== 데이터베이스 오류 발생 ===");
+            System.err.println("오류 코드: " + e.getErrorCode());
+            System.err.println("SQL 상태: " + e.getSQLState());
+            System.err.println("오류 메시지: " + e.getMessage());
+            e.printStackTrace();
+
+            rollbackQuietly(conn);
+
+        } catch (Exception e) {
+            System.err.println("=== 예상치 못한 오류 발생 ===");
+            System.err.println("오류 타입: " + e.getClass().getSimpleName());
+            System.err.println("오류 메시지: " + e.getMessage());
+            e.printStackTrace();
+
+        } finally {
+            // 7. 리소스 정리
+            closeQuietly(conn);
+            ctx.metrics().runFinished(strategy.name(), stats, succeeded);
+
+            long endTime = System.currentTimeMillis();
+            System.out.printf("%n=== 처리 완료 ===%n총 처리 시간: %,d ms%n", (endTime - startTime));
+        }
+        return succeeded ? stats : null;
+    }
+
+    /**
+     * 체크포인트 준비 (재시작할 체크포인트가 있으면 true, 새로 실행하면 이전 체크포인트 삭제)
+     */
+    static boolean prepareCheckpoint(Connection conn, CouponBatchStrategy strategy, BatchContext ctx)
+            throws SQLException {
+        if (!ctx.checkpointEnabled()) {
+            return false;
+        }
+        if (!strategy.supportsCheckpoint()) {
+            System.err.printf("⚠️  [%s] 전략은 체크포인트를 지원하지 않으므로 처음부터 실행합니다.%n", strategy.name());
+            return false;
+        }
+
+        CheckpointStore.ensureTable(conn);
+        CheckpointStore checkpoints = new CheckpointStore(ctx.yyyymm());
+        if (ctx.resume() && !checkpoints.load(conn, strategy.name()).isEmpty()) {
+            System.out.println("체크포인트에서 재시작합니다 (대상 테이블 유지)");
+            return true;
+        }
+        if (ctx.resume()) {
+            System.out.println("재시작할 체크포인트가 없으므로 처음부터 실행합니다.");
+        }
+        checkpoints.reset(conn, strategy.name());
+        return false;
+    }
+
+    /**
+     * 기존 테이블 데이터 삭제
+     */
+    static void truncateTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("TRUNCATE TABLE BONUS_COUPON");
+            System.out.println("기존 BONUS_COUPON 테이블 데이터 삭제 완료");
+        }
+    }
+
+    static void rollbackQuietly(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.rollback();
+                System.out.println("트랜잭션이 롤백되었습니다.");
+            } catch (SQLException rollbackEx) {
+                System.err.println("롤백 실패: " + rollbackEx.getMessage());
+            }
+        }
+    }
+
+    static void closeQuietly(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.close();
+                System.out.println("Connection 정리 완료");
+            } catch (SQLException e) {
+                System.err.println("Connection 정리 중 오류: " + e.getMessage());
+            }
+        }
+    }
+}
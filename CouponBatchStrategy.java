@@ -0,0 +1,40 @@
+package com.kopo.jimin;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 쿠폰 발급 전략 (기존 Calc_Bonus_by_* 클래스 1개 = 전략 1개)
+ * 특징: 접속, 테이블 초기화, 검증, 리소스 정리는 CouponBatchEngine이 공통 처리
+ */
+public interface CouponBatchStrategy {
+
+    /**
+     * 실행 시 선택하는 전략 이름 (예: pstmt-batch)
+     */
+    String name();
+
+    /**
+     * 전략 설명 (목록 출력용)
+     */
+    String description();
+
+    /**
+     * 쿠폰 발급 실행 (conn은 AutoCommit 해제 상태, 대상 테이블 ctx.targetTable()은 비어있는 상태)
+     */
+    BatchStats execute(Connection conn, BatchContext ctx) throws SQLException;
+
+    /**
+     * 증분 전략 여부 (true면 엔진이 대상 테이블을 비우지 않고 발행 단계도 생략)
+     */
+    default boolean incremental() {
+        return false;
+    }
+
+    /**
+     * 체크포인트 / 재시작 지원 여부 (--checkpoint=true, --resume=true)
+     */
+    default boolean supportsCheckpoint() {
+        return false;
+    }
+}
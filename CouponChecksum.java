@@ -0,0 +1,158 @@
+package com.kopo.jimin;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * 순서와 무관한 128비트 체크섬 (발급 쿠폰 집합 대조용)
+ * 처리방식: 발급 1건 (CUSTOMER_ID, COUPON_CD, CREDIT_POINT)을 "ID|코드|포인트(1/100 단위 정수)" 문자열로 만들어
+ *           SHA-256 앞 128비트를 구하고, 모든 건을 2^128로 나눈 나머지 합으로 누적
+ *           → 덧셈은 교환/결합 법칙이 성립하므로 병렬 / 파이프라인 실행에서 순서와 관계없이 같은 값
+ * 서버: 같은 문자열을 STANDARD_HASH(.., 'SHA256')로 해시하고 32비트 4조각을 각각 SUM (NUMBER 38자리 안에서 합산)
+ *       → 조각 합을 자리 이동해서 더하면 클라이언트 값과 같음 (fromChunkSums)
+ * 특징: 중복 INSERT / 누락 / 값 변경은 합이 달라지므로 검출 (같은 행이 2^128번 중복되는 경우만 예외)
+ */
+public final class CouponChecksum {
+
+    private static final BigInteger MASK_64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+    private long high;
+    private long low;
+
+    /**
+     * 128비트 값 1개 더하기 (하위 64비트 자리올림 포함)
+     */
+    void add(long addHigh, long addLow) {
+        long sum = low + addLow;
+        high += addHigh + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+        low = sum;
+    }
+
+    public void merge(CouponChecksum other) {
+        add(other.high, other.low);
+    }
+
+    /**
+     * 서버 집계의 32비트 조각별 합 4개로 128비트 합 복원 (chunkSums[0]이 최상위 조각)
+     */
+    static CouponChecksum fromChunkSums(BigDecimal[] chunkSums) {
+        BigInteger total = BigInteger.ZERO;
+        for (BigDecimal chunkSum : chunkSums) {
+            total = total.shiftLeft(32).add(chunkSum == null ? BigInteger.ZERO : chunkSum.toBigIntegerExact());
+        }
+        CouponChecksum checksum = new CouponChecksum();
+        checksum.low = total.and(MASK_64).longValue();
+        checksum.high = total.shiftRight(64).and(MASK_64).longValue();
+        return checksum;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CouponChecksum other && high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high) * 31 + Long.hashCode(low);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+
+    /**
+     * 서버 쪽 해시 입력 문자열 (ID / 코드 / 포인트 컬럼 식을 받아 클라이언트와 같은 형식으로 연결)
+     */
+    static String sqlTupleHash(String idColumn, String codeColumn, String pointColumn) {
+        return "RAWTOHEX(STANDARD_HASH(" + idColumn + " || '|' || " + codeColumn
+                + " || '|' || TO_CHAR(ROUND(" + pointColumn + " * 100)), 'SHA256'))";
+    }
+
+    /**
+     * 해시 16진수 문자열(64자)을 32비트 조각 4개로 나누어 합산하는 SELECT 목록 (H1 ~ H4)
+     */
+    static String sqlChunkSums(String hashColumn) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            sb.append(i == 0 ? "" : ",\n       ")
+                    .append("SUM(TO_NUMBER(SUBSTR(").append(hashColumn).append(", ").append(i * 8 + 1)
+                    .append(", 8), 'XXXXXXXX')) AS H").append(i + 1);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 발급 1건의 해시 계산기 (MessageDigest / 버퍼 재사용, 스레드마다 1개)
+     */
+    static final class Hasher {
+
+        private final MessageDigest digest;
+        private byte[] buffer = new byte[64];
+        private int length;
+
+        Hasher() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+            }
+        }
+
+        /**
+         * checksum에 (customerId, couponCode, creditPoint) 1건 누적
+         * 포인트는 NUMBER(9,2) 컬럼에 저장되는 값과 같게 소수점 2자리 반올림 후 1/100 단위 정수
+         */
+        void addTo(CouponChecksum checksum, String customerId, String couponCode, BigDecimal creditPoint) {
+            long cents = ScaledCreditCouponRuleEvaluator.isExactCents(creditPoint)
+                    ? ScaledCreditCouponRuleEvaluator.toCents(creditPoint)
+                    : creditPoint.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            length = 0;
+            append(customerId);
+            appendByte('|');
+            append(couponCode);
+            appendByte('|');
+            append(Long.toString(cents));
+
+            digest.update(buffer, 0, length);
+            byte[] hash = digest.digest();
+            checksum.add(toLong(hash, 0), toLong(hash, 8));
+        }
+
+        /**
+         * UTF-8 인코딩 (ASCII는 할당 없이 버퍼에 직접 기록)
+         */
+        private void append(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    for (byte b : value.substring(i).getBytes(StandardCharsets.UTF_8)) {
+                        appendByte(b);
+                    }
+                    return;
+                }
+                appendByte(c);
+            }
+        }
+
+        private void appendByte(int b) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, length * 2);
+            }
+            buffer[length++] = (byte) b;
+        }
+
+        private static long toLong(byte[] bytes, int offset) {
+            long value = 0;
+            for (int i = offset; i < offset + 8; i++) {
+                value = (value << 8) | (bytes[i] & 0xFF);
+            }
+            return value;
+        }
+    }
+}
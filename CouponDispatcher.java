@@ -0,0 +1,394 @@
+package com.kopo.jimin;
+
+import java.io.IOException;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 미발송 쿠폰(BONUS_COUPON SEND_DT IS NULL) 발송 + SEND_DT 일괄 기록
+ * 처리방식: 1. CUSTOMER_ID 기준 Keyset 페이지 조회 (CUSTOMER_ID > 마지막 ID ORDER BY CUSTOMER_ID, PK 범위 스캔)
+ *           2. 쿠폰마다 가상 스레드 1개: 도메인별 속도 제한(DomainRateLimiter) → 동시 발송 Semaphore → CouponSender.send
+ *              (속도 제한이 있으면 도메인 1개가 대기할 수 있는 건수는 dispatch.concurrency까지, 넘는 건은 건너뛰고 도메인만 기록)
+ *           3. 건너뛴 도메인은 1단계 발송 / 기록이 끝난 뒤 도메인마다 별도 Keyset 조회로 상한만큼씩 이어서 발송 (도메인 간 병행)
+ *           4. 발송 완료 건은 큐에 모아 batch.size건마다 ROWID 기준 UPDATE addBatch/executeBatch + Commit
+ *              (ROWID가 없는 DB는 YYYYMM + CUSTOMER_ID, 이미 기록된 행은 SEND_DT IS NULL 조건으로 건너뜀)
+ * 특징: 조회 / 발송 / 기록이 겹쳐서 진행되고, 대기 중인 발송 수도 상한이 있으므로 메모리는 건수와 관계없이 일정
+ *       건수가 많은 도메인 1개가 대기 슬롯을 모두 차지하지 않으므로 전체 처리 시간 ≈ 가장 큰 도메인의 건수 / dispatch.rate
+ *       발송 후 SEND_DT 기록 전에 중단되면 해당 건은 다음 실행에서 다시 발송됨 (최소 1회 발송)
+ *       발송 실패 건은 SEND_DT NULL로 남아 다음 실행에서 다시 시도 (3단계 도메인은 같은 실행에서 1번 더 시도)
+ * 사용법: java com.kopo.jimin.CouponDispatcher [--yyyymm=202506] [--dispatch.sender=file|mock|클래스이름]
+ *         [--dispatch.concurrency=64] [--dispatch.rate=200] [--dispatch.page=5000] [--dispatch.limit=0] [--batch.size=1000]
+ */
+public class CouponDispatcher {
+
+    static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_FAILURES = 10;
+
+    private static final String PAGE_SQL = """
+            SELECT {ROWID} AS RID, CUSTOMER_ID, EMAIL, COUPON_CD, CREDIT_POINT
+            FROM BONUS_COUPON
+            WHERE YYYYMM = ?
+              AND SEND_DT IS NULL{DOMAIN}{AFTER}
+            ORDER BY CUSTOMER_ID
+            FETCH FIRST ? ROWS ONLY
+            """;
+
+    /**
+     * PendingCoupon.emailDomain()과 같은 도메인 (마지막 @ 뒤, 공백 제거, 소문자, 없으면 ' '로 비교)
+     */
+    private static final String DOMAIN_CONDITION = "\n  AND NVL(CASE WHEN INSTR(EMAIL, '@', -1) > 0"
+            + " THEN LOWER(TRIM(SUBSTR(EMAIL, INSTR(EMAIL, '@', -1) + 1))) END, ' ') = ?";
+
+    private static final String STAMP_BY_ROWID_SQL =
+            "UPDATE BONUS_COUPON SET SEND_DT = ? WHERE ROWID = CHARTOROWID(?) AND SEND_DT IS NULL";
+
+    private static final String STAMP_BY_KEY_SQL =
+            "UPDATE BONUS_COUPON SET SEND_DT = ? WHERE YYYYMM = ? AND CUSTOMER_ID = ? AND SEND_DT IS NULL";
+
+    /**
+     * 발송 완료 1건 (SEND_DT에 기록할 발송 시각)
+     */
+    private record Sent(PendingCoupon coupon, Timestamp sentAt) {
+    }
+
+    private final BatchContext ctx;
+    private final CouponSender sender;
+    private final DomainRateLimiter rateLimiter;
+    private final int concurrency;
+    private final int pageSize;
+    private final long limit;
+    private final int batchSize;
+
+    private final Queue<Sent> sentQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger sentQueueSize = new AtomicInteger(); // ConcurrentLinkedQueue.size()는 전체 순회
+    private final Map<String, AtomicInteger> domainPending = new ConcurrentHashMap<>();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private long readCount = 0;
+    private long dispatchedCount = 0;
+    private long deferredCount = 0;
+    private long stampedCount = 0;
+    private long stampBatchCount = 0;
+
+    public CouponDispatcher(BatchContext ctx, CouponSender sender) {
+        BatchConfig config = ctx.config();
+        this.ctx = ctx;
+        this.sender = sender;
+        this.concurrency = Math.max(1, config.getInt(BatchConfig.DISPATCH_CONCURRENCY));
+        int rate = config.getInt(BatchConfig.DISPATCH_RATE);
+        this.rateLimiter = new DomainRateLimiter(rate, Math.max(1, rate / 10));
+        this.pageSize = Math.max(1, config.getInt(BatchConfig.DISPATCH_PAGE));
+        this.limit = config.getInt(BatchConfig.DISPATCH_LIMIT);
+        this.batchSize = Math.max(1, ctx.batchSize(DEFAULT_BATCH_SIZE));
+    }
+
+    public static void main(String[] args) {
+        BatchConfig config = BatchConfig.load(args);
+        config.print();
+        BatchContext ctx = CouponBatchEngine.createContext(config);
+
+        Connection conn = null;
+        try (CouponSender sender = CouponSender.create(config)) {
+            conn = ctx.openConnection();
+            System.out.println("데이터베이스 연결 성공: " + conn.getMetaData().getDatabaseProductName());
+            new CouponDispatcher(ctx, sender).dispatch(conn);
+
+        } catch (SQLException e) {
+            System.err.println("=== 데이터베이스 오류 발생 ===");
+            System.err.println("오류 코드: " + e.getErrorCode());
+            System.err.println("SQL 상태: " + e.getSQLState());
+            System.err.println("오류 메시지: " + e.getMessage());
+            e.printStackTrace();
+            CouponBatchEngine.rollbackQuietly(conn);
+        } catch (IOException e) {
+            System.err.println("=== 발송 처리 오류 발생 ===");
+            System.err.println("오류 메시지: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            CouponBatchEngine.closeQuietly(conn);
+        }
+    }
+
+    /**
+     * 미발송 쿠폰 전체(또는 dispatch.limit건) 발송 후 SEND_DT 기록 (Commit 포함)
+     */
+    public void dispatch(Connection conn) throws SQLException {
+        boolean byRowId = CouponArrayProcedure.isOracle(conn);
+        int maxPending = concurrency * 4; // 속도 제한으로 대기 중인 건 포함, 조회했지만 끝나지 않은 건의 상한
+        int domainLimit = rateLimiter.limited() ? concurrency : maxPending; // 도메인 1개가 대기할 수 있는 건수
+        Semaphore pendingPermits = new Semaphore(maxPending);
+        Semaphore sendPermits = new Semaphore(concurrency);
+        long startTime = System.currentTimeMillis();
+        System.out.printf("BONUS_COUPON %s 미발송 쿠폰 발송 시작 (동시 발송 %d건, 도메인별 %s, 페이지 %,d건, SEND_DT 기록 %,d건 단위, %s 기준)%n",
+                ctx.yyyymm(), concurrency,
+                rateLimiter.limited() ? String.format("초당 %,d건", ctx.config().getInt(BatchConfig.DISPATCH_RATE)) : "제한 없음",
+                pageSize, batchSize, byRowId ? "ROWID" : "YYYYMM + CUSTOMER_ID");
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try (PreparedStatement firstPage = conn.prepareStatement(pageSql(byRowId, false, false));
+             PreparedStatement nextPage = conn.prepareStatement(pageSql(byRowId, false, true));
+             PreparedStatement domainFirstPage = conn.prepareStatement(pageSql(byRowId, true, false));
+             PreparedStatement domainNextPage = conn.prepareStatement(pageSql(byRowId, true, true));
+             PreparedStatement stamp = conn.prepareStatement(byRowId ? STAMP_BY_ROWID_SQL : STAMP_BY_KEY_SQL)) {
+            // 1. 전체 Keyset 페이지 조회 + 발송 (대기 상한에 걸린 도메인의 건은 건너뛰고 도메인만 기록)
+            Set<String> deferredDomains = new LinkedHashSet<>();
+            String lastId = null;
+            while (hasRemaining()) {
+                int fetch = limit > 0 ? (int) Math.min(pageSize, limit - dispatchedCount) : pageSize;
+                List<PendingCoupon> page = readPage(lastId == null ? firstPage : nextPage, null, lastId, fetch);
+                if (page.isEmpty()) {
+                    break;
+                }
+                readCount += page.size();
+                lastId = page.get(page.size() - 1).customerId();
+
+                for (PendingCoupon coupon : page) {
+                    if (!hasRemaining()) {
+                        break;
+                    }
+                    if (pendingOf(coupon.emailDomain()).get() >= domainLimit) {
+                        deferredDomains.add(coupon.emailDomain());
+                        deferredCount++;
+                        continue;
+                    }
+                    submit(conn, stamp, byRowId, executor, coupon, pendingPermits, sendPermits);
+                }
+                printProgress(startTime);
+            }
+
+            // 2. 건너뛴 도메인: 1단계 발송 / 기록을 모두 끝낸 뒤(같은 건을 다시 조회하지 않도록) 도메인별 Keyset으로 이어서 발송
+            if (!deferredDomains.isEmpty() && hasRemaining()) {
+                awaitAll(conn, stamp, byRowId, pendingPermits, maxPending);
+                System.out.printf("대기 상한에 걸린 도메인 %d개 (건너뛴 %,d건) → 도메인별 조회로 이어서 발송%n",
+                        deferredDomains.size(), deferredCount);
+                dispatchDeferred(conn, stamp, byRowId, executor, deferredDomains, domainLimit,
+                        domainFirstPage, domainNextPage, pendingPermits, sendPermits, startTime);
+            }
+
+            // 3. 남은 발송 완료 대기 후 나머지 기록
+            awaitAll(conn, stamp, byRowId, pendingPermits, maxPending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("쿠폰 발송 대기 중 인터럽트 발생", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        System.out.printf("%n=== 발송 완료 ===%n조회: %,d건 / 발송: %,d건 / 실패: %,d건 (SEND_DT NULL 유지)%n",
+                readCount, sentCount.get(), failedCount.get());
+        System.out.printf("SEND_DT 기록: %,d건 (UPDATE executeBatch %,d회, 도메인 %,d개)%n",
+                stampedCount, stampBatchCount, rateLimiter.domainCount());
+        System.out.printf("총 처리 시간: %,d ms (%,.0f건/초)%n", elapsed,
+                elapsed > 0 ? sentCount.get() / (elapsed / 1000.0) : 0);
+    }
+
+    /**
+     * 건너뛴 도메인마다 별도 Keyset 조회 (도메인의 대기 건수가 상한보다 적을 때만 빈 만큼 조회 → 도메인 간 병행, 메모리 일정)
+     */
+    private void dispatchDeferred(Connection conn, PreparedStatement stamp, boolean byRowId, ExecutorService executor,
+                                  Set<String> domains, int domainLimit,
+                                  PreparedStatement firstPage, PreparedStatement nextPage,
+                                  Semaphore pendingPermits, Semaphore sendPermits, long startTime)
+            throws SQLException, InterruptedException {
+        Map<String, String> lastIds = new HashMap<>(); // 도메인 → 마지막 CUSTOMER_ID (처음이면 없음)
+        List<String> lanes = new ArrayList<>(domains);
+        long nextProgress = readCount + pageSize;
+        while (!lanes.isEmpty() && hasRemaining()) {
+            boolean progressed = false;
+            for (Iterator<String> it = lanes.iterator(); it.hasNext() && hasRemaining(); ) {
+                String domain = it.next();
+                int free = domainLimit - pendingOf(domain).get();
+                if (free <= 0) {
+                    continue;
+                }
+                int fetch = (int) Math.min(Math.min(free, pageSize), limit > 0 ? limit - dispatchedCount : pageSize);
+                String lastId = lastIds.get(domain);
+                List<PendingCoupon> page = readPage(lastId == null ? firstPage : nextPage, domain, lastId, fetch);
+                readCount += page.size();
+                if (page.size() < fetch) {
+                    it.remove(); // 마지막 페이지
+                }
+                if (page.isEmpty()) {
+                    continue;
+                }
+                lastIds.put(domain, page.get(page.size() - 1).customerId());
+                progressed = true;
+                for (PendingCoupon coupon : page) {
+                    submit(conn, stamp, byRowId, executor, coupon, pendingPermits, sendPermits);
+                }
+            }
+            if (readCount >= nextProgress) {
+                printProgress(startTime);
+                nextProgress = readCount + pageSize;
+            }
+            if (!progressed) {
+                // 모든 도메인이 상한까지 대기 중 → 완료분 기록하며 잠시 대기
+                stampIfReady(conn, stamp, byRowId);
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+        }
+    }
+
+    /**
+     * 쿠폰 1건 발송 시작 (대기 중인 건이 상한이면 끝나는 건을 기다리면서 완료분 기록)
+     */
+    private void submit(Connection conn, PreparedStatement stamp, boolean byRowId, ExecutorService executor,
+                        PendingCoupon coupon, Semaphore pendingPermits, Semaphore sendPermits)
+            throws SQLException, InterruptedException {
+        while (!pendingPermits.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+            stampIfReady(conn, stamp, byRowId);
+        }
+        AtomicInteger domainCount = pendingOf(coupon.emailDomain());
+        domainCount.incrementAndGet();
+        dispatchedCount++;
+        executor.execute(() -> sendOne(coupon, sendPermits, pendingPermits, domainCount));
+        stampIfReady(conn, stamp, byRowId);
+    }
+
+    /**
+     * 발송 중인 건이 모두 끝날 때까지 대기 후 남은 완료분 모두 기록
+     */
+    private void awaitAll(Connection conn, PreparedStatement stamp, boolean byRowId,
+                          Semaphore pendingPermits, int maxPending) throws SQLException, InterruptedException {
+        while (!pendingPermits.tryAcquire(maxPending, 100, TimeUnit.MILLISECONDS)) {
+            stampIfReady(conn, stamp, byRowId);
+        }
+        pendingPermits.release(maxPending);
+        while (sentQueueSize.get() > 0) {
+            stampBatch(conn, stamp, byRowId);
+        }
+    }
+
+    private boolean hasRemaining() {
+        return limit <= 0 || dispatchedCount < limit;
+    }
+
+    private AtomicInteger pendingOf(String domain) {
+        return domainPending.computeIfAbsent(domain, key -> new AtomicInteger());
+    }
+
+    private static String pageSql(boolean byRowId, boolean byDomain, boolean afterLastId) {
+        return PAGE_SQL
+                .replace("{ROWID}", byRowId ? "ROWIDTOCHAR(ROWID)" : "CAST(NULL AS VARCHAR2(18))")
+                .replace("{DOMAIN}", byDomain ? DOMAIN_CONDITION : "")
+                .replace("{AFTER}", afterLastId ? "\n  AND CUSTOMER_ID > ?" : "");
+    }
+
+    private List<PendingCoupon> readPage(PreparedStatement pstmt, String domain, String lastId, int fetch)
+            throws SQLException {
+        int i = 1;
+        pstmt.setString(i++, ctx.yyyymm());
+        if (domain != null) {
+            pstmt.setString(i++, domain.isEmpty() ? " " : domain);
+        }
+        if (lastId != null) {
+            pstmt.setString(i++, lastId);
+        }
+        pstmt.setInt(i, fetch);
+        pstmt.setFetchSize(fetch);
+        List<PendingCoupon> page = new ArrayList<>(fetch);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                page.add(new PendingCoupon(
+                        rs.getString("RID"),
+                        rs.getString("CUSTOMER_ID"),
+                        rs.getString("EMAIL"),
+                        rs.getString("COUPON_CD"),
+                        rs.getBigDecimal("CREDIT_POINT")));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * 가상 스레드 1개에서 쿠폰 1건 발송 (속도 제한 대기는 동시 발송 수에 포함하지 않음)
+     */
+    private void sendOne(PendingCoupon coupon, Semaphore sendPermits, Semaphore pendingPermits,
+                         AtomicInteger domainCount) {
+        try {
+            rateLimiter.acquire(coupon.emailDomain());
+            sendPermits.acquire();
+            try {
+                sender.send(coupon);
+            } finally {
+                sendPermits.release();
+            }
+            sentQueue.add(new Sent(coupon, new Timestamp(System.currentTimeMillis())));
+            sentQueueSize.incrementAndGet();
+            sentCount.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failedCount.incrementAndGet();
+        } catch (Exception e) {
+            if (failedCount.incrementAndGet() <= MAX_REPORTED_FAILURES) {
+                System.err.printf("⚠️  발송 실패 (%s, %s): %s%n", coupon.customerId(), coupon.emailDomain(), e.getMessage());
+            }
+        } finally {
+            domainCount.decrementAndGet();
+            pendingPermits.release();
+        }
+    }
+
+    private void stampIfReady(Connection conn, PreparedStatement stamp, boolean byRowId) throws SQLException {
+        if (sentQueueSize.get() >= batchSize) {
+            stampBatch(conn, stamp, byRowId);
+        }
+    }
+
+    /**
+     * 발송 완료 최대 batch.size건 SEND_DT 기록 (executeBatch 1번 + CouponSender.flush + Commit)
+     */
+    private void stampBatch(Connection conn, PreparedStatement stamp, boolean byRowId) throws SQLException {
+        int count = 0;
+        Sent sent;
+        while (count < batchSize && (sent = sentQueue.poll()) != null) {
+            sentQueueSize.decrementAndGet();
+            stamp.setTimestamp(1, sent.sentAt());
+            if (byRowId) {
+                stamp.setString(2, sent.coupon().rowId());
+            } else {
+                stamp.setString(2, ctx.yyyymm());
+                stamp.setString(3, sent.coupon().customerId());
+            }
+            stamp.addBatch();
+            count++;
+        }
+        if (count == 0) {
+            return;
+        }
+        for (int updated : stamp.executeBatch()) {
+            stampedCount += updated == Statement.SUCCESS_NO_INFO ? 1 : updated;
+        }
+        // 발송 내용을 먼저 반영한 뒤 Commit (반영 실패시 SEND_DT를 남기지 않음 → 다음 실행에서 다시 발송)
+        try {
+            sender.flush();
+        } catch (IOException e) {
+            throw new SQLException("발송 내용 반영 실패: " + e.getMessage(), e);
+        }
+        conn.commit();
+        stampBatchCount++;
+    }
+
+    private void printProgress(long startTime) {
+        long elapsed = System.currentTimeMillis() - startTime;
+        System.out.printf("발송 진행: 조회 %,d건 / 발송 %,d건 / 실패 %,d건 / SEND_DT 기록 %,d건 (%,.0f건/초)%n",
+                readCount, sentCount.get(), failedCount.get(), stampedCount,
+                elapsed > 0 ? sentCount.get() / (elapsed / 1000.0) : 0);
+    }
+}
@@ -0,0 +1,61 @@
+package com.kopo.jimin;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+
+/**
+ * BONUS_COUPON 내보내기 파일 1개 쓰기 (CouponExporter가 쿠폰코드 / 파일 크기별로 여러 개 사용)
+ * 특징: 건마다 객체를 만들지 않도록 컬럼 값을 그대로 받음, 출력은 ExportChannel (FileChannel + 선택적 gzip)
+ */
+interface CouponExportWriter extends AutoCloseable {
+
+    /**
+     * 출력 형식
+     */
+    enum Format {
+        CSV(".csv"),
+        COLUMNAR(".col");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        static Format parse(String value) {
+            return switch (value.trim().toLowerCase()) {
+                case "csv" -> CSV;
+                case "columnar", "col" -> COLUMNAR;
+                default -> throw new IllegalArgumentException("알 수 없는 내보내기 형식: " + value + " (csv, columnar)");
+            };
+        }
+
+        String extension(boolean gzip) {
+            return gzip ? extension + ".gz" : extension;
+        }
+
+        CouponExportWriter open(Path file, boolean gzip, String yyyymm) throws IOException {
+            ExportChannel channel = new ExportChannel(file, gzip);
+            return this == CSV ? new CsvExportWriter(channel, yyyymm) : new ColumnarExportWriter(channel, yyyymm);
+        }
+    }
+
+    /**
+     * 쿠폰 1건 기록 (NULL 컬럼은 null)
+     */
+    void write(String customerId, String email, String couponCode, BigDecimal creditPoint) throws IOException;
+
+    /**
+     * 지금까지 파일에 기록된 바이트 수 (파일 크기 분할 기준, 버퍼에 남은 분량은 제외)
+     */
+    long fileBytes() throws IOException;
+
+    /**
+     * 압축 전 바이트 수 (압축률 출력용, close 후 호출)
+     */
+    long uncompressedBytes();
+
+    @Override
+    void close() throws IOException;
+}
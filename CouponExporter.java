@@ -0,0 +1,419 @@
+package com.kopo.jimin;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 발송 대상 쿠폰(BONUS_COUPON YYYYMM, 기본은 SEND_DT IS NULL) 파일 내보내기
+ * 처리방식: 1. partitions > 1이면 NTILE(N) OVER (ORDER BY CUSTOMER_ID)로 CUSTOMER_ID 구간을 나눔 (PK 1회 스캔)
+ *           2. 구간마다 전용 Connection / 스레드에서 큰 Fetch Size로 조회하며 행을 바로 파일에 기록
+ *              (쿠폰코드별 파일, export.max.mb를 넘으면 다음 번호 파일로 분할)
+ *           3. 파일 출력은 FileChannel 직접 기록 + gzip (ExportChannel), 형식은 CSV 또는 컬럼 단위(ColumnarExportWriter)
+ * 특징: 결과를 모으지 않고 흘려보내므로 메모리는 건수가 아니라 열린 파일 수(구간 수 x 쿠폰코드 수)에만 비례
+ *       파일명: BONUS_COUPON_YYYYMM_P구간_쿠폰코드_번호.csv.gz
+ *       시작 전에 같은 YYYYMM의 기존 파일(BONUS_COUPON_YYYYMM_*)을 삭제하고, 구간 파일은 .tmp로 기록하다가
+ *       구간이 끝까지 성공했을 때만 최종 이름으로 변경 (실패한 구간의 파일은 삭제 → 일부만 기록된 파일이 남지 않음)
+ * 사용법: java com.kopo.jimin.CouponExporter [--yyyymm=202506] [--partitions=4] [--fetch.size=10000]
+ *         [--export.dir=export] [--export.format=csv|columnar] [--export.compress=gzip|none]
+ *         [--export.split=code|none] [--export.max.mb=0] [--export.pending=true]
+ */
+public class CouponExporter {
+
+    static final int DEFAULT_FETCH_SIZE = 10_000;
+    private static final int SIZE_CHECK_ROWS = 1024; // 파일 크기 확인 간격 (FileChannel.position 호출 횟수 절약)
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final String BOUNDARY_SQL = """
+            SELECT BUCKET, MIN(CUSTOMER_ID) AS LOW_ID, MAX(CUSTOMER_ID) AS HIGH_ID, COUNT(*) AS CNT
+            FROM (
+                SELECT CUSTOMER_ID, NTILE(?) OVER (ORDER BY CUSTOMER_ID) AS BUCKET
+                FROM BONUS_COUPON
+                WHERE YYYYMM = ?{PENDING}
+            )
+            GROUP BY BUCKET
+            ORDER BY BUCKET
+            """;
+
+    private static final String EXPORT_SQL = """
+            SELECT CUSTOMER_ID, EMAIL, COUPON_CD, CREDIT_POINT
+            FROM BONUS_COUPON
+            WHERE YYYYMM = ?{PENDING}{RANGE}
+            """;
+
+    /**
+     * 내보내기 설정 (BatchConfig에서 1번 읽어서 구간 스레드가 공유)
+     */
+    record Options(Path directory, CouponExportWriter.Format format, boolean gzip, boolean splitByCode,
+                   long maxFileBytes, boolean pendingOnly, int fetchSize) {
+
+        static Options from(BatchContext ctx) {
+            BatchConfig config = ctx.config();
+            String compress = config.get(BatchConfig.EXPORT_COMPRESS).trim().toLowerCase();
+            if (!compress.equals("gzip") && !compress.equals("none")) {
+                throw new IllegalArgumentException("알 수 없는 압축 방식: " + compress + " (gzip, none)");
+            }
+            String split = config.get(BatchConfig.EXPORT_SPLIT).trim().toLowerCase();
+            if (!split.equals("code") && !split.equals("none")) {
+                throw new IllegalArgumentException("알 수 없는 파일 분할 방식: " + split + " (code, none)");
+            }
+            return new Options(Path.of(config.get(BatchConfig.EXPORT_DIR)),
+                    CouponExportWriter.Format.parse(config.get(BatchConfig.EXPORT_FORMAT)),
+                    compress.equals("gzip"),
+                    split.equals("code"),
+                    config.getInt(BatchConfig.EXPORT_MAX_MB) * 1024L * 1024L,
+                    config.getBoolean(BatchConfig.EXPORT_PENDING),
+                    ctx.fetchSize(DEFAULT_FETCH_SIZE));
+        }
+
+        String pendingCondition() {
+            return pendingOnly ? " AND SEND_DT IS NULL" : "";
+        }
+    }
+
+    /**
+     * 구간 1개의 내보내기 결과
+     */
+    record PartitionResult(int index, long rowCount, int fileCount, long fileBytes, long uncompressedBytes,
+                           long elapsedMillis) {
+    }
+
+    public static void main(String[] args) {
+        BatchConfig config = BatchConfig.load(args);
+        config.print();
+        BatchContext ctx = CouponBatchEngine.createContext(config);
+
+        long startTime = System.currentTimeMillis();
+        try (Connection conn = ctx.openConnection()) {
+            System.out.println("데이터베이스 연결 성공: " + conn.getMetaData().getDatabaseProductName());
+            Options options = Options.from(ctx);
+            Files.createDirectories(options.directory());
+            int removed = removePreviousExports(options.directory(), ctx.yyyymm());
+            if (removed > 0) {
+                System.out.printf("기존 %s 내보내기 파일 %d개 삭제%n", ctx.yyyymm(), removed);
+            }
+
+            // 1. 구간 분할
+            List<CustomerPartition> partitions = ctx.partitionCount() > 1
+                    ? split(conn, ctx, options, ctx.partitionCount())
+                    : List.of(new CustomerPartition(0, null, null, 0));
+            System.out.printf("BONUS_COUPON %s 내보내기 시작 (%s%s, 구간 %d개, Fetch Size %,d%s%s) → %s%n",
+                    ctx.yyyymm(), options.format().name().toLowerCase(), options.gzip() ? " + gzip" : "",
+                    partitions.size(), options.fetchSize(), options.splitByCode() ? ", 쿠폰코드별 파일" : "",
+                    options.maxFileBytes() > 0 ? String.format(", 파일당 %,d MB", options.maxFileBytes() >> 20) : "",
+                    options.directory().toAbsolutePath());
+
+            // 2. 구간별 병렬 내보내기
+            List<PartitionResult> results = exportAll(ctx, options, partitions);
+
+            // 3. 결과
+            long rows = 0, files = 0, bytes = 0, uncompressed = 0;
+            for (PartitionResult result : results) {
+                rows += result.rowCount();
+                files += result.fileCount();
+                bytes += result.fileBytes();
+                uncompressed += result.uncompressedBytes();
+            }
+            long elapsed = System.currentTimeMillis() - startTime;
+            System.out.printf("%n=== 내보내기 완료 ===%n쿠폰: %,d건 / 파일: %,d개 / %,d bytes", rows, files, bytes);
+            if (options.gzip() && bytes > 0) {
+                System.out.printf(" (압축 전 %,d bytes, %.1f배)", uncompressed, (double) uncompressed / bytes);
+            }
+            System.out.printf("%n총 처리 시간: %,d ms (%,.0f건/초)%n", elapsed, elapsed > 0 ? rows / (elapsed / 1000.0) : 0);
+
+        } catch (SQLException e) {
+            System.err.println("=== 데이터베이스 오류 발생 ===");
+            System.err.println("오류 코드: " + e.getErrorCode());
+            System.err.println("SQL 상태: " + e.getSQLState());
+            System.err.println("오류 메시지: " + e.getMessage());
+            e.printStackTrace();
+        } catch (IOException e) {
+            System.err.println("=== 파일 쓰기 오류 발생 ===");
+            System.err.println("오류 메시지: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 같은 YYYYMM의 이전 내보내기 파일 삭제 (중단된 실행의 .tmp 포함, 구간 수 / 분할 방식이 달라도 섞이지 않도록)
+     */
+    static int removePreviousExports(Path directory, String yyyymm) throws IOException {
+        int removed = 0;
+        try (DirectoryStream<Path> previous = Files.newDirectoryStream(directory,
+                TruncatePublisher.LIVE_TABLE + "_" + yyyymm + "_*")) {
+            for (Path file : previous) {
+                if (Files.isRegularFile(file) && Files.deleteIfExists(file)) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 내보낼 BONUS_COUPON을 CUSTOMER_ID 구간으로 N등분 (CustomerPartitioner와 같은 방식)
+     */
+    static List<CustomerPartition> split(Connection conn, BatchContext ctx, Options options, int partitionCount)
+            throws SQLException {
+        List<CustomerPartition> partitions = new ArrayList<>(partitionCount);
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                BOUNDARY_SQL.replace("{PENDING}", options.pendingCondition()))) {
+            pstmt.setInt(1, partitionCount);
+            pstmt.setString(2, ctx.yyyymm());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    partitions.add(new CustomerPartition(
+                            partitions.size(),
+                            rs.getString("LOW_ID"),
+                            rs.getString("HIGH_ID"),
+                            rs.getLong("CNT")));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * 구간마다 스레드 1개 (구간 수만큼 Connection 사용)
+     */
+    static List<PartitionResult> exportAll(BatchContext ctx, Options options, List<CustomerPartition> partitions)
+            throws SQLException, IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, partitions.size()));
+        try {
+            List<Future<PartitionResult>> futures = new ArrayList<>(partitions.size());
+            for (CustomerPartition partition : partitions) {
+                futures.add(executor.submit(() -> {
+                    try (Connection conn = ctx.openConnection()) {
+                        PartitionResult result = exportPartition(conn, ctx, options, partition);
+                        System.out.printf("P%d 완료: %,d건 / 파일 %d개 / %,d bytes (%,d ms)%n", result.index(),
+                                result.rowCount(), result.fileCount(), result.fileBytes(), result.elapsedMillis());
+                        return result;
+                    }
+                }));
+            }
+            List<PartitionResult> results = new ArrayList<>(partitions.size());
+            for (Future<PartitionResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlEx) {
+                throw sqlEx;
+            }
+            if (e.getCause() instanceof IOException ioEx) {
+                throw ioEx;
+            }
+            throw new SQLException("쿠폰 내보내기 실패: " + e.getCause(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("쿠폰 내보내기 대기 중 인터럽트 발생", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 구간 1개 조회 → 파일 기록 (lowId가 null이면 YYYYMM 전체, 끝까지 성공해야 최종 이름으로 변경)
+     */
+    static PartitionResult exportPartition(Connection conn, BatchContext ctx, Options options,
+                                           CustomerPartition partition) throws SQLException, IOException {
+        long startTime = System.currentTimeMillis();
+        boolean ranged = partition.lowId() != null;
+        String sql = EXPORT_SQL
+                .replace("{PENDING}", options.pendingCondition())
+                .replace("{RANGE}", ranged ? " AND CUSTOMER_ID BETWEEN ? AND ?" : "");
+
+        long rowCount = 0;
+        try (ExportFileSet files = new ExportFileSet(options, ctx.yyyymm(), partition.index());
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setFetchSize(options.fetchSize());
+            pstmt.setString(1, ctx.yyyymm());
+            if (ranged) {
+                pstmt.setString(2, partition.lowId());
+                pstmt.setString(3, partition.highId());
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    files.write(rs.getString(1), rs.getString(2), rs.getString(3), rs.getBigDecimal(4));
+                    rowCount++;
+                }
+            }
+            files.finish();
+            return new PartitionResult(partition.index(), rowCount, files.fileCount, files.fileBytes,
+                    files.uncompressedBytes, System.currentTimeMillis() - startTime);
+        }
+    }
+
+    /**
+     * 구간 1개가 쓰는 파일 묶음 (쿠폰코드별 현재 파일 + 크기 초과시 다음 번호로 교체)
+     * 특징: 파일은 이름.tmp로 기록 → finish에서 모두 닫고 최종 이름으로 변경, finish 없이 close하면 모두 삭제
+     */
+    static final class ExportFileSet implements AutoCloseable {
+
+        /**
+         * 쿠폰코드 1개의 현재 파일
+         */
+        private static final class Slot {
+            final String label;
+            CouponExportWriter writer;
+            int sequence = 0;
+            long rowsSinceCheck = 0;
+
+            Slot(String label) {
+                this.label = label;
+            }
+        }
+
+        private final Options options;
+        private final String yyyymm;
+        private final int partitionIndex;
+        private final Map<String, Slot> slots = new HashMap<>();
+        private Slot single; // 쿠폰코드별로 나누지 않을 때
+        private final List<Path> tempFiles = new ArrayList<>();
+        private boolean finished = false;
+        int fileCount = 0;
+        long fileBytes = 0;
+        long uncompressedBytes = 0;
+
+        ExportFileSet(Options options, String yyyymm, int partitionIndex) {
+            this.options = options;
+            this.yyyymm = yyyymm;
+            this.partitionIndex = partitionIndex;
+        }
+
+        void write(String customerId, String email, String couponCode, BigDecimal creditPoint) throws IOException {
+            Slot slot = slotFor(couponCode);
+            if (slot.writer == null) {
+                open(slot);
+            } else if (options.maxFileBytes() > 0 && ++slot.rowsSinceCheck >= SIZE_CHECK_ROWS) {
+                slot.rowsSinceCheck = 0;
+                if (slot.writer.fileBytes() >= options.maxFileBytes()) {
+                    closeWriter(slot);
+                    open(slot);
+                }
+            }
+            slot.writer.write(customerId, email, couponCode, creditPoint);
+        }
+
+        private Slot slotFor(String couponCode) {
+            if (!options.splitByCode()) {
+                if (single == null) {
+                    single = new Slot(null);
+                }
+                return single;
+            }
+            Slot slot = slots.get(couponCode);
+            if (slot == null) {
+                slot = new Slot(couponCode == null ? "NULL" : couponCode);
+                slots.put(couponCode, slot);
+            }
+            return slot;
+        }
+
+        private void open(Slot slot) throws IOException {
+            String name = String.format("%s_%s_P%d%s_%03d%s", TruncatePublisher.LIVE_TABLE, yyyymm, partitionIndex,
+                    slot.label == null ? "" : "_" + slot.label, ++slot.sequence,
+                    options.format().extension(options.gzip()));
+            Path tempFile = options.directory().resolve(name + TEMP_SUFFIX);
+            tempFiles.add(tempFile);
+            slot.writer = options.format().open(tempFile, options.gzip(), yyyymm);
+            fileCount++;
+        }
+
+        private void closeWriter(Slot slot) throws IOException {
+            CouponExportWriter writer = slot.writer;
+            slot.writer = null;
+            writer.close();
+            fileBytes += writer.fileBytes();
+            uncompressedBytes += writer.uncompressedBytes();
+        }
+
+        /**
+         * 구간 성공: 열린 파일 모두 닫고 .tmp를 최종 이름으로 변경
+         */
+        void finish() throws IOException {
+            closeWriters();
+            for (Path tempFile : tempFiles) {
+                Files.move(tempFile, finalName(tempFile), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+            finished = true;
+        }
+
+        /**
+         * finish 전이면(조회 / 기록 실패) 파일을 닫고 이 구간이 만든 파일을 모두 삭제, finish 후에는 아무것도 안 함
+         */
+        @Override
+        public void close() throws IOException {
+            if (finished) {
+                return;
+            }
+            IOException failure = null;
+            try {
+                closeWriters();
+            } catch (IOException e) {
+                failure = e;
+            }
+            for (Path tempFile : tempFiles) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                    Files.deleteIfExists(finalName(tempFile)); // finish 도중 이름 변경까지 끝난 파일
+                } catch (IOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            finished = true;
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        private static Path finalName(Path tempFile) {
+            String name = tempFile.getFileName().toString();
+            return tempFile.resolveSibling(name.substring(0, name.length() - TEMP_SUFFIX.length()));
+        }
+
+        /**
+         * 열린 파일 모두 닫기 (먼저 실패한 오류를 던지고 나머지도 닫음, 2번 호출해도 안전)
+         */
+        private void closeWriters() throws IOException {
+            List<Slot> open = new ArrayList<>(slots.values());
+            if (single != null) {
+                open.add(single);
+            }
+            IOException failure = null;
+            for (Slot slot : open) {
+                if (slot.writer != null) {
+                    try {
+                        closeWriter(slot);
+                    } catch (IOException e) {
+                        if (failure == null) {
+                            failure = e;
+                        } else {
+                            failure.addSuppressed(e);
+                        }
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
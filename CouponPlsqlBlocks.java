@@ -0,0 +1,463 @@
+package com.kopo.jimin;
+
+/**
+ * 서버 처리 전략용 PL/SQL Anonymous Block 모음 (callstmt_1 ~ callstmt_3)
+ * 특징: {YYYYMM}, {ENROLL_CUTOFF}, {FETCH_SIZE}, {COMMIT_SIZE} 자리표시자를 실행 시 BatchContext 값으로 치환
+ *       INSERT 대상은 {TARGET_TABLE} (BONUS_COUPON 또는 교체 발행 모드의 스테이징 테이블)
+ *       Direct-Path 블록의 힌트/Parallel DML 자리표시자는 병렬도(parallel.degree) 설정으로 치환
+ *       쿠폰 규칙({COUPON_FUNCTION}, {COUPON_CASE})은 CouponRuleTable에서 생성하여 치환
+ * OUT 매개변수: 1=처리 건수, 2=발급 건수, 3=오류 건수, 4=Commit 횟수 (모든 블록 공통)
+ * 진행률: 반복 처리 블록(callstmt_1, 2)은 {PROGRESS_DECLARATIONS}의 report_progress를 {PROGRESS_ROWS}행마다 호출 (ServerProgress)
+ *         DBMS_OUTPUT은 오류 메시지에만 사용하고, 오류가 있을 때만 실행 후 1번에 가져옴 (DbmsOutput)
+ */
+public final class CouponPlsqlBlocks {
+
+    private CouponPlsqlBlocks() {
+    }
+
+    /**
+     * callstmt_1: Cursor + 1Row 단위 계산/INSERT + Commit Size(기본 10,000건) 단위 Commit
+     */
+    static final String CURSOR_BLOCK = """
+            DECLARE
+                v_processed_count NUMBER := 0;
+                v_insert_count NUMBER := 0;
+                v_commit_count NUMBER := 0;
+                v_error_count NUMBER := 0;
+                v_coupon_code VARCHAR2(10);
+                v_full_address VARCHAR2(200);
+
+                CURSOR customer_cursor IS
+                    SELECT ID, EMAIL, CREDIT_LIMIT, GENDER, ADDRESS1, ADDRESS2, ENROLL_DT
+                    FROM CUSTOMER
+                    WHERE ENROLL_DT >= DATE '{ENROLL_CUTOFF}'
+                      AND CREDIT_LIMIT IS NOT NULL
+                      AND EMAIL IS NOT NULL
+                      AND ID IS NOT NULL
+                    ORDER BY ID;
+
+            {PROGRESS_DECLARATIONS}
+
+            {COUPON_FUNCTION}
+
+            BEGIN
+                DBMS_OUTPUT.ENABLE(NULL);
+                FOR customer_rec IN customer_cursor LOOP
+                    BEGIN
+                        v_processed_count := v_processed_count + 1;
+                        IF MOD(v_processed_count, {PROGRESS_ROWS}) = 0 THEN
+                            report_progress(v_processed_count, v_insert_count);
+                        END IF;
+
+                        v_full_address := NVL(customer_rec.ADDRESS1, '') || ' ' || NVL(customer_rec.ADDRESS2, '');
+                        v_coupon_code := calculate_coupon_code(
+                            customer_rec.CREDIT_LIMIT,
+                            customer_rec.GENDER,
+                            v_full_address
+                        );
+
+                        IF v_coupon_code IS NOT NULL THEN
+                            INSERT INTO {TARGET_TABLE}
+                            (YYYYMM, CUSTOMER_ID, EMAIL, COUPON_CD, CREDIT_POINT, SEND_DT)
+                            VALUES ('{YYYYMM}', customer_rec.ID, customer_rec.EMAIL,
+                                    v_coupon_code, customer_rec.CREDIT_LIMIT, NULL);
+
+                            v_insert_count := v_insert_count + 1;
+
+                            IF MOD(v_insert_count, {COMMIT_SIZE}) = 0 THEN
+                                COMMIT;
+                                v_commit_count := v_commit_count + 1;
+                            END IF;
+                        END IF;
+
+                    EXCEPTION
+                        WHEN OTHERS THEN
+                            v_error_count := v_error_count + 1;
+                            DBMS_OUTPUT.PUT_LINE('행 처리 중 오류 (고객ID: ' || customer_rec.ID || '): ' || SQLERRM);
+                            IF v_error_count > 1000 THEN
+                                EXIT;
+                            END IF;
+                    END;
+                END LOOP;
+
+                IF MOD(v_insert_count, {COMMIT_SIZE}) != 0 THEN
+                    COMMIT;
+                    v_commit_count := v_commit_count + 1;
+                END IF;
+                report_progress(v_processed_count, v_insert_count);
+
+                ? := v_processed_count;
+                ? := v_insert_count;
+                ? := v_error_count;
+                ? := v_commit_count;
+
+            EXCEPTION
+                WHEN OTHERS THEN
+                    ROLLBACK;
+                    RAISE;
+            END;
+            """;
+
+    /**
+     * callstmt_2: Bulk Collect (Fetch Size, 기본 1,000건) + 배열 단위 계산 + FORALL INSERT + Commit Size 단위 Commit
+     */
+    static final String BULK_BLOCK = """
+            DECLARE
+                v_processed_count NUMBER := 0;
+                v_insert_count NUMBER := 0;
+                v_uncommitted_count NUMBER := 0;
+                v_commit_count NUMBER := 0;
+                v_error_count NUMBER := 0;
+                v_batch_size CONSTANT NUMBER := {FETCH_SIZE};
+
+                TYPE customer_rec_type IS RECORD (
+                    id VARCHAR2(50),
+                    email VARCHAR2(100),
+                    credit_limit NUMBER,
+                    gender VARCHAR2(1),
+                    address1 VARCHAR2(100),
+                    address2 VARCHAR2(100),
+                    enroll_dt DATE
+                );
+                TYPE customer_array_type IS TABLE OF customer_rec_type;
+                v_customers customer_array_type;
+
+                TYPE varchar2_array IS TABLE OF VARCHAR2(10);
+                TYPE varchar2_100_array IS TABLE OF VARCHAR2(100);
+                TYPE number_array IS TABLE OF NUMBER;
+
+                v_coupon_codes varchar2_array := varchar2_array();
+                v_customer_ids varchar2_100_array := varchar2_100_array();
+                v_emails varchar2_100_array := varchar2_100_array();
+                v_credit_points number_array := number_array();
+
+                CURSOR customer_cursor IS
+                    SELECT ID, EMAIL, CREDIT_LIMIT, GENDER, ADDRESS1, ADDRESS2, ENROLL_DT
+                    FROM CUSTOMER
+                    WHERE ENROLL_DT >= DATE '{ENROLL_CUTOFF}'
+                      AND CREDIT_LIMIT IS NOT NULL
+                      AND EMAIL IS NOT NULL
+                      AND ID IS NOT NULL
+                    ORDER BY ID;
+
+            {PROGRESS_DECLARATIONS}
+
+            {COUPON_FUNCTION}
+
+            BEGIN
+                DBMS_OUTPUT.ENABLE(NULL);
+                OPEN customer_cursor;
+
+                LOOP
+                    FETCH customer_cursor BULK COLLECT INTO v_customers LIMIT v_batch_size;
+                    EXIT WHEN v_customers.COUNT = 0;
+
+                    v_processed_count := v_processed_count + v_customers.COUNT;
+
+                    v_coupon_codes.DELETE;
+                    v_customer_ids.DELETE;
+                    v_emails.DELETE;
+                    v_credit_points.DELETE;
+
+                    FOR i IN 1..v_customers.COUNT LOOP
+                        DECLARE
+                            v_coupon_code VARCHAR2(10);
+                        BEGIN
+                            v_coupon_code := calculate_coupon_code(
+                                v_customers(i).credit_limit,
+                                v_customers(i).gender,
+                                NVL(v_customers(i).address1, '') || ' ' || NVL(v_customers(i).address2, '')
+                            );
+
+                            IF v_coupon_code IS NOT NULL THEN
+                                v_coupon_codes.EXTEND;
+                                v_customer_ids.EXTEND;
+                                v_emails.EXTEND;
+                                v_credit_points.EXTEND;
+
+                                v_coupon_codes(v_coupon_codes.COUNT) := v_coupon_code;
+                                v_customer_ids(v_customer_ids.COUNT) := v_customers(i).id;
+                                v_emails(v_emails.COUNT) := v_customers(i).email;
+                                v_credit_points(v_credit_points.COUNT) := v_customers(i).credit_limit;
+                            END IF;
+                        EXCEPTION
+                            WHEN OTHERS THEN
+                                v_error_count := v_error_count + 1;
+                        END;
+                    END LOOP;
+
+                    IF v_coupon_codes.COUNT > 0 THEN
+                        BEGIN
+                            FORALL i IN 1..v_coupon_codes.COUNT
+                                INSERT INTO {TARGET_TABLE}
+                                (YYYYMM, CUSTOMER_ID, EMAIL, COUPON_CD, CREDIT_POINT, SEND_DT)
+                                VALUES ('{YYYYMM}', v_customer_ids(i), v_emails(i),
+                                        v_coupon_codes(i), v_credit_points(i), NULL);
+
+                            v_insert_count := v_insert_count + v_coupon_codes.COUNT;
+                            v_uncommitted_count := v_uncommitted_count + v_coupon_codes.COUNT;
+
+                            -- Commit Size 이상 누적시 Commit
+                            IF v_uncommitted_count >= {COMMIT_SIZE} THEN
+                                COMMIT;
+                                v_commit_count := v_commit_count + 1;
+                                v_uncommitted_count := 0;
+                            END IF;
+                        EXCEPTION
+                            WHEN OTHERS THEN
+                                v_error_count := v_error_count + v_coupon_codes.COUNT;
+                                DBMS_OUTPUT.PUT_LINE('FORALL Insert 오류: ' || SQLERRM);
+                        END;
+                    END IF;
+
+                    -- 이번 배치로 게시 간격 경계를 넘었으면 게시
+                    IF TRUNC(v_processed_count / {PROGRESS_ROWS})
+                            > TRUNC((v_processed_count - v_customers.COUNT) / {PROGRESS_ROWS}) THEN
+                        report_progress(v_processed_count, v_insert_count);
+                    END IF;
+
+                    IF v_error_count > 5000 THEN
+                        EXIT;
+                    END IF;
+                END LOOP;
+
+                CLOSE customer_cursor;
+
+                IF v_uncommitted_count > 0 THEN
+                    COMMIT;
+                    v_commit_count := v_commit_count + 1;
+                END IF;
+                report_progress(v_processed_count, v_insert_count);
+
+                ? := v_processed_count;
+                ? := v_insert_count;
+                ? := v_error_count;
+                ? := v_commit_count;
+
+            EXCEPTION
+                WHEN OTHERS THEN
+                    IF customer_cursor%ISOPEN THEN
+                        CLOSE customer_cursor;
+                    END IF;
+                    ROLLBACK;
+                    RAISE;
+            END;
+            """;
+
+    /**
+     * callstmt_3: 단일 INSERT ... SELECT 집합 처리 + 1번 Commit
+     */
+    static final String SET_BASED_BLOCK = """
+            DECLARE
+                v_processed_count NUMBER := 0;
+                v_insert_count NUMBER := 0;
+            BEGIN
+                INSERT INTO {TARGET_TABLE} (YYYYMM, CUSTOMER_ID, EMAIL, COUPON_CD, CREDIT_POINT, SEND_DT)
+                WITH coupon_calc AS (
+                    SELECT
+                        ID,
+                        EMAIL,
+                        CREDIT_LIMIT,
+                        {COUPON_CASE}
+                        AS COUPON_CD
+                    FROM CUSTOMER
+                    WHERE ENROLL_DT >= DATE '{ENROLL_CUTOFF}'
+                      AND CREDIT_LIMIT IS NOT NULL
+                      AND EMAIL IS NOT NULL
+                      AND ID IS NOT NULL
+                )
+                SELECT '{YYYYMM}', ID, EMAIL, COUPON_CD, CREDIT_LIMIT, NULL
+                FROM coupon_calc
+                WHERE COUPON_CD IS NOT NULL;
+
+                v_insert_count := SQL%ROWCOUNT;
+
+                SELECT COUNT(*)
+                INTO v_processed_count
+                FROM CUSTOMER
+                WHERE ENROLL_DT >= DATE '{ENROLL_CUTOFF}'
+                  AND CREDIT_LIMIT IS NOT NULL
+                  AND EMAIL IS NOT NULL
+                  AND ID IS NOT NULL;
+
+                COMMIT;
+
+                ? := v_processed_count;
+                ? := v_insert_count;
+                ? := 0;
+                ? := 1;
+
+            EXCEPTION
+                WHEN OTHERS THEN
+                    ROLLBACK;
+                    RAISE;
+            END;
+            """;
+
+    /**
+     * callstmt_3 Direct-Path: INSERT + APPEND 힌트 (+ 선택적 Parallel DML) + 처리 / 발급 건수를 같은 1번의 조회로 산출
+     * 특징: Direct-Path INSERT는 Undo를 거의 만들지 않고 (NOLOGGING 테이블이면 Redo도 최소화)
+     *       처리 건수 COUNT(*)를 위한 CUSTOMER 2번째 전체 조회를 제거 ({DIRECT_PATH_INSERT} 참고)
+     * 주의: Direct-Path INSERT 후에는 Commit 전까지 같은 세션에서 BONUS_COUPON 조회 불가 (ORA-12838)
+     */
+    static final String DIRECT_PATH_BLOCK = """
+            DECLARE
+                v_processed_count NUMBER := 0;
+                v_insert_count NUMBER := 0;
+                v_unissued_count NUMBER := 0;
+            BEGIN
+                {PREPARE_UNISSUED}
+
+                {ENABLE_PARALLEL_DML}
+
+                {DIRECT_PATH_INSERT}
+
+                COMMIT;
+
+                {COUNT_UNISSUED}
+
+                {DISABLE_PARALLEL_DML}
+
+                ? := v_processed_count;
+                ? := v_insert_count;
+                ? := 0;
+                ? := 1;
+
+            EXCEPTION
+                WHEN OTHERS THEN
+                    ROLLBACK;
+                    RAISE;
+            END;
+            """;
+
+    // 기존 callstmt_1, 2의 Bulk Collect LIMIT / Commit 단위 (실행 설정이 없을 때 사용)
+    static final int DEFAULT_FETCH_SIZE = 1000;
+    static final int DEFAULT_COMMIT_SIZE = 10000;
+
+    static final String PROGRESS_DECLARATIONS = "{PROGRESS_DECLARATIONS}";
+
+    /**
+     * 실행 중 진행률을 게시하는 블록인지 (단일 SQL 집합 처리 블록은 중간 진행률 없음)
+     */
+    static boolean reportsProgress(String block) {
+        return block.contains(PROGRESS_DECLARATIONS);
+    }
+
+    /**
+     * 자리표시자 치환 (진행률 게시 없음)
+     */
+    static String bind(String block, BatchContext ctx) {
+        return bind(block, ctx, ServerProgress.none());
+    }
+
+    /**
+     * 자리표시자 치환 (report_progress는 progress의 게시 방식으로 생성)
+     */
+    static String bind(String block, BatchContext ctx, ServerProgress progress) {
+        CouponRuleTable rules = ctx.ruleTable();
+        return block
+                .replace(PROGRESS_DECLARATIONS, progress.plsqlDeclarations())
+                .replace("{PROGRESS_ROWS}", Integer.toString(progress.publishRows()))
+                .replace("{PREPARE_UNISSUED}", rules.coversAllCredits() ? "" : PREPARE_UNISSUED)
+                .replace("{DIRECT_PATH_INSERT}", rules.coversAllCredits() ? DIRECT_PATH_INSERT : DIRECT_PATH_INSERT_ALL)
+                .replace("{COUNT_UNISSUED}", rules.coversAllCredits() ? "" : COUNT_UNISSUED)
+                .replace("{COUPON_FUNCTION}", rules.toPlsqlFunction())
+                .replace("{COUPON_CASE}", rules.toSqlCase("CREDIT_LIMIT", "GENDER", "ADDRESS1", "ADDRESS2"))
+                .replace("{TARGET_TABLE}", ctx.targetTable())
+                .replace("{YYYYMM}", ctx.yyyymm())
+                .replace("{ENROLL_CUTOFF}", ctx.enrollCutoff().toString())
+                .replace("{FETCH_SIZE}", Integer.toString(ctx.fetchSize(DEFAULT_FETCH_SIZE)))
+                .replace("{COMMIT_SIZE}", Integer.toString(ctx.commitSize(DEFAULT_COMMIT_SIZE)))
+                .replace("{ENABLE_PARALLEL_DML}", parallelDml(ctx, "ENABLE"))
+                .replace("{DISABLE_PARALLEL_DML}", parallelDml(ctx, "DISABLE"))
+                .replace("{INSERT_HINT}", ctx.parallelDegree() > 0
+                        ? "/*+ APPEND PARALLEL(" + ctx.targetTable() + ", " + ctx.parallelDegree() + ") */"
+                        : "/*+ APPEND */")
+                .replace("{SELECT_HINT}", ctx.parallelDegree() > 0
+                        ? "/*+ PARALLEL(CUSTOMER, " + ctx.parallelDegree() + ") */"
+                        : "");
+    }
+
+    /**
+     * 규칙표 마지막 구간에 상한이 없는 경우: 조건을 통과한 모든 행에 쿠폰이 발급되므로 처리 건수 = INSERT 건수
+     */
+    private static final String DIRECT_PATH_INSERT = """
+            INSERT {INSERT_HINT} INTO {TARGET_TABLE} (YYYYMM, CUSTOMER_ID, EMAIL, COUPON_CD, CREDIT_POINT, SEND_DT)
+                WITH coupon_calc AS (
+                    SELECT {SELECT_HINT}
+                        ID,
+                        EMAIL,
+                        CREDIT_LIMIT,
+                        {COUPON_CASE}
+                        AS COUPON_CD
+                    FROM CUSTOMER
+                    WHERE ENROLL_DT >= DATE '{ENROLL_CUTOFF}'
+                      AND CREDIT_LIMIT IS NOT NULL
+                      AND EMAIL IS NOT NULL
+                      AND ID IS NOT NULL
+                )
+                SELECT '{YYYYMM}', ID, EMAIL, COUPON_CD, CREDIT_LIMIT, NULL
+                FROM coupon_calc
+                WHERE COUPON_CD IS NOT NULL;
+
+                v_insert_count := SQL%ROWCOUNT;
+                v_processed_count := v_insert_count;""";
+
+    /**
+     * 미발급 행이 있을 수 있는 경우: Multi-table INSERT 1번으로 발급 행은 대상 테이블, 미발급 행은 BONUS_COUPON_UNISSUED에 기록
+     * SQL%ROWCOUNT = 두 테이블 INSERT 합계 = 처리 건수, 발급 건수 = 처리 건수 - 미발급 건수 (CUSTOMER 1번 조회)
+     * 미발급 테이블은 블록 실행 중 생성될 수 있으므로 동적 SQL로 참조 (정적 SQL이면 블록 컴파일 시점에 없는 테이블 오류)
+     */
+    private static final String DIRECT_PATH_INSERT_ALL = """
+            EXECUTE IMMEDIATE q'~
+                INSERT {INSERT_HINT} ALL
+                    WHEN COUPON_CD IS NOT NULL THEN
+                        INTO {TARGET_TABLE} (YYYYMM, CUSTOMER_ID, EMAIL, COUPON_CD, CREDIT_POINT, SEND_DT)
+                        VALUES ('{YYYYMM}', ID, EMAIL, COUPON_CD, CREDIT_LIMIT, NULL)
+                    ELSE
+                        INTO BONUS_COUPON_UNISSUED (YYYYMM, CUSTOMER_ID)
+                        VALUES ('{YYYYMM}', ID)
+                SELECT {SELECT_HINT}
+                    ID,
+                    EMAIL,
+                    CREDIT_LIMIT,
+                    {COUPON_CASE}
+                    AS COUPON_CD
+                FROM CUSTOMER
+                WHERE ENROLL_DT >= DATE '{ENROLL_CUTOFF}'
+                  AND CREDIT_LIMIT IS NOT NULL
+                  AND EMAIL IS NOT NULL
+                  AND ID IS NOT NULL~';
+
+                v_processed_count := SQL%ROWCOUNT;""";
+
+    /**
+     * 미발급 테이블 준비 (없으면 BONUS_COUPON 컬럼 형식으로 생성, 이전 실행 기록 삭제)
+     */
+    private static final String PREPARE_UNISSUED = """
+            BEGIN
+                    EXECUTE IMMEDIATE 'CREATE TABLE BONUS_COUPON_UNISSUED AS SELECT YYYYMM, CUSTOMER_ID FROM BONUS_COUPON WHERE 1 = 0';
+                EXCEPTION
+                    WHEN OTHERS THEN
+                        IF SQLCODE != -955 THEN
+                            RAISE;
+                        END IF;
+                END;
+                EXECUTE IMMEDIATE 'TRUNCATE TABLE BONUS_COUPON_UNISSUED';""";
+
+    /**
+     * Commit 후 미발급 건수 조회 (작은 테이블 1개, Direct-Path INSERT 후 Commit 전에는 조회 불가)
+     */
+    private static final String COUNT_UNISSUED = """
+            EXECUTE IMMEDIATE 'SELECT COUNT(*) FROM BONUS_COUPON_UNISSUED' INTO v_unissued_count;
+                v_insert_count := v_processed_count - v_unissued_count;""";
+
+    /**
+     * Parallel DML 세션 설정 (트랜잭션 시작 전에만 변경 가능, 병렬도 0이면 생략)
+     */
+    private static String parallelDml(BatchContext ctx, String action) {
+        return ctx.parallelDegree() > 0
+                ? "EXECUTE IMMEDIATE 'ALTER SESSION " + action + " PARALLEL DML';"
+                : "";
+    }
+}
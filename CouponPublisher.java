@@ -0,0 +1,36 @@
+package com.kopo.jimin;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 발급 결과 발행 방식 (전략 실행 전 대상 테이블 준비 + 실행 후 공개)
+ * truncate: 기존 방식 (BONUS_COUPON을 비우고 직접 INSERT, 실행 중 일부만 채워진 테이블이 보임)
+ * exchange: 스테이징 테이블에 적재 후 월 파티션과 교환 (PartitionExchangePublisher)
+ */
+public interface CouponPublisher {
+
+    /**
+     * 전략이 INSERT할 테이블
+     */
+    String targetTable(BatchContext ctx);
+
+    /**
+     * 전략 실행 전 대상 테이블 준비
+     */
+    void prepare(Connection conn, BatchContext ctx) throws SQLException;
+
+    /**
+     * 전략 실행 후 결과 공개 (실패한 실행에는 호출되지 않음)
+     */
+    default void publish(Connection conn, BatchContext ctx) throws SQLException {
+    }
+
+    static CouponPublisher of(String mode) {
+        return switch (mode) {
+            case "truncate" -> new TruncatePublisher();
+            case "exchange" -> new PartitionExchangePublisher();
+            default -> throw new IllegalArgumentException("알 수 없는 발행 방식: " + mode + " (truncate|exchange)");
+        };
+    }
+}
@@ -0,0 +1,298 @@
+package com.kopo.jimin;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.*;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 실행 후 결과 검증 (쿠폰코드별 발급 현황 + 처리 중 집계와 비교 + 발급률)
+ * 처리방식: BONUS_COUPON 집계 조회 1번(쿠폰코드별 건수 / CREDIT_POINT 합계)을 처리 중 집계(CouponTally)와 비교
+ *           발급률의 대상 건수도 처리 중 집계를 사용 → CUSTOMER를 다시 조회하지 않음
+ * 비교 기준: Java 처리 전략 = 쿠폰코드별 건수 / 합계, PL/SQL 전략 · 체크포인트 재시작 = 전체 발급 건수
+ *           증분 전략은 BONUS_COUPON이 누적 결과이므로 현황만 출력
+ * 정밀 검증: --verify.deep=true이면 CUSTOMER 1번 조회로 조건별 건수를 구해 대상 건수와 대조 (기존 전체 조회 검증)
+ * 체크섬 대조: --verify.checksum=true이면 쿠폰코드별 128비트 체크섬(CouponChecksum)을 서버 집계 1번과 비교 (Oracle)
+ *             기대값은 처리 중 집계, 행을 보지 않는 PL/SQL 전략 · 재시작 · 증분 전략은 CUSTOMER에 규칙표 CASE를 적용한 서버 계산값
+ */
+public final class CouponResultVerifier {
+
+    private static final String SUMMARY_SQL = """
+            SELECT COUPON_CD, COUNT(*) AS CNT, SUM(CREDIT_POINT) AS SUM_POINT
+            FROM BONUS_COUPON
+            WHERE YYYYMM = ?
+            GROUP BY COUPON_CD
+            ORDER BY COUPON_CD
+            """;
+
+    // 기존 조건별 분석(UNION ALL 3번 조회)과 발급률 대상 건수 조회를 CUSTOMER 1번 조회로 통합
+    private static final String DEEP_SQL = """
+            SELECT COUNT(*) AS TOTAL_CNT,
+                   COUNT(CASE WHEN ENROLL_DT >= ? THEN 1 END) AS ENROLLED_CNT,
+                   COUNT(CASE WHEN ENROLL_DT >= ?
+                               AND CREDIT_LIMIT IS NOT NULL
+                               AND EMAIL IS NOT NULL
+                               AND ID IS NOT NULL THEN 1 END) AS TARGET_CNT
+            FROM CUSTOMER
+            """;
+
+    private static final String STORED_CHECKSUM_SQL = """
+            SELECT {HINT} COUPON_CD, COUNT(*) AS CNT,
+                   {CHUNK_SUMS}
+            FROM (
+                SELECT COUPON_CD, {TUPLE_HASH} AS H
+                FROM BONUS_COUPON
+                WHERE YYYYMM = ?
+            )
+            GROUP BY COUPON_CD
+            """;
+
+    // 서버 처리 전략과 같은 조건 + 규칙표 CASE로 발급되어야 할 쿠폰을 계산하여 체크섬 산출
+    private static final String EXPECTED_CHECKSUM_SQL = """
+            SELECT {HINT} COUPON_CD, COUNT(*) AS CNT,
+                   {CHUNK_SUMS}
+            FROM (
+                SELECT COUPON_CD, {TUPLE_HASH} AS H
+                FROM (
+                    SELECT ID, CREDIT_LIMIT,
+                           {COUPON_CASE}
+                           AS COUPON_CD
+                    FROM CUSTOMER
+                    WHERE ENROLL_DT >= ?
+                      AND CREDIT_LIMIT IS NOT NULL
+                      AND EMAIL IS NOT NULL
+                      AND ID IS NOT NULL
+                )
+                WHERE COUPON_CD IS NOT NULL
+            )
+            GROUP BY COUPON_CD
+            """;
+
+    /**
+     * BONUS_COUPON에 저장된 쿠폰코드 1개의 건수 / 합계
+     */
+    private record StoredGroup(long count, BigDecimal sum) {
+    }
+
+    /**
+     * 쿠폰코드 1개의 건수 / 체크섬
+     */
+    private record ChecksumGroup(long count, CouponChecksum checksum) {
+    }
+
+    private CouponResultVerifier() {
+    }
+
+    static void verify(Connection conn, BatchContext ctx, CouponBatchStrategy strategy, BatchStats stats)
+            throws SQLException {
+        // 1. 저장 결과 집계 (BONUS_COUPON 1번 조회)
+        Map<String, StoredGroup> stored = new TreeMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(SUMMARY_SQL)) {
+            pstmt.setString(1, ctx.yyyymm());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    BigDecimal sum = rs.getBigDecimal("SUM_POINT");
+                    stored.put(rs.getString("COUPON_CD"),
+                            new StoredGroup(rs.getLong("CNT"), sum == null ? BigDecimal.ZERO : sum));
+                }
+            }
+        }
+
+        CouponTally tally = strategy.incremental() ? null : stats.tally();
+        boolean compareByCode = tally != null && !tally.partial();
+
+        System.out.println("\n=== 쿠폰 발급 결과 검증 ===");
+        System.out.println(compareByCode ? "쿠폰코드\t발급건수\t평균포인트\t처리 중 집계" : "쿠폰코드\t발급건수\t평균포인트");
+        System.out.println("--------------------------------");
+        long storedTotal = 0;
+        for (Map.Entry<String, StoredGroup> entry : stored.entrySet()) {
+            StoredGroup group = entry.getValue();
+            storedTotal += group.count();
+            System.out.printf("%s\t\t%,d\t\t%.2f%s%n", entry.getKey(), group.count(), average(group.sum(), group.count()),
+                    compareByCode ? String.format("\t\t%,d", tally.count(entry.getKey())) : "");
+        }
+
+        // 2. 처리 중 집계와 비교
+        if (strategy.incremental()) {
+            System.out.println("\n증분 전략: BONUS_COUPON은 누적 결과이므로 처리 중 집계와 비교하지 않습니다.");
+        } else if (compareByCode) {
+            compareByCode(stored, tally);
+        } else {
+            if (storedTotal == stats.insertCount()) {
+                System.out.printf("%n✅ 저장 건수 = 발급 건수 (%,d건)%n", storedTotal);
+            } else {
+                System.out.printf("%n⚠️  저장 건수 불일치: BONUS_COUPON %,d건 / 발급 %,d건%n", storedTotal, stats.insertCount());
+            }
+        }
+
+        // 3. 발급률 (대상 건수 = 처리 중 집계, PL/SQL 전략은 서버 Cursor 건수)
+        long targetCount = compareByCode ? tally.targetCount() : stats.eligibleCount();
+        if (!strategy.incremental() && targetCount > 0) {
+            printRatio(storedTotal, targetCount);
+        }
+
+        // 4. 정밀 검증 (CUSTOMER 전체 조회)
+        if (ctx.config().getBoolean(BatchConfig.VERIFY_DEEP)) {
+            deepVerify(conn, ctx, strategy.incremental() ? -1 : targetCount);
+        }
+
+        // 5. 체크섬 대조
+        if (ctx.config().getBoolean(BatchConfig.VERIFY_CHECKSUM)) {
+            reconcileChecksums(conn, ctx, compareByCode && tally.hasChecksum() ? tally : null);
+        }
+    }
+
+    /**
+     * 쿠폰코드별 체크섬 대조 (clientTally가 null이면 CUSTOMER 기준 서버 계산값을 기대값으로 사용)
+     */
+    private static void reconcileChecksums(Connection conn, BatchContext ctx, CouponTally clientTally)
+            throws SQLException {
+        if (!CouponArrayProcedure.isOracle(conn)) {
+            System.out.println("\n체크섬 대조는 Oracle(STANDARD_HASH)에서만 실행합니다 → 생략");
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+
+        // 1. 저장값 (BONUS_COUPON 1번 조회)
+        Map<String, ChecksumGroup> stored = queryChecksums(conn, ctx, STORED_CHECKSUM_SQL
+                .replace("{TUPLE_HASH}", CouponChecksum.sqlTupleHash("CUSTOMER_ID", "COUPON_CD", "CREDIT_POINT")),
+                ps -> ps.setString(1, ctx.yyyymm()));
+
+        // 2. 기대값 (처리 중 집계 또는 CUSTOMER 기준 서버 계산)
+        Map<String, ChecksumGroup> expected;
+        String expectedSource;
+        if (clientTally != null) {
+            expected = new TreeMap<>();
+            for (String code : clientTally.couponCodes()) {
+                expected.put(code, new ChecksumGroup(clientTally.count(code), clientTally.checksum(code)));
+            }
+            expectedSource = "처리 중 집계";
+        } else {
+            expected = queryChecksums(conn, ctx, EXPECTED_CHECKSUM_SQL
+                    .replace("{TUPLE_HASH}", CouponChecksum.sqlTupleHash("ID", "COUPON_CD", "CREDIT_LIMIT"))
+                    .replace("{COUPON_CASE}", ctx.ruleTable().toSqlCase("CREDIT_LIMIT", "GENDER", "ADDRESS1", "ADDRESS2")),
+                    ps -> ps.setDate(1, ctx.enrollCutoffDate()));
+            expectedSource = "CUSTOMER 규칙 계산";
+        }
+
+        // 3. 비교
+        System.out.printf("%n=== 체크섬 대조 (BONUS_COUPON ↔ %s) ===%n", expectedSource);
+        TreeSet<String> codes = new TreeSet<>(stored.keySet());
+        codes.addAll(expected.keySet());
+        ChecksumGroup empty = new ChecksumGroup(0, new CouponChecksum());
+        int mismatches = 0;
+        for (String code : codes) {
+            ChecksumGroup storedGroup = stored.getOrDefault(code, empty);
+            ChecksumGroup expectedGroup = expected.getOrDefault(code, empty);
+            boolean matches = storedGroup.equals(expectedGroup);
+            if (!matches) {
+                mismatches++;
+            }
+            System.out.printf("%s %s\t%,d건 %s%s%n", matches ? "✅" : "⚠️ ", code, storedGroup.count(),
+                    storedGroup.checksum(), matches ? ""
+                            : String.format(" ↔ %,d건 %s", expectedGroup.count(), expectedGroup.checksum()));
+        }
+        System.out.printf(mismatches == 0
+                        ? "✅ 체크섬 일치 (%d개 코드, %,d ms)%n"
+                        : "⚠️  체크섬 불일치 %d개 코드 (%,d ms)%n",
+                mismatches == 0 ? codes.size() : mismatches, System.currentTimeMillis() - startTime);
+    }
+
+    @FunctionalInterface
+    private interface Binder {
+        void bind(PreparedStatement pstmt) throws SQLException;
+    }
+
+    private static Map<String, ChecksumGroup> queryChecksums(Connection conn, BatchContext ctx, String sqlTemplate,
+                                                             Binder binder) throws SQLException {
+        String sql = sqlTemplate
+                .replace("{HINT}", ctx.parallelDegree() > 0 ? "/*+ PARALLEL(" + ctx.parallelDegree() + ") */" : "")
+                .replace("{CHUNK_SUMS}", CouponChecksum.sqlChunkSums("H"));
+        Map<String, ChecksumGroup> groups = new TreeMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            binder.bind(pstmt);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    BigDecimal[] chunkSums = new BigDecimal[4];
+                    for (int i = 0; i < chunkSums.length; i++) {
+                        chunkSums[i] = rs.getBigDecimal("H" + (i + 1));
+                    }
+                    groups.put(rs.getString("COUPON_CD"),
+                            new ChecksumGroup(rs.getLong("CNT"), CouponChecksum.fromChunkSums(chunkSums)));
+                }
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * 쿠폰코드별 건수 / CREDIT_POINT 합계 비교 (어느 한쪽에만 있는 코드도 불일치)
+     */
+    private static void compareByCode(Map<String, StoredGroup> stored, CouponTally tally) {
+        TreeSet<String> codes = new TreeSet<>(stored.keySet());
+        tally.couponCodes().forEach(codes::add);
+
+        int mismatches = 0;
+        for (String code : codes) {
+            StoredGroup group = stored.getOrDefault(code, new StoredGroup(0, BigDecimal.ZERO));
+            long issuedCount = tally.count(code);
+            BigDecimal issuedSum = tally.sum(code);
+            if (group.count() != issuedCount || group.sum().compareTo(issuedSum) != 0) {
+                mismatches++;
+                System.out.printf("⚠️  [%s] 불일치: 저장 %,d건 / 합계 %s ↔ 발급 %,d건 / 합계 %s%n",
+                        code, group.count(), group.sum().toPlainString(), issuedCount, issuedSum.toPlainString());
+            }
+        }
+        if (mismatches == 0) {
+            System.out.printf("%n✅ 쿠폰코드별 건수 / 포인트 합계가 처리 중 집계와 일치합니다 (%d개 코드, %,d건)%n",
+                    codes.size(), tally.totalCount());
+        }
+    }
+
+    private static void printRatio(long issuedCount, long targetCount) {
+        double ratio = (double) issuedCount / targetCount * 100;
+        System.out.printf("\n발급률: %.1f%% (%,d건 / %,d건)%n", ratio, issuedCount, targetCount);
+
+        if (Math.abs(ratio - 100.0) < 1.0) {
+            System.out.println("✅ 발급률이 정상 범위입니다.");
+        } else {
+            System.out.printf("⚠️  발급률 이상: %.1f%% (100%%와 %.1f%% 차이)%n", ratio, Math.abs(ratio - 100.0));
+        }
+    }
+
+    /**
+     * CUSTOMER 조건별 건수 출력 + 발급 대상 건수 대조 (expectedTarget이 음수면 대조 생략)
+     */
+    private static void deepVerify(Connection conn, BatchContext ctx, long expectedTarget) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(DEEP_SQL)) {
+            pstmt.setDate(1, ctx.enrollCutoffDate());
+            pstmt.setDate(2, ctx.enrollCutoffDate());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return;
+                }
+                long targetCount = rs.getLong("TARGET_CNT");
+                System.out.println("\n=== 조건별 상세 분석 (정밀 검증) ===");
+                System.out.printf("%-30s: %,d건%n", "전체 고객", rs.getLong("TOTAL_CNT"));
+                System.out.printf("%-30s: %,d건%n", ctx.enrollCutoff() + " 이후 가입", rs.getLong("ENROLLED_CNT"));
+                System.out.printf("%-30s: %,d건%n", ctx.enrollCutoff() + " 이후 + 필수데이터 존재", targetCount);
+
+                if (expectedTarget < 0) {
+                    return;
+                }
+                if (targetCount == expectedTarget) {
+                    System.out.printf("✅ 발급 대상 건수가 처리 중 집계와 일치합니다 (%,d건)%n", targetCount);
+                } else {
+                    System.out.printf("⚠️  발급 대상 건수 불일치: CUSTOMER %,d건 / 처리 중 집계 %,d건%n",
+                            targetCount, expectedTarget);
+                }
+            }
+        }
+    }
+
+    private static BigDecimal average(BigDecimal sum, long count) {
+        return count == 0 ? BigDecimal.ZERO : sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,210 @@
+package com.kopo.jimin;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 쿠폰 계산 / 행 매핑 마이크로 벤치마크
+ * 측정: 연산 1회당 ns (ns/op), 1회당 할당 바이트 (B/op, HotSpot Thread 할당 카운터 기준)
+ * 데이터: SyntheticCustomerGenerator (Seed 고정, 실제 CUSTOMER 분포)
+ * 처리방식: 벤치마크마다 새 JVM을 띄워 그 1개만 측정 (JMH @Fork와 같은 목적)
+ *           → 같은 JVM에서 여러 람다 / 계산기 타입이 측정 루프를 거치면 호출 지점이 다형(megamorphic)이 되어
+ *             나중에 측정하는 벤치마크일수록 인라이닝되지 않아 불리해지는 것을 방지
+ * 사용법: java com.kopo.jimin.CouponRuleBenchmark [행 수] [측정 반복 수] [벤치마크 이름]
+ *         (벤치마크 이름을 지정하면 새 JVM 없이 현재 JVM에서 그 1개만 측정하여 결과 1줄 출력)
+ */
+public class CouponRuleBenchmark {
+
+    private static final int DEFAULT_ROWS = 100_000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int DEFAULT_MEASURE_ITERATIONS = 10;
+    private static final long SEED = 20250601L;
+
+    // JIT가 측정 대상 연산을 제거하지 못하도록 결과를 누적
+    private static volatile int sink;
+
+    public static void main(String[] args) {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MEASURE_ITERATIONS;
+        String only = args.length > 2 ? args[2] : null;
+
+        // 1. 가상 고객 데이터 준비 (측정 전에 모두 생성)
+        SyntheticCustomerGenerator generator = new SyntheticCustomerGenerator(SEED);
+        CustomerRow[] rows = new CustomerRow[rowCount];
+        String[] creditTexts = new String[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = generator.next(i + 1);
+            creditTexts[i] = rows[i].creditLimit().toPlainString();
+        }
+
+        if (only != null) {
+            // 포크된 JVM: 벤치마크 1개만 측정 (다른 계산기는 실행하지 않음)
+            Map<String, IntUnaryOperator> benchmarks = benchmarks(rows, creditTexts);
+            IntUnaryOperator op = benchmarks.get(only);
+            if (op == null) {
+                throw new IllegalArgumentException("알 수 없는 벤치마크: " + only + " " + benchmarks.keySet());
+            }
+            Result result = measure(op, rowCount, iterations);
+            System.out.printf("%-28s %12.1f %12.1f%n", only, result.nsPerOp, result.bytesPerOp);
+            return;
+        }
+
+        System.out.println("=== 쿠폰 계산 벤치마크 ===");
+        System.out.printf("행 수: %,d / Warmup: %d회 / 측정: %d회 / JVM: %s%n",
+                rowCount, WARMUP_ITERATIONS, iterations, System.getProperty("java.version"));
+
+        // 2. 측정 전 결과 동일성 확인
+        long mismatchCount = verifyEvaluators(rows);
+        System.out.printf("계산기 결과 검증: %s%n",
+                mismatchCount == 0 ? "✅ 모두 동일" : String.format("⚠️  불일치 %,d건", mismatchCount));
+        System.out.println();
+
+        // 3. 측정 (벤치마크마다 새 JVM, 결과 줄은 자식 JVM이 출력)
+        System.out.printf("%-28s %12s %12s%n", "Benchmark", "ns/op", "B/op");
+        System.out.println("------------------------------------------------------");
+
+        for (String benchmark : benchmarks(rows, creditTexts).keySet()) {
+            int exitCode = fork(benchmark, rowCount, iterations);
+            if (exitCode != 0) {
+                System.out.printf("%-28s ⚠️  측정 실패 (종료 코드 %d)%n", benchmark, exitCode);
+            }
+        }
+    }
+
+    /**
+     * 같은 classpath / JVM 옵션으로 새 JVM을 띄워 벤치마크 1개 측정 (종료 코드 반환, 실행 실패는 -1)
+     */
+    private static int fork(String benchmark, int rowCount, int iterations) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(CouponRuleBenchmark.class.getName());
+        command.add(String.valueOf(rowCount));
+        command.add(String.valueOf(iterations));
+        command.add(benchmark);
+        try {
+            return new ProcessBuilder(command).inheritIO().start().waitFor();
+        } catch (IOException e) {
+            System.err.println("벤치마크 JVM 실행 실패: " + e.getMessage());
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    /**
+     * 측정 대상 목록 (인자 = 행 번호, 반환값은 sink에 누적)
+     */
+    static Map<String, IntUnaryOperator> benchmarks(CustomerRow[] rows, String[] creditTexts) {
+        Map<String, IntUnaryOperator> benchmarks = new LinkedHashMap<>();
+
+        for (Map.Entry<String, CouponRuleEvaluator> evaluator : evaluators().entrySet()) {
+            CouponRuleEvaluator target = evaluator.getValue();
+            benchmarks.put("evaluate." + evaluator.getKey(), i -> hash(target.evaluate(rows[i])));
+        }
+
+        // 행 매핑 경로: JDBC getBigDecimal 디코딩(문자열 → BigDecimal) + CustomerRow 생성
+        benchmarks.put("mapping.customerRow", i -> {
+            CustomerRow row = rows[i];
+            CustomerRow mapped = new CustomerRow(row.id(), row.email(), new BigDecimal(creditTexts[i]),
+                    row.gender(), row.address1(), row.address2(), row.enrollDt());
+            return mapped.creditLimit().scale();
+        });
+
+        // 기존 주소 연결 방식 (매 건 문자열 생성)
+        benchmarks.put("mapping.fullAddress", i -> rows[i].fullAddress().length());
+
+        return benchmarks;
+    }
+
+    /**
+     * 비교 대상 쿠폰 계산기 (첫 번째가 기준)
+     */
+    static Map<String, CouponRuleEvaluator> evaluators() {
+        Map<String, CouponRuleEvaluator> evaluators = new LinkedHashMap<>();
+        evaluators.put("legacy", new LegacyCouponRuleEvaluator());
+        evaluators.put("scaledCredit", new ScaledCreditCouponRuleEvaluator());
+        evaluators.put("compiledTable", CouponRuleTable.standard().compile());
+        return evaluators;
+    }
+
+    /**
+     * 모든 계산기가 기준 계산기와 같은 결과를 내는지 확인 (불일치 건수 반환)
+     */
+    static long verifyEvaluators(CustomerRow[] rows) {
+        Map<String, CouponRuleEvaluator> evaluators = evaluators();
+        CouponRuleEvaluator reference = evaluators.values().iterator().next();
+        long mismatchCount = 0;
+        for (CustomerRow row : rows) {
+            String expected = reference.evaluate(row);
+            for (Map.Entry<String, CouponRuleEvaluator> evaluator : evaluators.entrySet()) {
+                String actual = evaluator.getValue().evaluate(row);
+                if (expected == null ? actual != null : !expected.equals(actual)) {
+                    if (mismatchCount++ < 10) {
+                        System.err.printf("결과 불일치 [%s] ID: %s, 기준: %s, 결과: %s%n",
+                                evaluator.getKey(), row.id(), expected, actual);
+                    }
+                }
+            }
+        }
+        return mismatchCount;
+    }
+
+    private static int hash(String couponCode) {
+        return couponCode == null ? 0 : couponCode.hashCode();
+    }
+
+    /**
+     * Warmup 후 측정 반복의 평균 ns/op, B/op 계산
+     */
+    private static Result measure(IntUnaryOperator op, int rowCount, int iterations) {
+        for (int w = 0; w < WARMUP_ITERATIONS; w++) {
+            runOnce(op, rowCount);
+        }
+
+        long totalNanos = 0;
+        long totalBytes = 0;
+        for (int it = 0; it < iterations; it++) {
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            runOnce(op, rowCount);
+            totalNanos += System.nanoTime() - start;
+            totalBytes += allocatedBytes() - bytesBefore;
+        }
+
+        long ops = (long) rowCount * iterations;
+        return new Result((double) totalNanos / ops, allocatedBytes() < 0 ? Double.NaN : (double) totalBytes / ops);
+    }
+
+    private static void runOnce(IntUnaryOperator op, int rowCount) {
+        int acc = 0;
+        for (int i = 0; i < rowCount; i++) {
+            acc += op.applyAsInt(i);
+        }
+        sink += acc;
+    }
+
+    /**
+     * 현재 스레드의 누적 할당 바이트 (지원하지 않는 JVM이면 -1)
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean
+                && threadBean.isThreadAllocatedMemorySupported()) {
+            return threadBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private record Result(double nsPerOp, double bytesPerOp) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.kopo.jimin;
+
+/**
+ * 쿠폰 발급 파이프라인 2단계 - 쿠폰 코드 계산
+ */
+public interface CouponRuleEvaluator {
+
+    /**
+     * 쿠폰 코드 계산 (발급 대상이 아니면 null)
+     */
+    String evaluate(CustomerRow row);
+}
@@ -0,0 +1,169 @@
+package com.kopo.jimin;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 쿠폰 발급 규칙표 (신용한도 구간 + 성별/주소 예외 조건)
+ * 특징: 규칙을 1곳에서만 정의하고 Java 계산기, SQL CASE식, PL/SQL 함수를 모두 여기서 생성
+ *       → 캠페인 월마다 Java / callstmt_1,2 PL/SQL / callstmt_3 CASE를 각각 고칠 필요 없음
+ */
+public class CouponRuleTable {
+
+    /**
+     * 신용한도 구간 (이전 구간 상한 이상 ~ upperCents 미만, upperCents가 null이면 상한 없음)
+     */
+    public record CreditBand(String couponCode, Long upperCents) {
+    }
+
+    /**
+     * 구간 내 예외 조건 (성별 일치 + 주소에 키워드 모두 포함 → couponCode로 대체)
+     */
+    public record CouponOverride(String bandCode, String gender, List<String> addressKeywords, String couponCode) {
+    }
+
+    private final List<CreditBand> bands;
+    private final List<CouponOverride> overrides;
+
+    public CouponRuleTable(List<CreditBand> bands, List<CouponOverride> overrides) {
+        if (bands.isEmpty()) {
+            throw new IllegalArgumentException("신용한도 구간이 비어 있습니다.");
+        }
+        for (int i = 0; i < bands.size(); i++) {
+            Long upper = bands.get(i).upperCents();
+            boolean last = i == bands.size() - 1;
+            if (upper == null && !last) {
+                throw new IllegalArgumentException("상한 없는 구간은 마지막에만 올 수 있습니다: " + bands.get(i));
+            }
+            if (i > 0 && upper != null && upper <= bands.get(i - 1).upperCents()) {
+                throw new IllegalArgumentException("구간 상한은 오름차순이어야 합니다: " + bands.get(i));
+            }
+        }
+        this.bands = List.copyOf(bands);
+        this.overrides = List.copyOf(overrides);
+    }
+
+    /**
+     * 현재 운영 규칙 (AA < 1000 ≤ BB < 3000 ≤ CC < 4000 ≤ DD, CC 구간의 송파구 풍납1동 여성 → C2)
+     */
+    public static CouponRuleTable standard() {
+        return new CouponRuleTable(
+                List.of(new CreditBand("AA", 1000_00L),
+                        new CreditBand("BB", 3000_00L),
+                        new CreditBand("CC", 4000_00L),
+                        new CreditBand("DD", null)),
+                List.of(new CouponOverride("CC", "F", List.of("송파구", "풍납1동"), "C2")));
+    }
+
+    public List<CreditBand> bands() {
+        return bands;
+    }
+
+    public List<CouponOverride> overrides() {
+        return overrides;
+    }
+
+    /**
+     * 마지막 구간에 상한이 없으면 신용한도가 있는 모든 고객에게 쿠폰이 발급됨 (처리 건수 = 발급 건수)
+     */
+    public boolean coversAllCredits() {
+        return bands.get(bands.size() - 1).upperCents() == null;
+    }
+
+    /**
+     * Java 계산기 생성
+     */
+    public CompiledCouponRuleEvaluator compile() {
+        return new CompiledCouponRuleEvaluator(this);
+    }
+
+    /**
+     * SQL CASE식 생성 (INSERT ... SELECT 집합 처리용)
+     * 주소 조건은 Java와 같이 ADDRESS1, ADDRESS2 중 어디에든 키워드가 있으면 일치로 판정
+     */
+    public String toSqlCase(String creditColumn, String genderColumn, String address1Column, String address2Column) {
+        StringBuilder sql = new StringBuilder("CASE\n");
+        for (CreditBand band : bands) {
+            String condition = band.upperCents() == null
+                    ? creditColumn + " IS NOT NULL"
+                    : creditColumn + " < " + toDecimal(band.upperCents());
+            sql.append("    WHEN ").append(condition).append(" THEN");
+
+            List<CouponOverride> bandOverrides = overridesOf(band);
+            if (bandOverrides.isEmpty()) {
+                sql.append(' ').append(quote(band.couponCode())).append('\n');
+                continue;
+            }
+            sql.append("\n        CASE\n");
+            for (CouponOverride override : bandOverrides) {
+                String keywordCondition = override.addressKeywords().stream()
+                        .map(keyword -> "(INSTR(" + address1Column + ", " + quote(keyword) + ") > 0 OR INSTR("
+                                + address2Column + ", " + quote(keyword) + ") > 0)")
+                        .collect(Collectors.joining(" AND "));
+                sql.append("            WHEN ").append(genderColumn).append(" = ").append(quote(override.gender()));
+                if (!keywordCondition.isEmpty()) {
+                    sql.append(" AND ").append(keywordCondition);
+                }
+                sql.append(" THEN ").append(quote(override.couponCode())).append('\n');
+            }
+            sql.append("            ELSE ").append(quote(band.couponCode())).append("\n        END\n");
+        }
+        sql.append("    ELSE NULL\nEND");
+        return sql.toString();
+    }
+
+    /**
+     * PL/SQL calculate_coupon_code(p_credit_limit, p_gender, p_address) 함수 생성 (Cursor/Bulk 전략용)
+     */
+    public String toPlsqlFunction() {
+        StringBuilder plsql = new StringBuilder("""
+                FUNCTION calculate_coupon_code(
+                    p_credit_limit NUMBER,
+                    p_gender VARCHAR2,
+                    p_address VARCHAR2
+                ) RETURN VARCHAR2 IS
+                BEGIN
+                    IF p_credit_limit IS NULL THEN
+                        RETURN NULL;
+                """);
+        for (CreditBand band : bands) {
+            plsql.append(band.upperCents() == null
+                    ? "    ELSE\n"
+                    : "    ELSIF p_credit_limit < " + toDecimal(band.upperCents()) + " THEN\n");
+            for (CouponOverride override : overridesOf(band)) {
+                plsql.append("        IF p_gender = ").append(quote(override.gender()));
+                for (String keyword : override.addressKeywords()) {
+                    plsql.append(" AND INSTR(p_address, ").append(quote(keyword)).append(") > 0");
+                }
+                plsql.append(" THEN\n            RETURN ").append(quote(override.couponCode())).append(";\n        END IF;\n");
+            }
+            plsql.append("        RETURN ").append(quote(band.couponCode())).append(";\n");
+        }
+        if (bands.get(bands.size() - 1).upperCents() != null) {
+            plsql.append("    ELSE\n        RETURN NULL;\n");
+        }
+        plsql.append("""
+                    END IF;
+                EXCEPTION
+                    WHEN OTHERS THEN
+                        RETURN NULL;
+                END calculate_coupon_code;
+                """);
+        return plsql.toString();
+    }
+
+    List<CouponOverride> overridesOf(CreditBand band) {
+        return overrides.stream()
+                .filter(override -> override.bandCode().equals(band.couponCode()))
+                .toList();
+    }
+
+    private static String toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2).toPlainString();
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+}
@@ -0,0 +1,52 @@
+package com.kopo.jimin;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+
+/**
+ * 쿠폰 발송 (CouponDispatcher가 여러 가상 스레드에서 동시에 호출)
+ * 특징: send가 정상 반환된 건만 SEND_DT를 기록하고, 예외가 난 건은 SEND_DT NULL로 남아 다음 실행에서 다시 발송
+ *       구현체는 스레드 안전해야 함 (가상 스레드 고정을 피하려면 synchronized 대신 java.util.concurrent 잠금 사용)
+ */
+public interface CouponSender extends AutoCloseable {
+
+    /**
+     * 쿠폰 1건 발송 (반환되면 발송 완료)
+     */
+    void send(PendingCoupon coupon) throws IOException;
+
+    /**
+     * 지금까지 send가 반환된 건을 발송 완료 상태로 반영 (CouponDispatcher가 SEND_DT Commit 직전에 호출)
+     * 버퍼에 모았다가 내보내는 구현체는 여기서 내보내야 함 (Commit 후 중단되어도 발송 내용이 남도록)
+     */
+    default void flush() throws IOException {
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    /**
+     * dispatch.sender 설정으로 발송 방식 선택
+     * file = 발송 내용을 파일에 기록 (FileCouponSender), mock = 지연만 흉내 (MockCouponSender),
+     * 그 외 = 인자 없는 생성자가 있는 CouponSender 구현 클래스 이름
+     */
+    static CouponSender create(BatchConfig config) throws IOException {
+        String sender = config.get(BatchConfig.DISPATCH_SENDER).trim();
+        int latencyMillis = config.getInt(BatchConfig.DISPATCH_LATENCY);
+        return switch (sender.toLowerCase()) {
+            case "file" -> new FileCouponSender(Path.of(config.get(BatchConfig.DISPATCH_FILE)), latencyMillis);
+            case "mock" -> new MockCouponSender(latencyMillis);
+            default -> {
+                try {
+                    yield Class.forName(sender).asSubclass(CouponSender.class).getDeclaredConstructor().newInstance();
+                } catch (ClassNotFoundException | ClassCastException | NoSuchMethodException
+                         | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                    throw new IllegalArgumentException("발송 방식을 만들 수 없습니다: " + sender
+                            + " (file, mock 또는 CouponSender 구현 클래스 이름)", e);
+                }
+            }
+        };
+    }
+}
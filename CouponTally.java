@@ -0,0 +1,131 @@
+package com.kopo.jimin;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 처리 중 누적하는 발급 쿠폰 집계 (쿠폰코드별 발급 건수 / CREDIT_POINT 합계, 발급 대상 건수)
+ * 처리방식: 행을 처리하는 루프에서 기록 → 실행 후 BONUS_COUPON 집계 조회 1번과 비교 (CUSTOMER 재조회 없음)
+ * 특징: 실행 1개(파티션 / Writer 스레드)당 1개 사용 후 BatchStats.merge에서 합산
+ *       CREDIT_POINT는 NUMBER(9,2)이므로 1/100 단위 long으로 합산 (소수점 2자리를 넘는 값만 BigDecimal)
+ *       체크포인트 재시작으로 이전 실행분이 빠진 집계는 partial (쿠폰코드별 비교 생략)
+ *       --verify.checksum=true이면 쿠폰코드별 128비트 체크섬(CouponChecksum)도 누적
+ */
+public class CouponTally {
+
+    /**
+     * 쿠폰코드 1개의 건수 / 합계
+     */
+    private static final class Entry {
+        long count;
+        long cents;
+        BigDecimal inexact = BigDecimal.ZERO;
+        final CouponChecksum checksum = new CouponChecksum();
+
+        BigDecimal sum() {
+            return BigDecimal.valueOf(cents, 2).add(inexact);
+        }
+    }
+
+    private final Map<String, Entry> byCode = new TreeMap<>();
+    private final CouponChecksum.Hasher hasher; // 체크섬을 누적하지 않으면 null
+    private long targetCount = 0;
+    private boolean partial = false;
+
+    public CouponTally() {
+        this(false);
+    }
+
+    public CouponTally(boolean checksum) {
+        this.hasher = checksum ? new CouponChecksum.Hasher() : null;
+    }
+
+    /**
+     * 가입일 조건과 필수 데이터(ID / EMAIL / CREDIT_LIMIT)를 모두 만족한 행 1건
+     */
+    public void target() {
+        targetCount++;
+    }
+
+    /**
+     * 발급 1건 (INSERT한 고객 ID / CREDIT_POINT 값 그대로)
+     */
+    public void issued(String customerId, String couponCode, BigDecimal creditPoint) {
+        Entry entry = byCode.get(couponCode);
+        if (entry == null) {
+            entry = new Entry();
+            byCode.put(couponCode, entry);
+        }
+        entry.count++;
+        if (ScaledCreditCouponRuleEvaluator.isExactCents(creditPoint)) {
+            entry.cents += ScaledCreditCouponRuleEvaluator.toCents(creditPoint);
+        } else {
+            entry.inexact = entry.inexact.add(creditPoint);
+        }
+        if (hasher != null) {
+            hasher.addTo(entry.checksum, customerId, couponCode, creditPoint);
+        }
+    }
+
+    /**
+     * 체크포인트에서 이어서 처리한 실행 (이전 실행분은 집계에 없음)
+     */
+    public void markPartial() {
+        partial = true;
+    }
+
+    public void merge(CouponTally other) {
+        targetCount += other.targetCount;
+        partial |= other.partial;
+        other.byCode.forEach((code, otherEntry) -> {
+            Entry entry = byCode.computeIfAbsent(code, key -> new Entry());
+            entry.count += otherEntry.count;
+            entry.cents += otherEntry.cents;
+            entry.inexact = entry.inexact.add(otherEntry.inexact);
+            entry.checksum.merge(otherEntry.checksum);
+        });
+    }
+
+    /**
+     * 체크섬을 누적한 집계인지 (합산 결과는 합산한 집계가 모두 누적했을 때만 의미 있음)
+     */
+    public boolean hasChecksum() {
+        return hasher != null;
+    }
+
+    public boolean partial() {
+        return partial;
+    }
+
+    public long targetCount() {
+        return targetCount;
+    }
+
+    public Iterable<String> couponCodes() {
+        return byCode.keySet();
+    }
+
+    public long count(String couponCode) {
+        Entry entry = byCode.get(couponCode);
+        return entry == null ? 0 : entry.count;
+    }
+
+    public BigDecimal sum(String couponCode) {
+        Entry entry = byCode.get(couponCode);
+        return entry == null ? BigDecimal.ZERO : entry.sum();
+    }
+
+    public CouponChecksum checksum(String couponCode) {
+        Entry entry = byCode.get(couponCode);
+        return entry == null ? new CouponChecksum() : entry.checksum;
+    }
+
+    public long totalCount() {
+        long total = 0;
+        for (Entry entry : byCode.values()) {
+            total += entry.count;
+        }
+        return total;
+    }
+}
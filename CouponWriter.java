@@ -0,0 +1,41 @@
+package com.kopo.jimin;
+
+import java.sql.SQLException;
+
+/**
+ * 쿠폰 발급 파이프라인 3단계 - BONUS_COUPON(또는 스테이징 테이블) 쓰기
+ * 특징: Commit은 엔진이 담당하며, Writer는 SQL 실행 방식만 책임짐
+ */
+public interface CouponWriter extends AutoCloseable {
+
+    /**
+     * 쿠폰 1건 기록 (Batch 방식은 누적만 하고 실행은 나중에)
+     */
+    void write(CustomerRow row, String couponCode) throws SQLException;
+
+    /**
+     * 누적된 미실행 건 실행 (Commit 직전에 호출)
+     */
+    default void flush() throws SQLException {
+    }
+
+    /**
+     * 오류 발생시 누적된 미실행 건 폐기
+     */
+    default void clear() throws SQLException {
+    }
+
+    /**
+     * 단계별 소요 시간 기록 대상 지정 (바인딩 / SQL 실행을 구분할 수 있는 Writer만 구현)
+     */
+    default void recordStages(StageTimer stages) {
+    }
+
+    /**
+     * 지금까지 DB로 보낸 SQL 실행 횟수
+     */
+    int sqlExecutionCount();
+
+    @Override
+    void close() throws SQLException;
+}
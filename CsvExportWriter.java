@@ -0,0 +1,114 @@
+package com.kopo.jimin;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CSV 내보내기 (YYYYMM,CUSTOMER_ID,EMAIL,COUPON_CD,CREDIT_POINT, 첫 줄은 컬럼명)
+ * 처리방식: 값을 고정 크기 ByteBuffer에 UTF-8로 직접 인코딩하고 가득 차면 ExportChannel로 기록
+ * 특징: 쉼표 / 큰따옴표 / 줄바꿈이 있는 값만 큰따옴표로 감쌈 (RFC 4180), NULL은 빈 값
+ */
+final class CsvExportWriter implements CouponExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExportChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final byte[] yyyymm;
+
+    CsvExportWriter(ExportChannel channel, String yyyymm) throws IOException {
+        this.channel = channel;
+        this.yyyymm = yyyymm.getBytes(StandardCharsets.US_ASCII);
+        appendAscii("YYYYMM,CUSTOMER_ID,EMAIL,COUPON_CD,CREDIT_POINT\n");
+    }
+
+    @Override
+    public void write(String customerId, String email, String couponCode, BigDecimal creditPoint) throws IOException {
+        for (byte b : yyyymm) {
+            put(b);
+        }
+        put(',');
+        appendField(customerId);
+        put(',');
+        appendField(email);
+        put(',');
+        appendField(couponCode);
+        put(',');
+        if (creditPoint != null) {
+            appendAscii(creditPoint.toPlainString());
+        }
+        put('\n');
+    }
+
+    @Override
+    public long fileBytes() throws IOException {
+        return channel.fileBytes();
+    }
+
+    @Override
+    public long uncompressedBytes() {
+        return channel.uncompressedBytes();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flush();
+        }
+    }
+
+    private void appendField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            appendUtf8(value);
+            return;
+        }
+        put('"');
+        appendUtf8(value.replace("\"", "\"\""));
+        put('"');
+    }
+
+    /**
+     * UTF-8 인코딩 (ASCII는 할당 없이 버퍼에 직접 기록)
+     */
+    private void appendUtf8(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                for (byte b : value.substring(i).getBytes(StandardCharsets.UTF_8)) {
+                    put(b);
+                }
+                return;
+            }
+            put(c);
+        }
+    }
+
+    private void appendAscii(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            put(value.charAt(i));
+        }
+    }
+
+    private void put(int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put((byte) b);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        channel.write(buffer);
+        buffer.clear();
+    }
+}
@@ -0,0 +1,12 @@
+package com.kopo.jimin;
+
+/**
+ * CUSTOMER ID 범위 파티션 (lowId ~ highId, 양 끝 포함)
+ */
+public record CustomerPartition(int index, String lowId, String highId, long rowCount) {
+
+    @Override
+    public String toString() {
+        return String.format("P%d[%s ~ %s, %,d건]", index, lowId, highId, rowCount);
+    }
+}
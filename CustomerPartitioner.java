@@ -0,0 +1,50 @@
+package com.kopo.jimin;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 가입일 조건을 만족하는 CUSTOMER를 ID 범위로 N등분
+ * 처리방식: NTILE(N) OVER (ORDER BY ID)로 구간별 최소/최대 ID를 구함 (ID 인덱스 1회 스캔)
+ * 특징: 구간마다 건수가 거의 같으므로 파티션별 처리 시간이 고르게 분배됨
+ *       CUSTOMER 스냅샷을 사용하면 스냅샷 인덱스를 행 번호로 나눔 (DB 조회 없음)
+ */
+public final class CustomerPartitioner {
+
+    private CustomerPartitioner() {
+    }
+
+    public static List<CustomerPartition> split(Connection conn, BatchContext ctx, int partitionCount)
+            throws SQLException {
+        if (ctx.customerSnapshot() != null) {
+            return ctx.customerSnapshot().split(partitionCount);
+        }
+        String boundarySQL = """
+                SELECT BUCKET, MIN(ID) AS LOW_ID, MAX(ID) AS HIGH_ID, COUNT(*) AS CNT
+                FROM (
+                    SELECT ID, NTILE(?) OVER (ORDER BY ID) AS BUCKET
+                    FROM CUSTOMER
+                    WHERE ENROLL_DT >= ?
+                )
+                GROUP BY BUCKET
+                ORDER BY BUCKET
+                """;
+
+        List<CustomerPartition> partitions = new ArrayList<>(partitionCount);
+        try (PreparedStatement pstmt = conn.prepareStatement(boundarySQL)) {
+            pstmt.setInt(1, partitionCount);
+            pstmt.setDate(2, ctx.enrollCutoffDate());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    partitions.add(new CustomerPartition(
+                            partitions.size(),
+                            rs.getString("LOW_ID"),
+                            rs.getString("HIGH_ID"),
+                            rs.getLong("CNT")));
+                }
+            }
+        }
+        return partitions;
+    }
+}
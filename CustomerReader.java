@@ -0,0 +1,30 @@
+package com.kopo.jimin;
+
+import java.sql.SQLException;
+
+/**
+ * 쿠폰 발급 파이프라인 1단계 - CUSTOMER 읽기
+ */
+public interface CustomerReader extends AutoCloseable {
+
+    /**
+     * 다음 고객 1건을 반환 (더 이상 없으면 null)
+     */
+    CustomerRow read() throws SQLException;
+
+    /**
+     * 단계별 소요 시간 기록 대상 지정 (Fetch / 행 매핑을 구분할 수 있는 Reader만 구현)
+     */
+    default void recordStages(StageTimer stages) {
+    }
+
+    /**
+     * 지금까지 rs.next()에서 발생한 Fetch 라운드트립 횟수 (첫 창은 executeQuery 응답에 포함, 서버 Fetch가 없는 Reader는 0)
+     */
+    default long fetchCount() {
+        return 0;
+    }
+
+    @Override
+    void close() throws SQLException;
+}
@@ -0,0 +1,39 @@
+package com.kopo.jimin;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+
+/**
+ * CUSTOMER 조회 결과 1건
+ * 특징: Reader → 쿠폰 계산 → Writer 단계 사이에서 전달되는 불변 데이터
+ */
+public record CustomerRow(String id,
+                          String email,
+                          BigDecimal creditLimit,
+                          String gender,
+                          String address1,
+                          String address2,
+                          Date enrollDt) {
+
+    /**
+     * 쿠폰 발급 필수 항목(ID, EMAIL, CREDIT_LIMIT) 존재 여부
+     */
+    public boolean hasRequiredFields() {
+        return id != null && email != null && creditLimit != null;
+    }
+
+    /**
+     * 가입일 조건 체크 (Java 필터링 전략용)
+     */
+    public boolean enrolledOnOrAfter(Date cutoff) {
+        return enrollDt != null && enrollDt.compareTo(cutoff) >= 0;
+    }
+
+    /**
+     * 기존 Calc_Bonus_by_* 클래스와 동일한 방식의 주소 연결
+     */
+    public String fullAddress() {
+        return (address1 != null ? address1 : "") +
+                (address2 != null ? " " + address2 : "");
+    }
+}
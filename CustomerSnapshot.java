@@ -0,0 +1,380 @@
+package com.kopo.jimin;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 로컬 CUSTOMER 스냅샷 파일 (규칙 실험 / 재실행시 원격 DB 대신 로컬 디스크에서 읽기)
+ * 처리방식: 만들기 = ENROLL_DT >= 가입일 기준인 CUSTOMER를 ORDER BY ID로 1번 조회하여 FileChannel로 기록
+ *           읽기 = 파일 전체를 MappedByteBuffer로 매핑 → SnapshotCustomerReader가 Connection 없이 CustomerRow 생성
+ * 파일 구조: 헤더 64바이트 ("CSNP", 버전, 건수, 인덱스 위치, 가입일 기준(epoch day), 생성 시각)
+ *           데이터 = 행 반복, ID 순 (문자열 = short 길이(-1이면 NULL) + UTF-8, CREDIT_LIMIT = scale 1바이트 + long,
+ *                   ENROLL_DT = epoch day int)
+ *           인덱스 = 행마다 데이터 시작 위치 long 1개 (고정 폭 → i번째 행 바로 접근, ID 이진 탐색)
+ * 특징: 2GB를 넘는 파일도 읽을 수 있도록 1GB 구간으로 나누어 매핑 (행 최대 크기만큼 겹쳐서 행이 구간에 걸치지 않음)
+ *       매핑은 읽기 전용이므로 여러 파티션 스레드가 공유 (스레드마다 duplicate 사용)
+ *       ID 순서는 Java 문자열 비교로 검증 (DB 정렬 순서가 다르면 만들기 실패)
+ * 사용법: java com.kopo.jimin.CustomerSnapshot [--snapshot.file=customer-snapshot.bin] [--enroll.cutoff=2013-01-01]
+ *         [--fetch.size=10000] → 이후 실행에 --snapshot.file=같은경로를 지정하면 Java 처리 전략이 스냅샷에서 읽음
+ */
+public final class CustomerSnapshot {
+
+    static final String DEFAULT_FILE = "customer-snapshot.bin";
+    static final int DEFAULT_FETCH_SIZE = 10_000;
+
+    private static final byte[] MAGIC = {'C', 'S', 'N', 'P'};
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final long SEGMENT_BYTES = 1L << 30;
+    private static final int MAX_ROW_BYTES = 5 * (Short.BYTES + Short.MAX_VALUE) + 1 + Long.BYTES + Integer.BYTES;
+    private static final byte NULL_SCALE = Byte.MIN_VALUE;
+    private static final int NULL_DAY = Integer.MIN_VALUE;
+
+    private static final String SELECT_SQL = """
+            SELECT ID, EMAIL, CREDIT_LIMIT, GENDER, ADDRESS1, ADDRESS2, ENROLL_DT
+            FROM CUSTOMER
+            WHERE ENROLL_DT >= ?
+            ORDER BY ID
+            """;
+
+    private final Path file;
+    private final ByteBuffer[] segments;
+    private final long rowCount;
+    private final long indexOffset;
+    private final LocalDate enrollCutoff;
+    private final Instant createdAt;
+
+    private CustomerSnapshot(Path file, ByteBuffer[] segments, long rowCount, long indexOffset,
+                             LocalDate enrollCutoff, Instant createdAt) {
+        this.file = file;
+        this.segments = segments;
+        this.rowCount = rowCount;
+        this.indexOffset = indexOffset;
+        this.enrollCutoff = enrollCutoff;
+        this.createdAt = createdAt;
+    }
+
+    public static void main(String[] args) {
+        BatchConfig config = BatchConfig.load(args);
+        config.print();
+        BatchContext ctx = CouponBatchEngine.createContext(config);
+        Path file = Path.of(config.isSet(BatchConfig.SNAPSHOT_FILE) ? config.get(BatchConfig.SNAPSHOT_FILE) : DEFAULT_FILE);
+
+        try (Connection conn = ctx.openConnection()) {
+            System.out.println("데이터베이스 연결 성공: " + conn.getMetaData().getDatabaseProductName());
+            write(conn, ctx, file, ctx.fetchSize(DEFAULT_FETCH_SIZE));
+
+        } catch (SQLException e) {
+            System.err.println("=== 데이터베이스 오류 발생 ===");
+            System.err.println("오류 코드: " + e.getErrorCode());
+            System.err.println("SQL 상태: " + e.getSQLState());
+            System.err.println("오류 메시지: " + e.getMessage());
+            e.printStackTrace();
+        } catch (IOException e) {
+            System.err.println("=== 파일 쓰기 오류 발생 ===");
+            System.err.println("오류 메시지: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 스냅샷 만들기 (임시 파일에 기록 후 교체 → 만드는 도중에도 기존 스냅샷은 그대로 사용 가능)
+     * 1. 데이터는 대상 파일, 인덱스는 별도 임시 파일에 순서대로 기록 (메모리 일정)
+     * 2. 인덱스를 데이터 뒤에 이어 붙이고 헤더 기록
+     */
+    static void write(Connection conn, BatchContext ctx, Path file, int fetchSize) throws SQLException, IOException {
+        long startTime = System.currentTimeMillis();
+        Path dataTemp = file.resolveSibling(file.getFileName() + ".tmp");
+        Path indexTemp = file.resolveSibling(file.getFileName() + ".idx.tmp");
+        long rowCount = 0;
+        try (FileChannel data = FileChannel.open(dataTemp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileChannel index = FileChannel.open(indexTemp, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_SQL)) {
+            ByteBuffer dataBuffer = ByteBuffer.allocate(1 << 20);
+            ByteBuffer indexBuffer = ByteBuffer.allocate(64 * 1024);
+            long position = HEADER_BYTES;
+            data.position(HEADER_BYTES);
+            String previousId = null;
+
+            pstmt.setFetchSize(fetchSize);
+            pstmt.setDate(1, ctx.enrollCutoffDate());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    CustomerRow row = ResultSetCustomerReader.toRow(rs);
+                    if (previousId != null && (row.id() == null || row.id().compareTo(previousId) <= 0)) {
+                        throw new IllegalStateException("CUSTOMER ID 정렬 순서가 Java 문자열 순서와 다릅니다: "
+                                + previousId + " → " + row.id() + " (NLS_SORT=BINARY로 실행하세요)");
+                    }
+                    previousId = row.id();
+
+                    if (dataBuffer.remaining() < MAX_ROW_BYTES) {
+                        flush(data, dataBuffer);
+                    }
+                    if (!indexBuffer.hasRemaining()) {
+                        flush(index, indexBuffer);
+                    }
+                    indexBuffer.putLong(position);
+                    int before = dataBuffer.position();
+                    encode(dataBuffer, row);
+                    position += dataBuffer.position() - before;
+
+                    if (++rowCount % 500_000 == 0) {
+                        System.out.printf("스냅샷 진행률: %,d건 / %,d bytes%n", rowCount, position);
+                    }
+                }
+            }
+            flush(data, dataBuffer);
+            flush(index, indexBuffer);
+
+            // 인덱스를 데이터 뒤에 붙이고 헤더 기록
+            long indexOffset = position;
+            long copied = 0;
+            while (copied < index.size()) {
+                copied += index.transferTo(copied, index.size() - copied, data);
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.put(MAGIC).putInt(VERSION).putLong(rowCount).putLong(indexOffset)
+                    .putLong(ctx.enrollCutoff().toEpochDay()).putLong(System.currentTimeMillis());
+            header.clear();
+            data.write(header, 0);
+            data.force(true);
+        } finally {
+            Files.deleteIfExists(indexTemp);
+        }
+        Files.move(dataTemp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        System.out.printf("%n=== 스냅샷 완료 ===%n%s: CUSTOMER %,d건 (ENROLL_DT >= %s) / %,d bytes%n총 처리 시간: %,d ms (%,.0f건/초)%n",
+                file.toAbsolutePath(), rowCount, ctx.enrollCutoff(), Files.size(file), elapsed,
+                elapsed > 0 ? rowCount / (elapsed / 1000.0) : 0);
+    }
+
+    /**
+     * 스냅샷 열기 (파일 전체를 읽기 전용으로 매핑, Channel은 매핑 후 바로 닫음)
+     */
+    public static CustomerSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int segmentCount = (int) Math.max(1, (size + SEGMENT_BYTES - 1) / SEGMENT_BYTES);
+            ByteBuffer[] segments = new ByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long start = i * SEGMENT_BYTES;
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                        Math.min(SEGMENT_BYTES + MAX_ROW_BYTES, size - start));
+                segments[i] = segment;
+            }
+
+            if (size < HEADER_BYTES) {
+                throw new IOException("CUSTOMER 스냅샷 파일이 아닙니다: " + file);
+            }
+            ByteBuffer header = segments[0].duplicate();
+            byte[] magic = new byte[MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, MAGIC) || header.getInt() != VERSION) {
+                throw new IOException("CUSTOMER 스냅샷 파일이 아니거나 버전이 다릅니다: " + file);
+            }
+            long rowCount = header.getLong();
+            long indexOffset = header.getLong();
+            LocalDate enrollCutoff = LocalDate.ofEpochDay(header.getLong());
+            Instant createdAt = Instant.ofEpochMilli(header.getLong());
+            if (indexOffset + rowCount * Long.BYTES != size) {
+                throw new IOException("CUSTOMER 스냅샷 파일 크기가 맞지 않습니다 (만드는 도중 중단된 파일?): " + file);
+            }
+            return new CustomerSnapshot(file, segments, rowCount, indexOffset, enrollCutoff, createdAt);
+        }
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    public LocalDate enrollCutoff() {
+        return enrollCutoff;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (CUSTOMER %,d건, ENROLL_DT >= %s, %s 생성)", file, rowCount, enrollCutoff, createdAt);
+    }
+
+    /**
+     * 행 번호 구간으로 N등분 (CustomerPartitioner의 NTILE과 같은 결과, DB 조회 없음)
+     */
+    public List<CustomerPartition> split(int partitionCount) {
+        List<CustomerPartition> partitions = new ArrayList<>(partitionCount);
+        Cursor cursor = cursor();
+        for (int i = 0; i < partitionCount; i++) {
+            long from = rowCount * i / partitionCount;
+            long to = rowCount * (i + 1) / partitionCount;
+            if (from < to) {
+                partitions.add(new CustomerPartition(partitions.size(), cursor.idAt(from), cursor.idAt(to - 1), to - from));
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * 스레드 1개가 쓰는 읽기 위치 (매핑 구간을 duplicate하여 position을 독립적으로 사용)
+     */
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    final class Cursor {
+
+        private final ByteBuffer[] views = new ByteBuffer[segments.length];
+        private ByteBuffer current;
+        private long position;
+        private long row;
+
+        private Cursor() {
+            for (int i = 0; i < segments.length; i++) {
+                views[i] = segments[i].duplicate();
+            }
+        }
+
+        /**
+         * ID >= id (inclusive) 또는 ID > id인 첫 행 번호 (이진 탐색)
+         */
+        long firstRowAfter(String id, boolean inclusive) {
+            long low = 0;
+            long high = rowCount;
+            while (low < high) {
+                long mid = (low + high) >>> 1;
+                int cmp = idAt(mid).compareTo(id);
+                if (cmp < 0 || (cmp == 0 && !inclusive)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        String idAt(long rowNumber) {
+            seek(rowNumber);
+            return readString();
+        }
+
+        /**
+         * rowNumber번째 행부터 순서대로 읽도록 위치 이동 (rowNumber >= 건수이면 인덱스를 읽지 않고 끝 위치로만 표시)
+         */
+        void seek(long rowNumber) {
+            if (rowNumber >= rowCount) {
+                row = rowCount;
+                return;
+            }
+            long indexPosition = indexOffset + rowNumber * Long.BYTES;
+            moveTo(indexPosition);
+            moveTo(current.getLong());
+            row = rowNumber;
+        }
+
+        long row() {
+            return row;
+        }
+
+        /**
+         * 현재 행을 CustomerRow로 변환하고 다음 행으로 이동
+         */
+        CustomerRow next() {
+            moveTo(position);
+            int start = current.position();
+            CustomerRow customer = new CustomerRow(
+                    readString(),
+                    readString(),
+                    readDecimal(),
+                    readString(),
+                    readString(),
+                    readString(),
+                    readDate());
+            position += current.position() - start;
+            row++;
+            return customer;
+        }
+
+        private void moveTo(long absolute) {
+            int segment = (int) (absolute / SEGMENT_BYTES);
+            current = views[segment];
+            current.position((int) (absolute - segment * SEGMENT_BYTES));
+            position = absolute;
+        }
+
+        private String readString() {
+            short length = current.getShort();
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            current.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private BigDecimal readDecimal() {
+            byte scale = current.get();
+            long unscaled = current.getLong();
+            return scale == NULL_SCALE ? null : BigDecimal.valueOf(unscaled, scale);
+        }
+
+        private Date readDate() {
+            int day = current.getInt();
+            return day == NULL_DAY ? null : Date.valueOf(LocalDate.ofEpochDay(day));
+        }
+    }
+
+    private static void encode(ByteBuffer buffer, CustomerRow row) {
+        putString(buffer, row.id());
+        putString(buffer, row.email());
+        BigDecimal credit = row.creditLimit();
+        if (credit == null) {
+            buffer.put(NULL_SCALE).putLong(0);
+        } else {
+            BigInteger unscaled = credit.unscaledValue();
+            if (unscaled.bitLength() > 63 || credit.scale() < Byte.MIN_VALUE + 1 || credit.scale() > Byte.MAX_VALUE) {
+                throw new IllegalStateException("CREDIT_LIMIT 값을 스냅샷에 저장할 수 없습니다: " + row.id() + " " + credit);
+            }
+            buffer.put((byte) credit.scale()).putLong(unscaled.longValue());
+        }
+        putString(buffer, row.gender());
+        putString(buffer, row.address1());
+        putString(buffer, row.address2());
+        buffer.putInt(row.enrollDt() == null ? NULL_DAY : (int) row.enrollDt().toLocalDate().toEpochDay());
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalStateException("스냅샷에 저장할 수 없는 길이의 문자열: " + bytes.length + " bytes");
+        }
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,59 @@
+package com.kopo.jimin;
+
+import java.sql.*;
+
+/**
+ * DBMS_OUTPUT 버퍼 수거 (PL/SQL 블록이 남긴 오류 메시지 출력)
+ * 처리방식: GET_LINE 반복을 서버 블록 1개로 묶어 CLOB 1개로 받음 → 줄 수와 관계없이 라운드트립 1번
+ *           다 읽은 뒤 DBMS_OUTPUT.DISABLE로 세션 버퍼 해제
+ * 특징: 블록 안에서 DBMS_OUTPUT.ENABLE을 호출한 경우에만 내용이 있음 (ENABLE 전의 PUT_LINE은 버려짐)
+ */
+public final class DbmsOutput {
+
+    private static final String DRAIN_BLOCK = """
+            DECLARE
+                v_line VARCHAR2(32767);
+                v_status INTEGER;
+                v_lines NUMBER := 0;
+                v_text CLOB;
+            BEGIN
+                LOOP
+                    DBMS_OUTPUT.GET_LINE(v_line, v_status);
+                    EXIT WHEN v_status != 0;
+                    v_lines := v_lines + 1;
+                    IF v_lines <= ? THEN
+                        v_text := v_text || v_line || CHR(10);
+                    END IF;
+                END LOOP;
+                DBMS_OUTPUT.DISABLE;
+                ? := v_lines;
+                ? := v_text;
+            END;
+            """;
+
+    private DbmsOutput() {
+    }
+
+    /**
+     * 버퍼 내용을 최대 maxLines줄까지 출력하고 전체 줄 수 반환
+     */
+    static long drain(Connection conn, String label, int maxLines) throws SQLException {
+        try (CallableStatement callStmt = conn.prepareCall(DRAIN_BLOCK)) {
+            callStmt.setInt(1, maxLines);
+            callStmt.registerOutParameter(2, Types.INTEGER);
+            callStmt.registerOutParameter(3, Types.CLOB);
+            callStmt.execute();
+
+            long lines = callStmt.getLong(2);
+            String text = callStmt.getString(3);
+            if (lines > 0) {
+                System.out.printf("%n=== %s 서버 메시지 (DBMS_OUTPUT %,d줄) ===%n", label, lines);
+                System.out.print(text == null ? "" : text);
+                if (lines > maxLines) {
+                    System.out.printf("... 나머지 %,d줄 생략%n", lines - maxLines);
+                }
+            }
+            return lines;
+        }
+    }
+}
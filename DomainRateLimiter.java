@@ -0,0 +1,50 @@
+package com.kopo.jimin;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 이메일 도메인별 발송 속도 제한 (초당 ratePerSecond건)
+ * 처리방식: 도메인마다 "다음 발송 가능 시각" 1개만 두고 CAS로 예약 (GCRA, 잠금 없음)
+ *           예약한 시각이 아직 오지 않았으면 그만큼 대기 → 가상 스레드는 대기 중 캐리어 스레드를 점유하지 않음
+ * 특징: 쉬고 있던 도메인은 최대 burst건까지 바로 발송, 이후에는 1 / ratePerSecond초 간격
+ *       ratePerSecond가 0 이하면 제한 없음
+ */
+public final class DomainRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Map<String, AtomicLong> nextSlots = new ConcurrentHashMap<>();
+
+    public DomainRateLimiter(int ratePerSecond, int burst) {
+        this.intervalNanos = ratePerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / ratePerSecond : 0;
+        this.burstNanos = intervalNanos * Math.max(0, burst - 1);
+    }
+
+    public boolean limited() {
+        return intervalNanos > 0;
+    }
+
+    /**
+     * 도메인의 발송 순서 1개 예약 후 차례가 될 때까지 대기
+     */
+    public void acquire(String domain) throws InterruptedException {
+        if (intervalNanos == 0) {
+            return;
+        }
+        AtomicLong nextSlot = nextSlots.computeIfAbsent(domain, key -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+        long earliest = now - burstNanos;
+        long reserved = nextSlot.getAndUpdate(next -> Math.max(next, earliest) + intervalNanos);
+        long waitNanos = Math.max(reserved, earliest) - now;
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    public int domainCount() {
+        return nextSlots.size();
+    }
+}
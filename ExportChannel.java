@@ -0,0 +1,105 @@
+package com.kopo.jimin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * 내보내기 파일 1개의 출력 (FileChannel 직접 기록, 선택적으로 gzip 압축)
+ * 처리방식: 호출하는 쪽이 채운 ByteBuffer를 받아 압축하지 않으면 그대로, gzip이면 Deflater로 Direct ByteBuffer에 압축 후 channel.write
+ *           gzip 헤더 / CRC32 / 원본 크기 트레일러를 직접 기록 (GZIPOutputStream + 스트림 변환 계층 없음)
+ * 특징: 파일당 메모리는 압축 버퍼 1개 + Deflater 1개로 고정 → 건수와 관계없이 일정
+ */
+final class ExportChannel implements AutoCloseable {
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final byte[] NO_INPUT = new byte[0];
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final FileChannel channel;
+    private final Deflater deflater; // 압축하지 않으면 null
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer output;
+    private long uncompressedBytes = 0;
+    private long closedFileBytes = -1;
+
+    ExportChannel(Path file, boolean gzip) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        if (gzip) {
+            this.deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            this.output = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+            writeFully(ByteBuffer.wrap(GZIP_HEADER));
+        } else {
+            this.deflater = null;
+            this.output = null;
+        }
+    }
+
+    /**
+     * data의 position ~ limit 기록 (반환 시 data는 모두 소비됨)
+     */
+    void write(ByteBuffer data) throws IOException {
+        uncompressedBytes += data.remaining();
+        if (deflater == null) {
+            writeFully(data);
+            return;
+        }
+        crc.update(data.duplicate());
+        deflater.setInput(data);
+        while (!deflater.needsInput()) {
+            deflate(Deflater.NO_FLUSH);
+        }
+        // Deflater가 호출하는 쪽 버퍼를 계속 참조하므로 해제 (재사용으로 다시 채워진 버퍼를 finish에서 또 압축하지 않도록)
+        deflater.setInput(NO_INPUT);
+    }
+
+    /**
+     * 지금까지 파일에 기록된 바이트 수 (gzip이면 Deflater 내부에 남은 분량만큼 실제보다 작음, close 후에는 최종 크기)
+     */
+    long fileBytes() throws IOException {
+        return closedFileBytes >= 0 ? closedFileBytes : channel.position();
+    }
+
+    long uncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            if (deflater != null) {
+                try {
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        deflate(Deflater.NO_FLUSH);
+                    }
+                    ByteBuffer trailer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+                    trailer.putInt((int) crc.getValue()).putInt((int) uncompressedBytes).flip();
+                    writeFully(trailer);
+                } finally {
+                    deflater.end();
+                }
+            }
+            closedFileBytes = channel.position();
+        }
+    }
+
+    private void deflate(int flush) throws IOException {
+        output.clear();
+        deflater.deflate(output, flush);
+        output.flip();
+        writeFully(output);
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.kopo.jimin;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 발송 내용을 파일에 기록 (테스트 / 발송팀 전달용, 1건 1줄 CUSTOMER_ID,EMAIL,COUPON_CD,CREDIT_POINT)
+ * 처리방식: 지연(latencyMillis)만큼 대기한 뒤 잠금 안에서 버퍼에 1줄 추가
+ *           → flush(SEND_DT Commit 직전) / close에서 파일에 반영
+ * 특징: 기존 파일 뒤에 이어서 기록 (재실행시 다시 발송한 건도 그대로 남음)
+ *       가상 스레드에서 호출되므로 synchronized 대신 ReentrantLock 사용 (대기 중 캐리어 스레드 고정 방지)
+ */
+public class FileCouponSender implements CouponSender {
+
+    private final MockCouponSender latency;
+    private final BufferedWriter writer;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public FileCouponSender(Path file, int latencyMillis) throws IOException {
+        this.latency = new MockCouponSender(latencyMillis);
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void send(PendingCoupon coupon) throws IOException {
+        latency.send(coupon);
+        String line = coupon.customerId() + "," + (coupon.email() == null ? "" : coupon.email()) + ","
+                + coupon.couponCode() + "," + (coupon.creditPoint() == null ? "" : coupon.creditPoint().toPlainString());
+        lock.lock();
+        try {
+            writer.write(line);
+            writer.newLine();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        lock.lock();
+        try {
+            writer.flush();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            writer.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
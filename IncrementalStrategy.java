@@ -0,0 +1,218 @@
+package com.kopo.jimin;
+
+import java.sql.*;
+
+/**
+ * 증분 발급 전략 (지난 실행 이후 변경된 고객만 처리)
+ * 처리방식: 1. BONUS_COUPON_WATERMARK에서 해당 월(YYYYMM)의 마지막 처리 SCN 조회
+ *           2. 현재 SCN을 먼저 확보한 뒤 ORA_ROWSCN > 마지막 SCN인 CUSTOMER만 조회
+ *           3. 발급 대상이면 MERGE (신규 INSERT / 기존 갱신), 대상에서 빠졌으면 해당 월 쿠폰 DELETE
+ *           4. CUSTOMER에서 삭제된 고객의 쿠폰 정리 후 워터마크를 2번의 SCN으로 갱신 (마지막 Commit에 포함)
+ * 특징: 해당 월 워터마크가 없으면 (월 첫 실행) 전체 고객을 같은 방식으로 처리
+ *       ORA_ROWSCN은 ROWDEPENDENCIES가 없으면 블록 단위라 변경되지 않은 행도 일부 다시 읽지만,
+ *       MERGE는 재실행해도 결과가 같으므로 정확성에는 영향 없음 (중간 실패시에도 워터마크가 그대로라 재실행하면 됨)
+ */
+public class IncrementalStrategy implements CouponBatchStrategy {
+
+    static final String WATERMARK_TABLE = "BONUS_COUPON_WATERMARK";
+
+    private static final int MAX_ERRORS = 1000;
+    private static final int PROGRESS_INTERVAL = 50000;
+
+    private final String name;
+    private final int fetchSize;
+    private final int batchSize;
+    private final int commitSize;
+
+    public IncrementalStrategy(String name, int fetchSize, int batchSize, int commitSize) {
+        this.name = name;
+        this.fetchSize = fetchSize;
+        this.batchSize = batchSize;
+        this.commitSize = commitSize;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String description() {
+        return "변경된 고객만 조회 (ORA_ROWSCN 워터마크) + MERGE / DELETE";
+    }
+
+    @Override
+    public boolean incremental() {
+        return true;
+    }
+
+    @Override
+    public BatchStats execute(Connection conn, BatchContext ctx) throws SQLException {
+        BatchStats stats = new BatchStats(name);
+        int fetchSize = ctx.fetchSize(this.fetchSize);
+        int commitSize = ctx.commitSize(this.commitSize);
+        stats.fetchSize = fetchSize;
+
+        // 1. 워터마크 조회 (없으면 전체 처리)
+        ensureWatermarkTable(conn);
+        long lastScn = readWatermark(conn, ctx.yyyymm());
+        long startScn = currentScn(conn);
+        System.out.printf("증분 처리: %s월 워터마크 SCN %s → 현재 SCN %,d%n",
+                ctx.yyyymm(), lastScn < 0 ? "없음 (전체 처리)" : String.format("%,d", lastScn), startScn);
+
+        CouponRuleEvaluator evaluator = ctx.evaluator();
+        Date cutoff = ctx.enrollCutoffDate();
+        long removeCount = 0;
+
+        // 2. 변경된 고객 조회 (가입일 조건은 Java에서 판단 → 대상에서 빠진 고객도 찾기 위함)
+        try (PreparedStatement selectPstmt = conn.prepareStatement("""
+                SELECT ID, EMAIL, CREDIT_LIMIT, GENDER, ADDRESS1, ADDRESS2, ENROLL_DT
+                FROM CUSTOMER
+                WHERE ORA_ROWSCN > ?
+                """);
+             MergeCouponWriter writer = new MergeCouponWriter(conn, ctx, ctx.batchSize(batchSize))) {
+
+            selectPstmt.setFetchSize(fetchSize);
+            selectPstmt.setLong(1, Math.max(lastScn, 0));
+
+            long uncommitted = 0;
+            try (ResultSet rs = selectPstmt.executeQuery()) {
+                while (rs.next()) {
+                    CustomerRow row = ResultSetCustomerReader.toRow(rs);
+                    stats.processedCount++;
+
+                    if (stats.processedCount % PROGRESS_INTERVAL == 0) {
+                        System.out.printf("[%s] 처리 진행률: %,d건 조회됨 (발급/갱신: %,d건, 삭제 대상: %,d건)%n",
+                                name, stats.processedCount, stats.insertCount, removeCount);
+                    }
+                    if (row.id() == null) {
+                        continue;
+                    }
+
+                    // 3. 발급 대상이면 MERGE, 아니면 해당 월 쿠폰 삭제
+                    String couponCode = row.enrolledOnOrAfter(cutoff) && row.hasRequiredFields()
+                            ? evaluator.evaluate(row)
+                            : null;
+                    try {
+                        if (couponCode != null) {
+                            stats.eligibleCount++;
+                            writer.write(row, couponCode);
+                            stats.insertCount++;
+                        } else {
+                            writer.remove(row.id());
+                            removeCount++;
+                        }
+
+                        if (++uncommitted >= commitSize) {
+                            writer.flush();
+                            conn.commit();
+                            stats.commitCount++;
+                            uncommitted = 0;
+                        }
+                    } catch (SQLException e) {
+                        stats.errorCount++;
+                        System.err.printf("[%s] 행 처리 중 오류 (고객ID: %s): %s%n", name, row.id(), e.getMessage());
+                        writer.clear();
+                        conn.rollback();
+                        uncommitted = 0;
+                        if (stats.errorCount > MAX_ERRORS) {
+                            throw new SQLException("오류가 너무 많이 발생했습니다. 워터마크를 갱신하지 않고 중단합니다.", e);
+                        }
+                    }
+                }
+            }
+            writer.flush();
+
+            // 4. CUSTOMER에서 삭제된 고객의 쿠폰 정리 + 워터마크 갱신 (같은 트랜잭션)
+            long orphanCount = deleteOrphans(conn, ctx);
+            if (stats.errorCount == 0) {
+                saveWatermark(conn, ctx.yyyymm(), startScn);
+            } else {
+                System.err.printf("⚠️  오류 %,d건 발생 → 워터마크를 갱신하지 않음 (다음 실행에서 다시 처리)%n", stats.errorCount);
+            }
+            conn.commit();
+            stats.commitCount++;
+
+            stats.sqlExecutionCount = writer.sqlExecutionCount() + 2;
+            System.out.printf("증분 처리 결과: 발급/갱신 %,d건, 대상 제외 삭제 %,d건, 탈퇴 고객 삭제 %,d건%n",
+                    stats.insertCount, writer.deleteCount(), orphanCount);
+        }
+
+        stats.finish();
+        return stats;
+    }
+
+    /**
+     * 워터마크 테이블 생성 (없을 때만, DDL이므로 처리 시작 전에 호출)
+     */
+    static void ensureWatermarkTable(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT COUNT(*) FROM USER_TABLES WHERE TABLE_NAME = ?")) {
+            pstmt.setString(1, WATERMARK_TABLE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next() && rs.getInt(1) > 0) {
+                    return;
+                }
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                    CREATE TABLE BONUS_COUPON_WATERMARK (
+                        YYYYMM     VARCHAR2(6) PRIMARY KEY,
+                        LAST_SCN   NUMBER NOT NULL,
+                        UPDATED_AT TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL
+                    )
+                    """);
+            System.out.println("워터마크 테이블 " + WATERMARK_TABLE + " 생성 완료");
+        }
+    }
+
+    /**
+     * 해당 월의 마지막 처리 SCN (없으면 -1)
+     */
+    static long readWatermark(Connection conn, String yyyymm) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT LAST_SCN FROM BONUS_COUPON_WATERMARK WHERE YYYYMM = ?")) {
+            pstmt.setString(1, yyyymm);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : -1;
+            }
+        }
+    }
+
+    private static long currentScn(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT DBMS_FLASHBACK.GET_SYSTEM_CHANGE_NUMBER FROM DUAL")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void saveWatermark(Connection conn, String yyyymm, long scn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("""
+                MERGE INTO BONUS_COUPON_WATERMARK w
+                USING (SELECT ? AS YYYYMM, ? AS LAST_SCN FROM DUAL) s
+                ON (w.YYYYMM = s.YYYYMM)
+                WHEN MATCHED THEN UPDATE SET w.LAST_SCN = s.LAST_SCN, w.UPDATED_AT = SYSTIMESTAMP
+                WHEN NOT MATCHED THEN INSERT (YYYYMM, LAST_SCN) VALUES (s.YYYYMM, s.LAST_SCN)
+                """)) {
+            pstmt.setString(1, yyyymm);
+            pstmt.setLong(2, scn);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * CUSTOMER에서 삭제된 고객의 해당 월 쿠폰 삭제 (ORA_ROWSCN으로는 삭제된 행을 찾을 수 없으므로 Anti-Join)
+     */
+    private static long deleteOrphans(Connection conn, BatchContext ctx) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("""
+                DELETE FROM %s b
+                WHERE b.YYYYMM = ?
+                  AND NOT EXISTS (SELECT 1 FROM CUSTOMER c WHERE c.ID = b.CUSTOMER_ID)
+                """.formatted(ctx.targetTable()))) {
+            pstmt.setString(1, ctx.yyyymm());
+            return pstmt.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.kopo.jimin;
+
+/**
+ * 지연 시간 분포 (HdrHistogram 방식의 로그-선형 구간, 외부 라이브러리 없이)
+ * 구조: 2의 거듭제곱 구간마다 32개 하위 구간 → 값의 상대 오차 약 3% 이내, 0 ~ 약 4.8시간(ns) 기록
+ * 특징: 기록은 배열 증가 1번 (할당 없음), 스레드별로 기록하고 마지막에 merge로 합산
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 44;
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+
+    private final long[] counts = new long[(MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS];
+    private long totalCount = 0;
+    private long totalNanos = 0;
+    private long maxNanos = 0;
+
+    /**
+     * 1건 기록 (음수는 0, 범위를 넘으면 최대 구간으로)
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        counts[indexOf(value)]++;
+        totalCount++;
+        totalNanos += value;
+        if (value > maxNanos) {
+            maxNanos = value;
+        }
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * 구간에 속하는 가장 큰 값 (백분위 결과는 이 값으로 보고 → 실제보다 작게 보고하지 않음)
+     */
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        totalNanos += other.totalNanos;
+        maxNanos = Math.max(maxNanos, other.maxNanos);
+    }
+
+    /**
+     * 백분위 값 (percentile: 0 ~ 100, 기록이 없으면 0)
+     */
+    public long percentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(totalCount * Math.min(percentile, 100.0) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    public long count() {
+        return totalCount;
+    }
+
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    public long maxNanos() {
+        return maxNanos;
+    }
+
+    public double meanNanos() {
+        return totalCount == 0 ? 0 : (double) totalNanos / totalCount;
+    }
+}
@@ -0,0 +1,204 @@
+package com.kopo.jimin;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 원격 DB 네트워크 조건 (라운드트립 지연, 지터, 대역폭) 재현
+ * 특징: 호출 1번 = 라운드트립 1번으로 보고 rtt ± jitter만큼 대기,
+ *       전송량은 URL 1개(= 회선 1개)를 모든 Connection이 나누어 쓰는 대역폭으로 계산
+ *       → 파티션 병렬 처리에서도 지연은 Connection마다, 대역폭은 공유
+ * 옵션: rtt=왕복 지연(ms), jitter=지연 변동폭(±ms), kbps=대역폭(kbit/s, 0이면 무제한)
+ */
+public class LatencyProfile {
+
+    /**
+     * 지연을 주입한 호출 종류 (요약 출력용)
+     */
+    enum RoundTrip {
+        QUERY("executeQuery"),
+        FETCH("Fetch"),
+        UPDATE("executeUpdate"),
+        BATCH("executeBatch"),
+        CALL("execute"),
+        COMMIT("Commit/Rollback");
+
+        private final String label;
+
+        RoundTrip(String label) {
+            this.label = label;
+        }
+    }
+
+    private final double rttMillis;
+    private final double jitterMillis;
+    private final long bytesPerSecond;
+
+    private final LongAdder[] roundTrips = new LongAdder[RoundTrip.values().length];
+    private final LongAdder transferredBytes = new LongAdder();
+    private final LongAdder injectedNanos = new LongAdder();
+    private long linkFreeAt = 0;
+
+    public LatencyProfile(double rttMillis, double jitterMillis, long kbps) {
+        if (rttMillis < 0 || jitterMillis < 0 || kbps < 0) {
+            throw new IllegalArgumentException("지연 / 지터 / 대역폭은 0 이상이어야 합니다.");
+        }
+        this.rttMillis = rttMillis;
+        this.jitterMillis = jitterMillis;
+        this.bytesPerSecond = kbps * 1000 / 8;
+        for (int i = 0; i < roundTrips.length; i++) {
+            roundTrips[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * "rtt=20,jitter=2,kbps=10000" 형식 옵션 해석 (생략한 항목은 0)
+     */
+    public static LatencyProfile parse(String options) {
+        double rtt = 0;
+        double jitter = 0;
+        long kbps = 0;
+        for (String option : options.split("[,;]")) {
+            if (option.isBlank()) {
+                continue;
+            }
+            int eq = option.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("지연 옵션 형식이 올바르지 않습니다 (항목=값): " + option);
+            }
+            String key = option.substring(0, eq).trim().toLowerCase(Locale.ROOT);
+            String value = option.substring(eq + 1).trim();
+            try {
+                switch (key) {
+                    case "rtt" -> rtt = Double.parseDouble(value);
+                    case "jitter" -> jitter = Double.parseDouble(value);
+                    case "kbps" -> kbps = Long.parseLong(value);
+                    default -> throw new IllegalArgumentException("알 수 없는 지연 옵션: " + key + " (rtt|jitter|kbps)");
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("지연 옵션 값이 올바르지 않습니다: " + option, e);
+            }
+        }
+        return new LatencyProfile(rtt, jitter, kbps);
+    }
+
+    /**
+     * 라운드트립 1번 (요청 + 응답 전송량만큼 대역폭 대기 후 rtt ± jitter 대기)
+     */
+    void roundTrip(RoundTrip type, long bytes) {
+        roundTrips[type.ordinal()].increment();
+        long start = System.nanoTime();
+        transfer(bytes);
+        double millis = rttMillis;
+        if (jitterMillis > 0) {
+            millis += ThreadLocalRandom.current().nextDouble(-jitterMillis, jitterMillis);
+        }
+        sleepUntil(System.nanoTime() + (long) (Math.max(millis, 0) * 1_000_000));
+        injectedNanos.add(System.nanoTime() - start);
+    }
+
+    /**
+     * 라운드트립 없이 데이터 전송만 (Fetch 창의 남은 행 등)
+     */
+    void transfer(long bytes) {
+        if (bytes <= 0) {
+            return;
+        }
+        transferredBytes.add(bytes);
+        if (bytesPerSecond == 0) {
+            return;
+        }
+        // 회선은 1번에 1개 전송만 → 앞선 전송이 끝나는 시각 이후로 예약
+        long deadline;
+        synchronized (this) {
+            long now = System.nanoTime();
+            linkFreeAt = Math.max(linkFreeAt, now) + bytes * 1_000_000_000L / bytesPerSecond;
+            deadline = linkFreeAt;
+        }
+        long start = System.nanoTime();
+        sleepUntil(deadline);
+        injectedNanos.add(System.nanoTime() - start);
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * 전송량 추정 (문자열은 UTF-8 평균 1바이트/문자, 숫자는 Oracle NUMBER 크기 기준)
+     */
+    static long estimateBytes(Object value) {
+        if (value == null) {
+            return 1;
+        }
+        if (value instanceof CharSequence text) {
+            return text.length() + 1;
+        }
+        if (value instanceof BigDecimal number) {
+            return number.precision() / 2 + 2;
+        }
+        if (value instanceof Number) {
+            return 8;
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length + 1;
+        }
+        if (value instanceof Object[] elements) {
+            long sum = 0;
+            for (Object element : elements) {
+                sum += estimateBytes(element);
+            }
+            return sum;
+        }
+        if (value instanceof Array array) {
+            try {
+                return estimateBytes(array.getArray());
+            } catch (SQLException e) {
+                return 0;
+            }
+        }
+        return 8;
+    }
+
+    public long roundTripCount() {
+        long sum = 0;
+        for (LongAdder count : roundTrips) {
+            sum += count.sum();
+        }
+        return sum;
+    }
+
+    public long roundTripCount(RoundTrip type) {
+        return roundTrips[type.ordinal()].sum();
+    }
+
+    /**
+     * 주입한 지연 요약 출력 (Connection 종료 시)
+     */
+    public void printSummary(String label) {
+        StringBuilder detail = new StringBuilder();
+        for (RoundTrip type : RoundTrip.values()) {
+            long count = roundTrips[type.ordinal()].sum();
+            if (count > 0) {
+                detail.append(detail.isEmpty() ? "" : ", ").append(type.label).append(' ')
+                        .append(String.format("%,d", count));
+            }
+        }
+        System.out.printf("[지연 주입 %s] 라운드트립 %,d회 (%s), 전송 %,d KB, 주입 지연 %,d ms%n",
+                label, roundTripCount(), detail, transferredBytes.sum() / 1024, injectedNanos.sum() / 1_000_000);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("rtt=%.1fms, jitter=±%.1fms, 대역폭=%s", rttMillis, jitterMillis,
+                bytesPerSecond == 0 ? "무제한" : String.format("%,dkbps", bytesPerSecond * 8 / 1000));
+    }
+}
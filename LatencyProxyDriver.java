@@ -0,0 +1,325 @@
+package com.kopo.jimin;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * 지연 주입 JDBC 드라이버 (원격 DB 환경 B를 로컬 DB 1대로 재현)
+ * 사용법: db.url=jdbc:latency:rtt=20,jitter=2,kbps=10000:jdbc:oracle:thin:@//localhost:1521/XE
+ *         → 뒤쪽 실제 URL로 접속하고 Connection / Statement / ResultSet을 Proxy로 감싸서
+ *           executeQuery, Fetch(Fetch Size 단위), executeUpdate, executeBatch, execute, Commit마다
+ *           라운드트립 지연(LatencyProfile)을 주입
+ * 특징: 같은 URL의 Connection은 LatencyProfile 1개(= 회선 1개)를 공유하므로 병렬 전략은 대역폭을 나누어 씀
+ *       Fetch는 Oracle처럼 executeQuery 응답에 첫 Fetch Size만큼 포함, 이후 Fetch Size 행마다 1번
+ *       (Fetch Size를 지정하지 않으면 Oracle 기본값 10)
+ * 등록: BatchConfig가 db.url이 jdbc:latency:로 시작하면 자동 등록 (Calc_Bonus_by_* 클래스 포함)
+ */
+public class LatencyProxyDriver implements Driver {
+
+    public static final String URL_PREFIX = "jdbc:latency:";
+
+    private static final int ORACLE_DEFAULT_FETCH_SIZE = 10;
+    private static final Map<String, LatencyProfile> PROFILES = new ConcurrentHashMap<>();
+    private static final AtomicInteger CLOSED_CONNECTIONS = new AtomicInteger();
+    private static volatile boolean registered = false;
+
+    /**
+     * DriverManager에 1번만 등록
+     */
+    public static synchronized void register() {
+        if (registered) {
+            return;
+        }
+        try {
+            DriverManager.registerDriver(new LatencyProxyDriver());
+            registered = true;
+        } catch (SQLException e) {
+            throw new IllegalStateException("지연 주입 드라이버 등록 실패", e);
+        }
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url != null && url.startsWith(URL_PREFIX);
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        if (!acceptsURL(url)) {
+            return null;
+        }
+
+        // 1. "옵션:실제 URL" 분리 (옵션 생략시 jdbc:latency:jdbc:oracle:... 형식도 허용)
+        String rest = url.substring(URL_PREFIX.length());
+        String options = "";
+        String targetUrl = rest;
+        if (!rest.startsWith("jdbc:")) {
+            int separator = rest.indexOf(":jdbc:");
+            if (separator < 0) {
+                throw new SQLException("지연 주입 URL 형식이 올바르지 않습니다 (jdbc:latency:옵션:실제 URL): " + url);
+            }
+            options = rest.substring(0, separator);
+            targetUrl = rest.substring(separator + 1);
+        }
+
+        String printedUrl = targetUrl;
+        LatencyProfile profile = PROFILES.computeIfAbsent(options, key -> {
+            LatencyProfile created = LatencyProfile.parse(key);
+            System.out.println("지연 주입 드라이버 사용: " + created + " → " + printedUrl);
+            return created;
+        });
+
+        // 2. 실제 드라이버로 접속 (접속 절차도 라운드트립 1번으로 계산)
+        Connection target = DriverManager.getConnection(targetUrl, info);
+        profile.roundTrip(LatencyProfile.RoundTrip.CALL, 0);
+        return proxy(Connection.class, new ConnectionHandler(target, profile));
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(LatencyProxyDriver.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * 실제 객체의 메서드 호출 (드라이버가 던진 SQLException을 그대로 전달)
+     */
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Connection: Statement 생성 결과를 감싸고 Commit / Rollback에 지연 주입
+     */
+    private static class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final LatencyProfile profile;
+
+        ConnectionHandler(Connection target, LatencyProfile profile) {
+            this.target = target;
+            this.profile = profile;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "createStatement" -> {
+                    return proxy(Statement.class,
+                            new StatementHandler((Statement) forward(target, method, args), null, profile));
+                }
+                case "prepareStatement" -> {
+                    return proxy(PreparedStatement.class,
+                            new StatementHandler((Statement) forward(target, method, args), (String) args[0], profile));
+                }
+                case "prepareCall" -> {
+                    return proxy(CallableStatement.class,
+                            new StatementHandler((Statement) forward(target, method, args), (String) args[0], profile));
+                }
+                case "commit", "rollback" -> {
+                    Object result = forward(target, method, args);
+                    profile.roundTrip(LatencyProfile.RoundTrip.COMMIT, 0);
+                    return result;
+                }
+                case "close" -> {
+                    boolean wasOpen = !target.isClosed();
+                    Object result = forward(target, method, args);
+                    if (wasOpen) {
+                        profile.printSummary("누적, Connection " + CLOSED_CONNECTIONS.incrementAndGet() + "개 종료");
+                    }
+                    return result;
+                }
+                default -> {
+                    return forward(target, method, args);
+                }
+            }
+        }
+    }
+
+    /**
+     * Statement / PreparedStatement / CallableStatement: 실행마다 라운드트립 1번
+     * 전송량은 SQL 문자열 + 바인딩 값 (addBatch로 쌓인 값은 executeBatch 1번에 함께 전송)
+     */
+    private static class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final LatencyProfile profile;
+        private final long sqlBytes;
+        private final Map<Integer, Long> parameterBytes = new HashMap<>();
+        private long batchBytes = 0;
+
+        StatementHandler(Statement target, String sql, LatencyProfile profile) {
+            this.target = target;
+            this.profile = profile;
+            this.sqlBytes = sql == null ? 0 : sql.length();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            // 바인딩 값 크기 기록 (setString(1, ...) 등, 같은 위치를 다시 바인딩하면 덮어씀)
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameterBytes.put(index, LatencyProfile.estimateBytes(args[1]));
+                return forward(target, method, args);
+            }
+
+            switch (name) {
+                case "clearParameters" -> parameterBytes.clear();
+                case "addBatch" -> batchBytes += args == null ? boundBytes() : ((String) args[0]).length();
+                case "clearBatch" -> batchBytes = 0;
+                case "executeQuery" -> {
+                    ResultSet rs = (ResultSet) forward(target, method, args);
+                    profile.roundTrip(LatencyProfile.RoundTrip.QUERY, requestBytes(args));
+                    return wrap(rs);
+                }
+                case "executeUpdate", "executeLargeUpdate" -> {
+                    Object result = forward(target, method, args);
+                    profile.roundTrip(LatencyProfile.RoundTrip.UPDATE, requestBytes(args));
+                    return result;
+                }
+                case "executeBatch", "executeLargeBatch" -> {
+                    Object result = forward(target, method, args);
+                    profile.roundTrip(LatencyProfile.RoundTrip.BATCH, sqlBytes + batchBytes);
+                    batchBytes = 0;
+                    return result;
+                }
+                case "execute" -> {
+                    Object result = forward(target, method, args);
+                    profile.roundTrip(LatencyProfile.RoundTrip.CALL, requestBytes(args));
+                    return result;
+                }
+                default -> {
+                }
+            }
+
+            Object result = forward(target, method, args);
+            return result instanceof ResultSet rs && method.getReturnType() == ResultSet.class ? wrap(rs) : result;
+        }
+
+        private long boundBytes() {
+            long sum = 0;
+            for (long bytes : parameterBytes.values()) {
+                sum += bytes;
+            }
+            return sum;
+        }
+
+        /**
+         * Statement는 SQL 문자열, PreparedStatement는 SQL(첫 실행 Parse 기준 근사) + 바인딩 값
+         */
+        private long requestBytes(Object[] args) {
+            return args != null && args.length > 0 && args[0] instanceof String sql
+                    ? sql.length()
+                    : sqlBytes + boundBytes();
+        }
+
+        private ResultSet wrap(ResultSet rs) throws SQLException {
+            if (rs == null) {
+                return null;
+            }
+            int fetchSize = rs.getFetchSize() > 0 ? rs.getFetchSize()
+                    : target.getFetchSize() > 0 ? target.getFetchSize() : ORACLE_DEFAULT_FETCH_SIZE;
+            return proxy(ResultSet.class, new ResultSetHandler(rs, profile, fetchSize));
+        }
+    }
+
+    /**
+     * ResultSet: Fetch Size 행마다 Fetch 라운드트립 1번 (첫 창은 executeQuery 응답에 포함)
+     * 전송량은 읽은 컬럼 값 크기 합계를 창 단위로 모아서 계산
+     */
+    private static class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final LatencyProfile profile;
+        private int fetchSize;
+        private int rowsInWindow = 0;
+        private long windowBytes = 0;
+
+        ResultSetHandler(ResultSet target, LatencyProfile profile, int fetchSize) {
+            this.target = target;
+            this.profile = profile;
+            this.fetchSize = fetchSize;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "next" -> {
+                    if (rowsInWindow >= fetchSize) {
+                        profile.roundTrip(LatencyProfile.RoundTrip.FETCH, windowBytes);
+                        rowsInWindow = 0;
+                        windowBytes = 0;
+                    }
+                    boolean hasRow = (Boolean) forward(target, method, args);
+                    if (hasRow) {
+                        rowsInWindow++;
+                    } else {
+                        flushWindow();
+                    }
+                    return hasRow;
+                }
+                case "setFetchSize" -> {
+                    Object result = forward(target, method, args);
+                    int requested = (Integer) args[0];
+                    fetchSize = requested > 0 ? requested : fetchSize;
+                    return result;
+                }
+                case "close" -> {
+                    flushWindow();
+                    return forward(target, method, args);
+                }
+                default -> {
+                    Object result = forward(target, method, args);
+                    if (name.startsWith("get") && args != null && args.length == 1
+                            && !name.equals("getMetaData") && !name.equals("getStatement")) {
+                        windowBytes += LatencyProfile.estimateBytes(result);
+                    }
+                    return result;
+                }
+            }
+        }
+
+        private void flushWindow() {
+            profile.transfer(windowBytes);
+            windowBytes = 0;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.kopo.jimin;
+
+import java.math.BigDecimal;
+
+/**
+ * 기존 Calc_Bonus_by_* 클래스의 calculateCouponCode를 그대로 옮긴 쿠폰 계산기
+ * 특징: BigDecimal 비교 + 주소 문자열 연결 (성능 비교 기준)
+ */
+public class LegacyCouponRuleEvaluator implements CouponRuleEvaluator {
+
+    @Override
+    public String evaluate(CustomerRow row) {
+        return calculateCouponCode(row.creditLimit(), row.gender(), row.fullAddress());
+    }
+
+    /**
+     * 쿠폰 코드 계산 로직
+     */
+    static String calculateCouponCode(BigDecimal creditLimit, String gender, String address) {
+        try {
+            if (creditLimit == null) {
+                return null;
+            }
+
+            if (creditLimit.compareTo(new BigDecimal("1000")) < 0) {
+                return "AA";
+            } else if (creditLimit.compareTo(new BigDecimal("1000")) >= 0 &&
+                    creditLimit.compareTo(new BigDecimal("3000")) < 0) {
+                return "BB";
+            } else if (creditLimit.compareTo(new BigDecimal("3000")) >= 0 &&
+                    creditLimit.compareTo(new BigDecimal("4000")) < 0) {
+                if ("F".equals(gender) && address != null &&
+                        address.contains("송파구") && address.contains("풍납1동")) {
+                    return "C2";
+                }
+                return "CC";
+            } else if (creditLimit.compareTo(new BigDecimal("4000")) >= 0) {
+                return "DD";
+            }
+            return null;
+
+        } catch (Exception e) {
+            System.err.printf("쿠폰 코드 계산 오류 - creditLimit: %s, gender: %s: %s%n",
+                    creditLimit, gender, e.getMessage());
+            return null;
+        }
+    }
+}
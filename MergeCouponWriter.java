@@ -0,0 +1,119 @@
+package com.kopo.jimin;
+
+import java.sql.*;
+
+/**
+ * 증분 처리용 Writer (MERGE + DELETE, addBatch/executeBatch)
+ * 특징: 같은 달에 이미 발급된 고객은 갱신, 없으면 INSERT (재실행해도 결과 동일)
+ *       쿠폰 코드가 바뀐 경우 SEND_DT를 비워서 다시 발송 대상이 되도록 함
+ *       대상에서 빠진 고객(가입일/필수값 변경)은 remove로 해당 월 쿠폰 삭제
+ */
+public class MergeCouponWriter implements CouponWriter {
+
+    private static final String MERGE_SQL = """
+            MERGE INTO %s b
+            USING (SELECT ? AS YYYYMM, ? AS CUSTOMER_ID, ? AS EMAIL, ? AS COUPON_CD, ? AS CREDIT_POINT FROM DUAL) s
+            ON (b.YYYYMM = s.YYYYMM AND b.CUSTOMER_ID = s.CUSTOMER_ID)
+            WHEN MATCHED THEN UPDATE SET
+                b.SEND_DT = CASE WHEN b.COUPON_CD = s.COUPON_CD THEN b.SEND_DT END,
+                b.EMAIL = s.EMAIL,
+                b.COUPON_CD = s.COUPON_CD,
+                b.CREDIT_POINT = s.CREDIT_POINT
+            WHEN NOT MATCHED THEN INSERT
+                (YYYYMM, CUSTOMER_ID, EMAIL, COUPON_CD, CREDIT_POINT, SEND_DT)
+                VALUES (s.YYYYMM, s.CUSTOMER_ID, s.EMAIL, s.COUPON_CD, s.CREDIT_POINT, NULL)
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM %s WHERE YYYYMM = ? AND CUSTOMER_ID = ?";
+
+    private final PreparedStatement mergePstmt;
+    private final PreparedStatement deletePstmt;
+    private final int batchSize;
+    private int pendingMerges = 0;
+    private int pendingDeletes = 0;
+    private int sqlExecutionCount = 0;
+    private long deleteCount = 0;
+
+    public MergeCouponWriter(Connection conn, BatchContext ctx, int batchSize) throws SQLException {
+        this.batchSize = batchSize;
+        mergePstmt = conn.prepareStatement(MERGE_SQL.formatted(ctx.targetTable()));
+        try {
+            deletePstmt = conn.prepareStatement(DELETE_SQL.formatted(ctx.targetTable()));
+        } catch (SQLException e) {
+            mergePstmt.close();
+            throw e;
+        }
+        mergePstmt.setString(1, ctx.yyyymm());
+        deletePstmt.setString(1, ctx.yyyymm());
+    }
+
+    @Override
+    public void write(CustomerRow row, String couponCode) throws SQLException {
+        mergePstmt.setString(2, row.id());
+        mergePstmt.setString(3, row.email());
+        mergePstmt.setString(4, couponCode);
+        mergePstmt.setBigDecimal(5, row.creditLimit());
+        mergePstmt.addBatch();
+        if (++pendingMerges >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * 발급 대상에서 빠진 고객의 해당 월 쿠폰 삭제 (발급 이력이 없으면 영향 없음)
+     */
+    public void remove(String customerId) throws SQLException {
+        deletePstmt.setString(2, customerId);
+        deletePstmt.addBatch();
+        if (++pendingDeletes >= batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        if (pendingMerges > 0) {
+            mergePstmt.executeBatch();
+            mergePstmt.clearBatch();
+            sqlExecutionCount++;
+            pendingMerges = 0;
+        }
+        if (pendingDeletes > 0) {
+            for (int count : deletePstmt.executeBatch()) {
+                deleteCount += Math.max(count, 0);
+            }
+            deletePstmt.clearBatch();
+            sqlExecutionCount++;
+            pendingDeletes = 0;
+        }
+    }
+
+    @Override
+    public void clear() throws SQLException {
+        mergePstmt.clearBatch();
+        deletePstmt.clearBatch();
+        pendingMerges = 0;
+        pendingDeletes = 0;
+    }
+
+    /**
+     * 실제 삭제된 쿠폰 건수 (드라이버가 건수를 알려주지 않으면 0으로 집계)
+     */
+    public long deleteCount() {
+        return deleteCount;
+    }
+
+    @Override
+    public int sqlExecutionCount() {
+        return sqlExecutionCount;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            mergePstmt.close();
+        } finally {
+            deletePstmt.close();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.kopo.jimin;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * 발송 흉내 (외부 발송 API 응답 시간만큼 대기 후 성공)
+ * 특징: 동시 발송 수 / 도메인별 속도 제한 / SEND_DT 일괄 기록을 외부 시스템 없이 측정할 때 사용
+ */
+public class MockCouponSender implements CouponSender {
+
+    private final int latencyMillis;
+
+    public MockCouponSender(int latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public void send(PendingCoupon coupon) throws IOException {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("발송 대기 중 인터럽트 발생");
+        }
+    }
+}
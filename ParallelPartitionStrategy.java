@@ -0,0 +1,176 @@
+package com.kopo.jimin;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * 파티션 병렬 처리 전략
+ * 처리방식: CUSTOMER를 ID 범위로 N등분 → 파티션마다 별도 Connection + 스레드에서
+ *           조회/쿠폰 계산/Writer/Commit을 독립 수행 → 결과 합산
+ * 효과: DB 세션 1개, Client 코어 1개에 묶여 있던 처리량을 파티션 수만큼 확장
+ * 가상 스레드 모드: 파티션마다 가상 스레드 1개 (JDK 21), 동시 Connection 수는 Semaphore로 제한
+ *                  → 고지연 환경에서 플랫폼 스레드보다 훨씬 많은 파티션을 잘게 나누어 동시 대기 가능
+ */
+public class ParallelPartitionStrategy implements CouponBatchStrategy {
+
+    private final String name;
+    private final ClientSideStrategy delegate;
+    private final boolean virtualThreads;
+
+    public ParallelPartitionStrategy(String name, ClientSideStrategy delegate) {
+        this(name, delegate, false);
+    }
+
+    public ParallelPartitionStrategy(String name, ClientSideStrategy delegate, boolean virtualThreads) {
+        this.name = name;
+        this.delegate = delegate;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String description() {
+        return delegate.description() + (virtualThreads
+                ? " + ID 범위 파티션별 가상 스레드 (Connection Semaphore)"
+                : " + ID 범위 파티션 병렬 처리");
+    }
+
+    @Override
+    public BatchStats execute(Connection conn, BatchContext ctx) throws SQLException {
+        BatchStats total = new BatchStats(name);
+
+        // 1. ID 범위 파티션 계산 (재시작시 체크포인트에 저장된 범위를 그대로 사용)
+        List<CustomerPartition> partitions = ctx.resume() ? resumedPartitions(conn, ctx) : List.of();
+        if (partitions.isEmpty()) {
+            partitions = CustomerPartitioner.split(conn, ctx, ctx.partitionCount());
+            if (ctx.checkpointEnabled()) {
+                // 한 번도 Commit하지 못한 파티션도 재시작시 범위를 알 수 있도록 시작 전에 기록
+                CheckpointStore checkpoints = new CheckpointStore(ctx.yyyymm());
+                for (CustomerPartition partition : partitions) {
+                    checkpoints.save(conn, runName(partition), partition, null, new BatchStats(name), false);
+                }
+                conn.commit();
+            }
+        }
+        int connectionLimit = virtualThreads ? Math.max(1, ctx.maxConnections()) : Math.max(1, partitions.size());
+        System.out.printf("파티션 %d개로 분할 (%s, 동시 Connection 최대 %d개)%n", partitions.size(),
+                virtualThreads ? "가상 스레드" : "플랫폼 스레드", connectionLimit);
+        for (CustomerPartition partition : partitions) {
+            System.out.println("  " + partition);
+        }
+
+        // 2. 파티션별 병렬 실행
+        Semaphore connectionPermits = new Semaphore(connectionLimit);
+        ExecutorService executor = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(connectionLimit);
+        List<BatchStats> partitionStats = new ArrayList<>(partitions.size());
+        try {
+            List<Future<BatchStats>> futures = new ArrayList<>(partitions.size());
+            for (CustomerPartition partition : partitions) {
+                futures.add(executor.submit(() -> processPartition(ctx, partition, connectionPermits)));
+            }
+
+            // 3. 결과 합산 (실패한 파티션이 있어도 나머지 결과는 모두 수집)
+            SQLException firstFailure = null;
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    BatchStats stats = futures.get(i).get();
+                    partitionStats.add(stats);
+                    total.merge(stats);
+                } catch (ExecutionException e) {
+                    total.errorCount++;
+                    System.err.printf("파티션 %s 처리 실패: %s%n", partitions.get(i), e.getCause().getMessage());
+                    if (firstFailure == null) {
+                        firstFailure = e.getCause() instanceof SQLException sqlEx ? sqlEx
+                                : new SQLException("파티션 처리 실패: " + e.getCause(), e.getCause());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("파티션 처리 대기 중 인터럽트 발생", e);
+                }
+            }
+            if (firstFailure != null) {
+                throw firstFailure;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        total.finish();
+        printPartitionReport(partitionStats, total);
+        return total;
+    }
+
+    @Override
+    public boolean supportsCheckpoint() {
+        return true;
+    }
+
+    private String runName(CustomerPartition partition) {
+        return name + "#P" + partition.index();
+    }
+
+    /**
+     * 체크포인트에 저장된 파티션 범위 (재시작 전후 NTILE 경계가 달라지지 않도록)
+     */
+    private List<CustomerPartition> resumedPartitions(Connection conn, BatchContext ctx) throws SQLException {
+        List<CustomerPartition> partitions = new ArrayList<>();
+        for (CheckpointStore.Checkpoint checkpoint : new CheckpointStore(ctx.yyyymm()).load(conn, name)) {
+            if (checkpoint.partition() != null) {
+                partitions.add(checkpoint.partition());
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * 파티션 1개 처리 (Semaphore 획득 후 전용 Connection 사용)
+     */
+    private BatchStats processPartition(BatchContext ctx, CustomerPartition partition,
+                                        Semaphore connectionPermits) throws SQLException, InterruptedException {
+        connectionPermits.acquire();
+        try (Connection conn = ctx.openConnection()) {
+            try {
+                return delegate.process(conn, ctx, partition, runName(partition));
+            } catch (SQLException e) {
+                CouponBatchEngine.rollbackQuietly(conn);
+                throw e;
+            }
+        } finally {
+            connectionPermits.release();
+        }
+    }
+
+    /**
+     * 파티션별 / 전체 처리량 출력
+     */
+    private static void printPartitionReport(List<BatchStats> partitionStats, BatchStats total) {
+        System.out.println("\n=== 파티션별 처리량 ===");
+        System.out.println("파티션\t\t조회건수\t발급건수\t처리시간(ms)\t처리속도(건/초)");
+        System.out.println("----------------------------------------------------------------");
+        long busyMillis = 0;
+        for (BatchStats stats : partitionStats) {
+            busyMillis += stats.elapsedMillis();
+            System.out.printf("%s\t%,d\t\t%,d\t\t%,d\t\t%,.0f%n",
+                    stats.strategyName(), stats.processedCount(), stats.insertCount(),
+                    stats.elapsedMillis(), throughput(stats.processedCount(), stats.elapsedMillis()));
+        }
+
+        System.out.printf("%n전체 처리속도: %,.0f건/초 (경과 %,d ms)%n",
+                throughput(total.processedCount(), total.elapsedMillis()), total.elapsedMillis());
+        if (total.elapsedMillis() > 0) {
+            System.out.printf("평균 동시 실행 파티션: %.1f개%n", (double) busyMillis / total.elapsedMillis());
+        }
+    }
+
+    private static double throughput(long rows, long millis) {
+        return millis > 0 ? rows / (millis / 1000.0) : 0;
+    }
+}
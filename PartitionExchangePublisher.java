@@ -0,0 +1,122 @@
+package com.kopo.jimin;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 파티션 교환 발행 방식
+ * 처리방식: 1. 인덱스 없는 NOLOGGING 스테이징 테이블(BONUS_COUPON_STG_YYYYMM) 생성
+ *           2. 전략이 스테이징 테이블에 INSERT (중간 Commit이 있어도 BONUS_COUPON 조회에는 보이지 않음)
+ *           3. BONUS_COUPON의 로컬 인덱스와 같은 인덱스를 스테이징 테이블에 일괄 생성
+ *           4. ALTER TABLE ... EXCHANGE PARTITION으로 해당 월 파티션과 교환 (딕셔너리 변경만, 원자적)
+ * 전제: BONUS_COUPON이 YYYYMM 기준 LIST 파티션 테이블 (파티션 이름 P + YYYYMM, 없으면 추가)
+ * 주의: NOLOGGING으로 적재한 파티션은 Redo가 없으므로 발행 후 백업 필요
+ *       실행이 실패하면 BONUS_COUPON은 그대로이고 스테이징 테이블은 다음 실행 시 삭제
+ */
+public class PartitionExchangePublisher implements CouponPublisher {
+
+    private static final String LIVE_TABLE = TruncatePublisher.LIVE_TABLE;
+
+    @Override
+    public String targetTable(BatchContext ctx) {
+        return LIVE_TABLE + "_STG_" + ctx.yyyymm();
+    }
+
+    private static String partitionName(BatchContext ctx) {
+        return "P" + ctx.yyyymm();
+    }
+
+    @Override
+    public void prepare(Connection conn, BatchContext ctx) throws SQLException {
+        String staging = targetTable(ctx);
+
+        try (Statement stmt = conn.createStatement()) {
+            // 1. 파티션 테이블 여부 확인
+            if (!exists(conn, "SELECT COUNT(*) FROM USER_PART_TABLES WHERE TABLE_NAME = ?", LIVE_TABLE)) {
+                throw new SQLException(LIVE_TABLE + "이 YYYYMM 기준 LIST 파티션 테이블이 아니므로 파티션 교환 발행을 할 수 없습니다.");
+            }
+
+            // 2. 발행할 월 파티션 준비 (없으면 빈 파티션 추가)
+            if (!exists(conn, "SELECT COUNT(*) FROM USER_TAB_PARTITIONS WHERE TABLE_NAME = '" + LIVE_TABLE
+                    + "' AND PARTITION_NAME = ?", partitionName(ctx))) {
+                stmt.execute(String.format("ALTER TABLE %s ADD PARTITION %s VALUES ('%s')",
+                        LIVE_TABLE, partitionName(ctx), ctx.yyyymm()));
+                System.out.printf("%s 파티션 %s 추가 완료%n", LIVE_TABLE, partitionName(ctx));
+            }
+
+            // 3. 이전 실행의 스테이징 테이블 삭제
+            if (exists(conn, "SELECT COUNT(*) FROM USER_TABLES WHERE TABLE_NAME = ?", staging)) {
+                stmt.execute("DROP TABLE " + staging + " PURGE");
+            }
+
+            // 4. 인덱스 없는 NOLOGGING 스테이징 테이블 생성 (BONUS_COUPON과 동일한 컬럼 구성)
+            stmt.execute(String.format("CREATE TABLE %s NOLOGGING AS SELECT * FROM %s WHERE 1 = 0",
+                    staging, LIVE_TABLE));
+            System.out.printf("스테이징 테이블 %s 생성 완료 (BONUS_COUPON은 발행 전까지 기존 데이터 유지)%n", staging);
+        }
+    }
+
+    @Override
+    public void publish(Connection conn, BatchContext ctx) throws SQLException {
+        String staging = targetTable(ctx);
+        long startTime = System.currentTimeMillis();
+
+        try (Statement stmt = conn.createStatement()) {
+            // 1. 로컬 인덱스와 같은 구성의 인덱스를 스테이징 테이블에 일괄 생성
+            int indexNo = 0;
+            for (Map.Entry<String, List<String>> index : localIndexes(conn).entrySet()) {
+                boolean unique = index.getKey().startsWith("UNIQUE:");
+                stmt.execute(String.format("CREATE %sINDEX %s_I%d ON %s (%s) NOLOGGING",
+                        unique ? "UNIQUE " : "", staging, ++indexNo, staging, String.join(", ", index.getValue())));
+            }
+
+            // 2. 월 파티션과 교환 (조회하는 쪽은 교환 전 데이터 또는 교환 후 데이터만 봄)
+            stmt.execute(String.format(
+                    "ALTER TABLE %s EXCHANGE PARTITION %s WITH TABLE %s INCLUDING INDEXES WITHOUT VALIDATION UPDATE GLOBAL INDEXES",
+                    LIVE_TABLE, partitionName(ctx), staging));
+
+            // 3. 교환되어 나온 이전 데이터 삭제
+            stmt.execute("DROP TABLE " + staging + " PURGE");
+        }
+
+        System.out.printf("파티션 교환 발행 완료: %s → %s 파티션 %s (인덱스 생성 포함 %,d ms)%n",
+                staging, LIVE_TABLE, partitionName(ctx), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * BONUS_COUPON의 로컬 인덱스 목록 (키: [UNIQUE:]인덱스명, 값: 컬럼 순서)
+     */
+    private static Map<String, List<String>> localIndexes(Connection conn) throws SQLException {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("""
+                SELECT i.INDEX_NAME, i.UNIQUENESS, c.COLUMN_NAME
+                FROM USER_INDEXES i
+                JOIN USER_PART_INDEXES p ON p.INDEX_NAME = i.INDEX_NAME AND p.LOCALITY = 'LOCAL'
+                JOIN USER_IND_COLUMNS c ON c.INDEX_NAME = i.INDEX_NAME
+                WHERE i.TABLE_NAME = ?
+                ORDER BY i.INDEX_NAME, c.COLUMN_POSITION
+                """)) {
+            pstmt.setString(1, LIVE_TABLE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String key = ("UNIQUE".equals(rs.getString("UNIQUENESS")) ? "UNIQUE:" : "")
+                            + rs.getString("INDEX_NAME");
+                    indexes.computeIfAbsent(key, k -> new ArrayList<>()).add(rs.getString("COLUMN_NAME"));
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private static boolean exists(Connection conn, String countSql, String name) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(countSql)) {
+            pstmt.setString(1, name);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+}
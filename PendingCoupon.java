@@ -0,0 +1,25 @@
+package com.kopo.jimin;
+
+import java.math.BigDecimal;
+
+/**
+ * 발송 대상 쿠폰 1건 (BONUS_COUPON에서 SEND_DT IS NULL인 행)
+ * 특징: rowId는 SEND_DT 기록용 Oracle ROWID 문자열 (ROWID가 없는 DB는 null → YYYYMM + CUSTOMER_ID로 기록)
+ */
+public record PendingCoupon(String rowId,
+                            String customerId,
+                            String email,
+                            String couponCode,
+                            BigDecimal creditPoint) {
+
+    /**
+     * 이메일 도메인 (소문자, 도메인별 발송 속도 제한 기준, 이메일이 없거나 형식이 다르면 빈 문자열)
+     */
+    public String emailDomain() {
+        if (email == null) {
+            return "";
+        }
+        int at = email.lastIndexOf('@');
+        return at < 0 ? "" : email.substring(at + 1).trim().toLowerCase();
+    }
+}
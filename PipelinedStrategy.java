@@ -0,0 +1,247 @@
+package com.kopo.jimin;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reader/Writer 파이프라인 전략
+ * 처리방식: Reader(엔진 Connection)가 Fetch Size 단위 청크를 대기열에 넣고,
+ *           Writer 스레드들이 각자 Connection에서 쿠폰 계산 + addBatch/executeBatch + Commit 수행
+ * 효과: rs.next()의 Fetch 대기와 executeBatch 대기가 겹쳐져 원격 DB(환경 B)의 라운드트립 지연을 상쇄
+ * 특징: 대기열이 가득 차면 Reader가 대기 (메모리 사용량 = 대기열 크기 x 청크 크기로 제한)
+ */
+public class PipelinedStrategy implements CouponBatchStrategy {
+
+    private static final List<CustomerRow> END_OF_STREAM = List.of();
+    private static final long OFFER_TIMEOUT_MS = 1000;
+
+    private final String name;
+    private final int fetchSize;
+    private final int batchSize;
+    private final int commitSize;
+
+    public PipelinedStrategy(String name, int fetchSize, int batchSize, int commitSize) {
+        this.name = name;
+        this.fetchSize = fetchSize;
+        this.batchSize = batchSize;
+        this.commitSize = commitSize;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String description() {
+        return "pstmt_2 + Reader/Writer 파이프라인 (조회와 executeBatch 병행)";
+    }
+
+    @Override
+    public BatchStats execute(Connection conn, BatchContext ctx) throws SQLException {
+        BatchStats total = new BatchStats(name);
+        // 실행 설정값이 있으면 전략 기본값 대신 사용
+        int fetchSize = ctx.fetchSize(this.fetchSize);
+        int batchSize = ctx.batchSize(this.batchSize);
+        int commitSize = ctx.commitSize(this.commitSize);
+        total.fetchSize = fetchSize;
+        total.stages = ctx.newStageTimer();
+
+        int writerCount = Math.max(1, ctx.writerCount());
+        BlockingQueue<List<CustomerRow>> queue = new ArrayBlockingQueue<>(Math.max(1, ctx.queueCapacity()));
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        System.out.printf("Writer %d개 / 대기열 %d청크 x %,d건 / Batch Size %,d / Commit Size %,d%n",
+                writerCount, ctx.queueCapacity(), fetchSize, batchSize, commitSize);
+
+        ExecutorService writers = Executors.newFixedThreadPool(writerCount);
+        try {
+            List<Future<BatchStats>> futures = new ArrayList<>(writerCount);
+            for (int i = 0; i < writerCount; i++) {
+                String writerName = name + "#W" + i;
+                futures.add(writers.submit(() -> drain(ctx, queue, failure, writerName, batchSize, commitSize)));
+            }
+
+            // 1. Reader: 엔진 Connection에서 조회하여 청크 단위로 대기열에 투입
+            try {
+                readInto(conn, ctx, queue, failure, total, fetchSize);
+            } catch (SQLException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+
+            // Writer 수만큼 종료 표시 투입 (실패 상태면 Writer가 스스로 중단하므로 생략)
+            for (int i = 0; i < writerCount; i++) {
+                offer(queue, END_OF_STREAM, failure);
+            }
+
+            // 2. Writer 결과 합산
+            for (Future<BatchStats> future : futures) {
+                try {
+                    BatchStats writerStats = future.get();
+                    total.eligibleCount += writerStats.eligibleCount;
+                    total.insertCount += writerStats.insertCount;
+                    total.errorCount += writerStats.errorCount;
+                    total.commitCount += writerStats.commitCount;
+                    total.sqlExecutionCount += writerStats.sqlExecutionCount;
+                    total.stages.merge(writerStats.stages);
+                    if (total.tally == null) {
+                        total.tally = new CouponTally(writerStats.tally.hasChecksum());
+                    }
+                    total.tally.merge(writerStats.tally);
+                } catch (ExecutionException e) {
+                    failure.compareAndSet(null, (Exception) e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Writer 대기 중 인터럽트 발생", e);
+                }
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+
+        Exception cause = failure.get();
+        if (cause instanceof SQLException sqlEx) {
+            throw sqlEx;
+        } else if (cause != null) {
+            throw new SQLException("파이프라인 처리 실패: " + cause.getMessage(), cause);
+        }
+
+        total.finish();
+        return total;
+    }
+
+    /**
+     * Reader 단계: Fetch Size 단위로 청크를 만들어 대기열에 투입
+     */
+    private void readInto(Connection conn, BatchContext ctx, BlockingQueue<List<CustomerRow>> queue,
+                          AtomicReference<Exception> failure, BatchStats stats, int fetchSize) throws SQLException {
+        try (CustomerReader reader = ctx.openCustomerReader(conn, fetchSize, true, null, null)) {
+            reader.recordStages(stats.stages);
+            List<CustomerRow> chunk = new ArrayList<>(fetchSize);
+            CustomerRow row;
+            while ((row = reader.read()) != null) {
+                stats.processedCount++;
+                ctx.metrics().rowRead();
+                chunk.add(row);
+
+                if (chunk.size() == fetchSize) {
+                    if (!offer(queue, chunk, failure)) {
+                        stats.fetchCount = reader.fetchCount();
+                        return;
+                    }
+                    ctx.metrics().queueDepth(queue.size());
+                    chunk = new ArrayList<>(fetchSize);
+                }
+
+                if (stats.processedCount % 50000 == 0) {
+                    System.out.printf("[%s] 조회 진행률: %,d건 (대기열: %d청크) %s%n",
+                            name, stats.processedCount, queue.size(), stats.stages.progressLine());
+                }
+            }
+            stats.fetchCount = reader.fetchCount();
+            if (!chunk.isEmpty()) {
+                offer(queue, chunk, failure);
+            }
+        }
+    }
+
+    /**
+     * 대기열 투입 (가득 차면 대기, Writer 실패시 false 반환하여 Reader 중단)
+     */
+    private static boolean offer(BlockingQueue<List<CustomerRow>> queue, List<CustomerRow> chunk,
+                                 AtomicReference<Exception> failure) {
+        try {
+            while (failure.get() == null) {
+                if (queue.offer(chunk, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * Writer 단계: 전용 Connection에서 청크를 꺼내 쿠폰 계산 + Batch INSERT + Commit
+     */
+    private BatchStats drain(BatchContext ctx, BlockingQueue<List<CustomerRow>> queue,
+                             AtomicReference<Exception> failure, String writerName,
+                             int batchSize, int commitSize) throws Exception {
+        BatchStats stats = new BatchStats(writerName);
+        StageTimer stages = ctx.newStageTimer();
+        stats.stages = stages;
+        CouponTally tally = ctx.newCouponTally();
+        stats.tally = tally;
+        CouponRuleEvaluator evaluator = ctx.evaluator();
+
+        try (Connection conn = ctx.openConnection();
+             CouponWriter writer = new BatchCouponWriter(conn, ctx, batchSize)) {
+            writer.recordStages(stages);
+            try {
+                long uncommitted = 0;
+                while (true) {
+                    List<CustomerRow> chunk = queue.poll(OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                    if (chunk == null) {
+                        // 다른 단계가 실패하면 미Commit 분 롤백 후 중단
+                        if (failure.get() != null) {
+                            conn.rollback();
+                            return stats;
+                        }
+                        continue;
+                    }
+                    if (chunk == END_OF_STREAM) {
+                        break;
+                    }
+
+                    for (CustomerRow row : chunk) {
+                        stats.eligibleCount++;
+                        if (!row.hasRequiredFields()) {
+                            continue;
+                        }
+                        tally.target();
+                        long t = stages.start();
+                        String couponCode = evaluator.evaluate(row);
+                        stages.record(StageTimer.Stage.EVALUATE, t);
+                        if (couponCode == null) {
+                            continue;
+                        }
+                        writer.write(row, couponCode);
+                        stats.insertCount++;
+                        tally.issued(row.id(), couponCode, row.creditLimit());
+                        ctx.metrics().couponIssued(couponCode);
+                        uncommitted++;
+                    }
+
+                    // Commit Size 이상 누적시 Commit (청크 경계에서만 Commit)
+                    if (uncommitted >= commitSize) {
+                        writer.flush();
+                        long t = stages.start();
+                        conn.commit();
+                        stages.record(StageTimer.Stage.COMMIT, t);
+                        stats.commitCount++;
+                        uncommitted = 0;
+                    }
+                }
+
+                writer.flush();
+                if (uncommitted > 0) {
+                    long t = stages.start();
+                    conn.commit();
+                    stages.record(StageTimer.Stage.COMMIT, t);
+                    stats.commitCount++;
+                }
+                stats.sqlExecutionCount = writer.sqlExecutionCount();
+                return stats;
+
+            } catch (Exception e) {
+                failure.compareAndSet(null, e);
+                CouponBatchEngine.rollbackQuietly(conn);
+                throw e;
+            }
+        }
+    }
+}
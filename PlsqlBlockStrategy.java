@@ -0,0 +1,69 @@
+package com.kopo.jimin;
+
+import java.sql.*;
+
+/**
+ * DB 서버에서 쿠폰을 계산하는 전략 공통 구현 (callstmt_1 ~ callstmt_3)
+ * 처리방식: CallableStatement로 PL/SQL Anonymous Block 1회 실행 후 OUT 매개변수로 결과 수신
+ * 진행률: 반복 처리 블록은 실행 중 서버 진행률을 게시하고 별도 Connection에서 조회 (ServerProgress)
+ *         오류가 있었던 실행만 DBMS_OUTPUT 오류 메시지를 1번에 가져와 출력 (DbmsOutput)
+ */
+public class PlsqlBlockStrategy implements CouponBatchStrategy {
+
+    private final String name;
+    private final String description;
+    private final String blockTemplate;
+
+    public PlsqlBlockStrategy(String name, String description, String blockTemplate) {
+        this.name = name;
+        this.description = description;
+        this.blockTemplate = blockTemplate;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String description() {
+        return description;
+    }
+
+    // 출력할 DBMS_OUTPUT 오류 메시지 최대 줄 수
+    private static final int MAX_OUTPUT_LINES = 100;
+
+    @Override
+    public BatchStats execute(Connection conn, BatchContext ctx) throws SQLException {
+        BatchStats stats = new BatchStats(name);
+        ServerProgress progress = CouponPlsqlBlocks.reportsProgress(blockTemplate)
+                ? ServerProgress.start(ctx, name)
+                : ServerProgress.none();
+
+        try (progress;
+             CallableStatement callStmt = conn.prepareCall(CouponPlsqlBlocks.bind(blockTemplate, ctx, progress))) {
+            // OUT 매개변수 등록
+            callStmt.registerOutParameter(1, Types.INTEGER); // 처리 건수
+            callStmt.registerOutParameter(2, Types.INTEGER); // 발급 건수
+            callStmt.registerOutParameter(3, Types.INTEGER); // 오류 건수
+            callStmt.registerOutParameter(4, Types.INTEGER); // 커밋 횟수
+
+            System.out.println("CallableStatement 실행 시작 (모든 처리가 DB 서버에서 진행됩니다)");
+            callStmt.execute();
+
+            stats.processedCount = callStmt.getInt(1);
+            stats.eligibleCount = stats.processedCount;
+            stats.insertCount = callStmt.getInt(2);
+            stats.errorCount = callStmt.getInt(3);
+            stats.commitCount = callStmt.getInt(4);
+            stats.sqlExecutionCount = 1;
+        }
+        progress.finish(stats);
+        stats.finish();
+
+        if (stats.errorCount > 0) {
+            DbmsOutput.drain(conn, name, MAX_OUTPUT_LINES);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,67 @@
+package com.kopo.jimin;
+
+import java.sql.*;
+
+/**
+ * PreparedStatement 방식 Writer (pstmt_1)
+ * 특징: Hard Parsing 1번, 건별 executeUpdate
+ */
+public class PreparedCouponWriter implements CouponWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO %s
+            (YYYYMM, CUSTOMER_ID, EMAIL, COUPON_CD, CREDIT_POINT, SEND_DT)
+            VALUES (?, ?, ?, ?, ?, NULL)
+            """;
+
+    protected final PreparedStatement insertPstmt;
+    protected int sqlExecutionCount = 0;
+    protected StageTimer stages = StageTimer.DISABLED;
+
+    public PreparedCouponWriter(Connection conn, BatchContext ctx) throws SQLException {
+        insertPstmt = conn.prepareStatement(insertSql(ctx.targetTable()));
+        insertPstmt.setString(1, ctx.yyyymm());
+    }
+
+    /**
+     * 대상 테이블 INSERT문 (BONUS_COUPON 또는 교체 발행 모드의 스테이징 테이블)
+     */
+    static String insertSql(String targetTable) {
+        return INSERT_SQL.formatted(targetTable);
+    }
+
+    /**
+     * PreparedStatement 파라미터 설정 (YYYYMM은 생성시 1번만 바인딩)
+     */
+    protected void bind(CustomerRow row, String couponCode) throws SQLException {
+        insertPstmt.setString(2, row.id());            // CUSTOMER_ID
+        insertPstmt.setString(3, row.email());         // EMAIL
+        insertPstmt.setString(4, couponCode);          // COUPON_CD
+        insertPstmt.setBigDecimal(5, row.creditLimit()); // CREDIT_POINT
+    }
+
+    @Override
+    public void write(CustomerRow row, String couponCode) throws SQLException {
+        long t = stages.start();
+        bind(row, couponCode);
+        t = stages.record(StageTimer.Stage.BIND, t);
+        insertPstmt.executeUpdate();
+        stages.record(StageTimer.Stage.EXECUTE, t);
+        sqlExecutionCount++;
+    }
+
+    @Override
+    public void recordStages(StageTimer stages) {
+        this.stages = stages;
+    }
+
+    @Override
+    public int sqlExecutionCount() {
+        return sqlExecutionCount;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        insertPstmt.close();
+    }
+}
@@ -0,0 +1,187 @@
+package com.kopo.jimin;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statement + ResultSet 기반 CUSTOMER Reader
+ * 특징: Fetch Size와 SQL 조건절 사용 여부를 전략별로 지정 (stmt_1 ~ pstmt_2의 조회 부분)
+ *       파티션을 지정하면 해당 ID 범위만 조회 (병렬 처리용)
+ *       afterId를 지정하면 ID > afterId부터 조회 (체크포인트 재시작용)
+ *       자동 조정(--adaptive=true)시 Fetch Size만큼 읽는 데 걸린 시간(= Fetch 라운드트립 1회)으로
+ *       Fetch Size를 조정하여 ResultSet.setFetchSize로 다음 Fetch부터 반영
+ *       Fetch 라운드트립은 현재 Fetch Size 창을 다 읽은 뒤 rs.next()를 호출할 때마다 1회로 셈
+ *       (LatencyProxyDriver와 같은 기준, 자동 조정으로 바뀐 크기와 끝 확인용 빈 Fetch 포함)
+ */
+public class ResultSetCustomerReader implements CustomerReader {
+
+    private static final int MIN_ADAPTIVE_FETCH_SIZE = 10;
+
+    private final Statement selectStmt;
+    private final ResultSet rs;
+    private final AdaptiveSizeController sizeController; // null이면 고정 Fetch Size
+    private int currentFetchSize;
+    private int rowsInFetch = 0; // 현재 Fetch 창에서 읽은 건수
+    private long fetchCount = 0;
+    private int windowRows = 0;
+    private long windowNanos = 0;
+    private StageTimer stages = StageTimer.DISABLED;
+
+    public ResultSetCustomerReader(Connection conn, BatchContext ctx, int fetchSize,
+                                   boolean filterInSql) throws SQLException {
+        this(conn, ctx, fetchSize, filterInSql, null);
+    }
+
+    public ResultSetCustomerReader(Connection conn, BatchContext ctx, int fetchSize,
+                                   boolean filterInSql, CustomerPartition partition) throws SQLException {
+        this(conn, ctx, fetchSize, filterInSql, partition, null);
+    }
+
+    public ResultSetCustomerReader(Connection conn, BatchContext ctx, int fetchSize, boolean filterInSql,
+                                   CustomerPartition partition, String afterId) throws SQLException {
+        currentFetchSize = Math.max(1, fetchSize);
+        sizeController = ctx.adaptive()
+                ? new AdaptiveSizeController("적응형 Fetch Size", fetchSize,
+                        MIN_ADAPTIVE_FETCH_SIZE, Math.max(MIN_ADAPTIVE_FETCH_SIZE, ctx.adaptiveMaxSize()))
+                : null;
+
+        if (partition != null || afterId != null) {
+            // ID 범위 조회 (파티션별 1개 Connection) / 재시작 지점 이후 조회
+            boolean filterEnrollDate = partition != null || filterInSql;
+            List<String> conditions = new ArrayList<>();
+            if (filterEnrollDate) {
+                conditions.add("ENROLL_DT >= ?");
+            }
+            if (partition != null) {
+                conditions.add("ID BETWEEN ? AND ?");
+            }
+            if (afterId != null) {
+                conditions.add("ID > ?");
+            }
+            PreparedStatement pstmt = conn.prepareStatement("""
+                    SELECT ID, EMAIL, CREDIT_LIMIT, GENDER, ADDRESS1, ADDRESS2, ENROLL_DT
+                    FROM CUSTOMER
+                    WHERE %s
+                    ORDER BY ID
+                    """.formatted(String.join(" AND ", conditions)));
+            selectStmt = pstmt;
+            try {
+                pstmt.setFetchSize(fetchSize);
+                int index = 1;
+                if (filterEnrollDate) {
+                    pstmt.setDate(index++, ctx.enrollCutoffDate());
+                }
+                if (partition != null) {
+                    pstmt.setString(index++, partition.lowId());
+                    pstmt.setString(index++, partition.highId());
+                }
+                if (afterId != null) {
+                    pstmt.setString(index, afterId);
+                }
+                rs = pstmt.executeQuery();
+            } catch (SQLException e) {
+                pstmt.close();
+                throw e;
+            }
+            return;
+        }
+
+        String selectSQL = filterInSql
+                ? """
+                SELECT ID, EMAIL, CREDIT_LIMIT, GENDER, ADDRESS1, ADDRESS2, ENROLL_DT
+                FROM CUSTOMER
+                WHERE ENROLL_DT >= DATE '%s'
+                ORDER BY ID
+                """.formatted(ctx.enrollCutoff())
+                : """
+                SELECT ID, EMAIL, CREDIT_LIMIT, GENDER, ADDRESS1, ADDRESS2, ENROLL_DT
+                FROM CUSTOMER
+                ORDER BY ID
+                """;
+
+        selectStmt = conn.createStatement();
+        try {
+            selectStmt.setFetchSize(fetchSize);
+            rs = selectStmt.executeQuery(selectSQL);
+        } catch (SQLException e) {
+            selectStmt.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void recordStages(StageTimer stages) {
+        this.stages = stages;
+    }
+
+    @Override
+    public CustomerRow read() throws SQLException {
+        long start = sizeController == null ? 0 : System.nanoTime();
+        long t = stages.start();
+        if (rowsInFetch >= currentFetchSize) {
+            fetchCount++;
+            rowsInFetch = 0;
+        }
+        if (!rs.next()) {
+            stages.record(StageTimer.Stage.FETCH, t);
+            return null;
+        }
+        rowsInFetch++;
+        t = stages.record(StageTimer.Stage.FETCH, t);
+        CustomerRow row = toRow(rs);
+        stages.record(StageTimer.Stage.MAP, t);
+
+        if (sizeController != null) {
+            recordFetch(System.nanoTime() - start);
+        }
+        return row;
+    }
+
+    /**
+     * 현재 행을 CustomerRow로 변환 (ID, EMAIL, CREDIT_LIMIT, GENDER, ADDRESS1, ADDRESS2, ENROLL_DT 컬럼 필요)
+     */
+    static CustomerRow toRow(ResultSet rs) throws SQLException {
+        return new CustomerRow(
+                rs.getString("ID"),
+                rs.getString("EMAIL"),
+                rs.getBigDecimal("CREDIT_LIMIT"),
+                rs.getString("GENDER"),
+                rs.getString("ADDRESS1"),
+                rs.getString("ADDRESS2"),
+                rs.getDate("ENROLL_DT"));
+    }
+
+    /**
+     * Fetch Size만큼 읽을 때마다 조회 시간 기록 (행 처리 시간은 제외하고 rs.next() + 매핑 시간만 합산)
+     */
+    private void recordFetch(long nanos) throws SQLException {
+        windowNanos += nanos;
+        if (++windowRows < sizeController.size()) {
+            return;
+        }
+        if (sizeController.record(windowRows, windowNanos)) {
+            currentFetchSize = sizeController.size();
+            rs.setFetchSize(currentFetchSize);
+        }
+        windowRows = 0;
+        windowNanos = 0;
+    }
+
+    @Override
+    public long fetchCount() {
+        return fetchCount;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (sizeController != null) {
+            sizeController.printSummary();
+        }
+        try {
+            rs.close();
+        } finally {
+            selectStmt.close();
+        }
+    }
+}
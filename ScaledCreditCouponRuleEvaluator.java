@@ -0,0 +1,90 @@
+package com.kopo.jimin;
+
+import java.math.BigDecimal;
+
+/**
+ * 할당 없는 쿠폰 계산기
+ * 특징: CREDIT_LIMIT(NUMBER(9,2))를 100배한 long으로 변환하여 정수 비교로 구간 판정
+ *       송파구/풍납1동 조건은 주소 연결 문자열을 만들지 않고 ADDRESS1, ADDRESS2를 각각 검사
+ * 결과: LegacyCouponRuleEvaluator와 완전히 동일 (반환값도 같은 문자열 상수)
+ */
+public class ScaledCreditCouponRuleEvaluator implements CouponRuleEvaluator {
+
+    // 쿠폰 코드 상수 (문자열 리터럴 = intern된 동일 인스턴스)
+    public static final String AA = "AA";
+    public static final String BB = "BB";
+    public static final String CC = "CC";
+    public static final String C2 = "C2";
+    public static final String DD = "DD";
+
+    // 구간 경계 (1/100 단위)
+    private static final long CENTS_1000 = 1000_00L;
+    private static final long CENTS_3000 = 3000_00L;
+    private static final long CENTS_4000 = 4000_00L;
+
+    // double 변환이 정확한 범위 (|값| < 2^52 / 100)
+    private static final double EXACT_DOUBLE_LIMIT = (1L << 52) / 100.0;
+
+    private static final String SONGPA = "송파구";
+    private static final String PUNGNAP1 = "풍납1동";
+
+    private final LegacyCouponRuleEvaluator fallback = new LegacyCouponRuleEvaluator();
+
+    @Override
+    public String evaluate(CustomerRow row) {
+        BigDecimal creditLimit = row.creditLimit();
+        if (creditLimit == null) {
+            return null;
+        }
+
+        // 소수점 2자리를 넘는 값은 정수 변환시 반올림이 생기므로 기존 방식으로 계산
+        if (!isExactCents(creditLimit)) {
+            return fallback.evaluate(row);
+        }
+
+        return evaluate(toCents(creditLimit), row.gender(), row.address1(), row.address2());
+    }
+
+    /**
+     * 1/100 단위 long으로 오차 없이 변환 가능한 값인지 (소수점 2자리 이하, 2^52/100 미만)
+     */
+    static boolean isExactCents(BigDecimal value) {
+        return value.scale() <= 2 && Math.abs(value.doubleValue()) < EXACT_DOUBLE_LIMIT;
+    }
+
+    /**
+     * 1/100 단위 long 변환 (isExactCents가 true인 값만, 작은 값은 doubleValue가 할당 없이 계산됨)
+     */
+    static long toCents(BigDecimal value) {
+        return Math.round(value.doubleValue() * 100);
+    }
+
+    /**
+     * 1/100 단위 신용한도로 쿠폰 코드 계산
+     */
+    public static String evaluate(long creditCents, String gender, String address1, String address2) {
+        if (creditCents < CENTS_1000) {
+            return AA;
+        } else if (creditCents < CENTS_3000) {
+            return BB;
+        } else if (creditCents < CENTS_4000) {
+            return isPungnap1Female(gender, address1, address2) ? C2 : CC;
+        }
+        return DD;
+    }
+
+    /**
+     * 송파구 풍납1동 거주 여성 고객 여부
+     * 기존 방식은 ADDRESS1 + " " + ADDRESS2에서 검색하지만 두 키워드 모두 공백이 없으므로
+     * 연결 경계에 걸쳐 일치하는 경우가 없음 → 각 주소를 따로 검사해도 결과 동일
+     */
+    static boolean isPungnap1Female(String gender, String address1, String address2) {
+        return "F".equals(gender)
+                && (contains(address1, SONGPA) || contains(address2, SONGPA))
+                && (contains(address1, PUNGNAP1) || contains(address2, PUNGNAP1));
+    }
+
+    private static boolean contains(String address, String keyword) {
+        return address != null && address.contains(keyword);
+    }
+}
@@ -0,0 +1,286 @@
+package com.kopo.jimin;
+
+import java.sql.*;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PL/SQL 서버 처리 전략(callstmt_1, 2)의 진행률 게시 / 조회
+ * 게시: 블록 안의 지역 프로시저 report_progress(처리 건수, 발급 건수)를 progress.rows 행마다 호출
+ *       longops: DBMS_APPLICATION_INFO.SET_SESSION_LONGOPS (Commit 없음, 조회에 V$SESSION_LONGOPS 권한 필요)
+ *       table: 자율 트랜잭션으로 BONUS_COUPON_PROGRESS 1행 UPDATE (V$ 조회 권한이 없을 때, 게시마다 작은 Commit 1번)
+ *       none: 게시하지 않음 (report_progress는 빈 프로시저)
+ * 조회: 별도 Connection에서 progress.interval(ms)마다 조회하는 데몬 스레드 → 처리 건수 / 구간·평균 건수/초 출력
+ *       주 세션의 execute() 1번에는 라운드트립을 추가하지 않음
+ * 특징: 실행마다 만든 실행 ID를 OPNAME / RUN_ID에 넣어 같은 전략의 다른 실행과 구분
+ *       조회 실패(권한 없음 등)는 경고 1번 후 조회만 중단하고 배치는 계속 진행
+ */
+public final class ServerProgress implements AutoCloseable {
+
+    static final String TABLE = "BONUS_COUPON_PROGRESS";
+
+    public enum Source {
+        LONGOPS, TABLE, NONE
+    }
+
+    private static final String LONGOPS_PROCEDURE = """
+                v_progress_rindex BINARY_INTEGER := DBMS_APPLICATION_INFO.SET_SESSION_LONGOPS_NOHINT;
+                v_progress_slno BINARY_INTEGER;
+
+                PROCEDURE report_progress(p_processed NUMBER, p_inserted NUMBER) IS
+                BEGIN
+                    -- SOFAR = 처리 건수, CONTEXT = 발급 건수 (전체 건수는 모르므로 TOTALWORK = 0)
+                    DBMS_APPLICATION_INFO.SET_SESSION_LONGOPS(
+                        rindex => v_progress_rindex, slno => v_progress_slno,
+                        op_name => '{OP_NAME}', target => 0, context => p_inserted,
+                        sofar => p_processed, totalwork => 0, units => 'rows');
+                END report_progress;
+            """;
+
+    private static final String TABLE_PROCEDURE = """
+                PROCEDURE report_progress(p_processed NUMBER, p_inserted NUMBER) IS
+                    PRAGMA AUTONOMOUS_TRANSACTION;
+                BEGIN
+                    -- 배치 트랜잭션과 별도로 Commit (조회 세션에서 바로 보이도록)
+                    UPDATE BONUS_COUPON_PROGRESS
+                    SET PROCESSED_CNT = p_processed, INSERT_CNT = p_inserted, UPDATED_AT = SYSTIMESTAMP
+                    WHERE RUN_ID = '{RUN_ID}';
+                    COMMIT;
+                END report_progress;
+            """;
+
+    private static final String NONE_PROCEDURE = """
+                PROCEDURE report_progress(p_processed NUMBER, p_inserted NUMBER) IS
+                BEGIN
+                    NULL;
+                END report_progress;
+            """;
+
+    private static final String LONGOPS_SQL = """
+            SELECT SOFAR, CONTEXT
+            FROM V$SESSION_LONGOPS
+            WHERE OPNAME = ?
+            ORDER BY LAST_UPDATE_TIME DESC
+            """;
+
+    private static final String TABLE_SQL =
+            "SELECT PROCESSED_CNT, INSERT_CNT FROM BONUS_COUPON_PROGRESS WHERE RUN_ID = ?";
+
+    // 게시하지 않으므로 간격은 최대값 (블록의 MOD / TRUNC 나눗셈이 0으로 나누지 않도록)
+    private static final ServerProgress NONE = new ServerProgress(Source.NONE, "", "", Integer.MAX_VALUE, null);
+
+    private final Source source;
+    private final String runId;
+    private final String opName;
+    private final int publishRows;
+    private final BatchMetrics metrics;
+    private final long startNanos = System.nanoTime();
+
+    private Connection pollConnection;
+    private PreparedStatement pollStatement;
+    private ScheduledExecutorService poller;
+    private long lastProcessed = 0;
+    private long lastPollNanos = startNanos;
+
+    private ServerProgress(Source source, String runId, String opName, int publishRows, BatchMetrics metrics) {
+        this.source = source;
+        this.runId = runId;
+        this.opName = opName;
+        this.publishRows = publishRows;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 게시하지 않는 실행용 (집합 처리 블록 등)
+     */
+    public static ServerProgress none() {
+        return NONE;
+    }
+
+    /**
+     * 실행 1번의 진행률 준비 (table이면 진행률 행 생성) + 조회 스레드 시작 (progress.interval > 0일 때)
+     * execute() 전에 호출
+     */
+    public static ServerProgress start(BatchContext ctx, String strategyName) {
+        BatchConfig config = ctx.config();
+        Source source = switch (config.get(BatchConfig.PROGRESS_SOURCE)) {
+            case "longops" -> Source.LONGOPS;
+            case "table" -> Source.TABLE;
+            case "none" -> Source.NONE;
+            default -> throw new IllegalArgumentException(
+                    "알 수 없는 진행률 게시 방식: " + config.get(BatchConfig.PROGRESS_SOURCE) + " (longops|table|none)");
+        };
+        if (source == Source.NONE) {
+            return NONE;
+        }
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        ServerProgress progress = new ServerProgress(source, runId, "COUPON_BATCH " + strategyName + " " + runId,
+                Math.max(1, config.getInt(BatchConfig.PROGRESS_ROWS)), ctx.metrics());
+
+        int intervalMillis = config.getInt(BatchConfig.PROGRESS_INTERVAL);
+        try {
+            if (source == Source.TABLE || intervalMillis > 0) {
+                progress.openPollConnection(ctx, strategyName);
+            }
+        } catch (SQLException e) {
+            // table 게시는 진행률 행이 있어야 하므로 준비 실패시 게시도 끔
+            System.err.println("⚠️  서버 진행률 준비 실패 (진행률 없이 계속): " + e.getMessage());
+            progress.closeQuietly();
+            return NONE;
+        }
+
+        if (intervalMillis > 0) {
+            progress.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "server-progress-" + runId);
+                thread.setDaemon(true);
+                return thread;
+            });
+            progress.poller.scheduleWithFixedDelay(progress::poll, intervalMillis, intervalMillis,
+                    TimeUnit.MILLISECONDS);
+            System.out.printf("서버 진행률 조회 시작 (%s, %,d ms 간격, %,d건마다 게시, 실행 ID %s)%n",
+                    source.name().toLowerCase(Locale.ROOT), intervalMillis, progress.publishRows, runId);
+        }
+        return progress;
+    }
+
+    private void openPollConnection(BatchContext ctx, String strategyName) throws SQLException {
+        pollConnection = ctx.openConnection();
+        if (source == Source.TABLE) {
+            ensureTable(pollConnection);
+            try (PreparedStatement pstmt = pollConnection.prepareStatement(
+                    "INSERT INTO BONUS_COUPON_PROGRESS (RUN_ID, YYYYMM, STRATEGY) VALUES (?, ?, ?)")) {
+                pstmt.setString(1, runId);
+                pstmt.setString(2, ctx.yyyymm());
+                pstmt.setString(3, strategyName);
+                pstmt.executeUpdate();
+            }
+            pollConnection.commit();
+        }
+        pollStatement = pollConnection.prepareStatement(source == Source.TABLE ? TABLE_SQL : LONGOPS_SQL);
+        pollStatement.setString(1, source == Source.TABLE ? runId : opName);
+    }
+
+    /**
+     * 진행률 테이블 생성 (없을 때만, DDL이므로 처리 시작 전 조회 Connection에서 호출)
+     */
+    static void ensureTable(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT COUNT(*) FROM USER_TABLES WHERE TABLE_NAME = ?")) {
+            pstmt.setString(1, TABLE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next() && rs.getInt(1) > 0) {
+                    return;
+                }
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                    CREATE TABLE BONUS_COUPON_PROGRESS (
+                        RUN_ID        VARCHAR2(8)   NOT NULL,
+                        YYYYMM        VARCHAR2(6)   NOT NULL,
+                        STRATEGY      VARCHAR2(100) NOT NULL,
+                        PROCESSED_CNT NUMBER DEFAULT 0 NOT NULL,
+                        INSERT_CNT    NUMBER DEFAULT 0 NOT NULL,
+                        STARTED_AT    TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL,
+                        UPDATED_AT    TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL,
+                        CONSTRAINT PK_BONUS_COUPON_PROGRESS PRIMARY KEY (RUN_ID)
+                    )
+                    """);
+            System.out.println("진행률 테이블 " + TABLE + " 생성 완료");
+        }
+    }
+
+    /**
+     * PL/SQL 블록 선언부에 넣을 변수 + report_progress 프로시저 (변수가 있으므로 다른 함수 본문보다 앞에 위치)
+     */
+    String plsqlDeclarations() {
+        return switch (source) {
+            case LONGOPS -> LONGOPS_PROCEDURE.replace("{OP_NAME}", opName);
+            case TABLE -> TABLE_PROCEDURE.replace("{RUN_ID}", runId);
+            case NONE -> NONE_PROCEDURE;
+        };
+    }
+
+    /**
+     * 게시 간격 (행 수)
+     */
+    int publishRows() {
+        return publishRows;
+    }
+
+    /**
+     * 조회 1번 (조회 스레드에서만 호출)
+     */
+    private void poll() {
+        try (ResultSet rs = pollStatement.executeQuery()) {
+            if (!rs.next()) {
+                return;
+            }
+            long processed = rs.getLong(1);
+            long inserted = rs.getLong(2);
+            long now = System.nanoTime();
+            double intervalSeconds = (now - lastPollNanos) / 1e9;
+            double totalSeconds = (now - startNanos) / 1e9;
+            System.out.printf("서버 진행률: %,d건 조회 / %,d건 발급 (구간 %,.0f건/초, 평균 %,.0f건/초)%n",
+                    processed, inserted,
+                    intervalSeconds > 0 ? (processed - lastProcessed) / intervalSeconds : 0,
+                    totalSeconds > 0 ? processed / totalSeconds : 0);
+            if (processed > lastProcessed) {
+                metrics.rowsRead(processed - lastProcessed);
+            }
+            lastProcessed = processed;
+            lastPollNanos = now;
+        } catch (SQLException e) {
+            // ORA-00942: V$SESSION_LONGOPS 조회 권한 없음
+            System.err.println("⚠️  서버 진행률 조회 실패 (조회 중단, 배치는 계속): " + e.getMessage()
+                    + (source == Source.LONGOPS && e.getErrorCode() == 942
+                    ? " → GRANT SELECT ON V_$SESSION_LONGOPS 또는 --progress.source=table" : ""));
+            poller.shutdown();
+        }
+    }
+
+    /**
+     * 조회 스레드 종료 + 조회 Connection 정리
+     */
+    @Override
+    public void close() {
+        if (this == NONE) {
+            return;
+        }
+        if (poller != null) {
+            poller.shutdownNow();
+            try {
+                poller.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        closeQuietly();
+    }
+
+    /**
+     * close 후 최종 건수로 rows_read 지표 보정 (마지막 조회 이후 처리된 건수)
+     */
+    void finish(BatchStats stats) {
+        if (this != NONE && stats.processedCount > lastProcessed) {
+            metrics.rowsRead(stats.processedCount - lastProcessed);
+            lastProcessed = stats.processedCount;
+        }
+    }
+
+    private void closeQuietly() {
+        if (pollStatement != null) {
+            try {
+                pollStatement.close();
+            } catch (SQLException e) {
+                System.err.println("진행률 조회 Statement 해제 실패: " + e.getMessage());
+            }
+        }
+        if (pollConnection != null) {
+            CouponBatchEngine.closeQuietly(pollConnection);
+        }
+    }
+}
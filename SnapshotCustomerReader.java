@@ -0,0 +1,58 @@
+package com.kopo.jimin;
+
+import java.sql.Date;
+
+/**
+ * CUSTOMER 스냅샷(CustomerSnapshot) 기반 Reader - 네트워크 Fetch 없이 매핑된 파일에서 CustomerRow 생성
+ * 특징: ResultSetCustomerReader와 같은 조건으로 읽음 (ID 순, 파티션 = ID BETWEEN, 재시작 = ID > afterId,
+ *       SQL 조건절 사용 전략과 파티션은 ENROLL_DT >= 가입일 기준)
+ *       파티션 / 재시작 위치는 고정 폭 인덱스 이진 탐색으로 찾고, 이후는 순서대로 읽음
+ *       스냅샷에는 만들 때의 가입일 기준 이후 고객만 있으므로 Java 필터링 전략도 그 고객만 조회됨
+ */
+public class SnapshotCustomerReader implements CustomerReader {
+
+    private final CustomerSnapshot.Cursor cursor;
+    private final long endRow;
+    private final Date cutoff; // null이면 가입일 조건 없이 모두 반환
+    private StageTimer stages = StageTimer.DISABLED;
+
+    public SnapshotCustomerReader(CustomerSnapshot snapshot, BatchContext ctx, boolean filterInSql,
+                                  CustomerPartition partition, String afterId) {
+        this.cursor = snapshot.cursor();
+        long startRow = 0;
+        long endRow = snapshot.rowCount();
+        if (partition != null) {
+            startRow = cursor.firstRowAfter(partition.lowId(), true);
+            endRow = cursor.firstRowAfter(partition.highId(), false);
+        }
+        if (afterId != null) {
+            startRow = Math.max(startRow, cursor.firstRowAfter(afterId, false));
+        }
+        this.endRow = endRow;
+        this.cutoff = filterInSql || partition != null ? ctx.enrollCutoffDate() : null;
+        // 이진 탐색이 커서를 움직였으므로 읽을 행이 없어도 시작 위치로 되돌림 (시작 >= 끝이면 read는 바로 null)
+        cursor.seek(startRow);
+    }
+
+    @Override
+    public void recordStages(StageTimer stages) {
+        this.stages = stages;
+    }
+
+    @Override
+    public CustomerRow read() {
+        while (cursor.row() < endRow) {
+            long t = stages.start();
+            CustomerRow row = cursor.next();
+            stages.record(StageTimer.Stage.MAP, t);
+            if (cutoff == null || row.enrolledOnOrAfter(cutoff)) {
+                return row;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,157 @@
+package com.kopo.jimin;
+
+/**
+ * 행 처리 단계별 소요 시간 측정 (rs.next() 대기, 매핑, 쿠폰 계산, 바인딩, SQL 실행, Commit)
+ * 처리방식: 단계 시작 시각을 이어받아 종료 시각과의 차이를 단계별 LatencyHistogram에 기록
+ *           long t = stages.start(); ... t = stages.record(Stage.FETCH, t); ... t = stages.record(Stage.MAP, t);
+ * 특징: 실행 1개(파티션 / Writer 스레드)당 1개 사용 후 BatchStats.merge에서 합산
+ *       기본은 DISABLED (System.nanoTime 호출 없음), --stage.timing=true 또는 지표 사용시에만 측정
+ *       BatchMetrics를 지정하면 기록할 때마다 지표에도 전달 (실행 중 조회용)
+ */
+public class StageTimer {
+
+    public enum Stage {
+        FETCH("Fetch (rs.next)"),
+        MAP("행 매핑 (getter)"),
+        EVALUATE("쿠폰 계산"),
+        BIND("파라미터 바인딩"),
+        EXECUTE("SQL 실행 (executeBatch 등)"),
+        COMMIT("Commit");
+
+        private final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    /**
+     * 측정하지 않는 실행용 (start / record 모두 0 반환)
+     */
+    public static final StageTimer DISABLED = new StageTimer(false, BatchMetrics.DISABLED);
+
+    private final boolean enabled;
+    private final BatchMetrics metrics;
+    private final LatencyHistogram[] histograms;
+
+    public StageTimer() {
+        this(true, BatchMetrics.DISABLED);
+    }
+
+    public StageTimer(BatchMetrics metrics) {
+        this(true, metrics);
+    }
+
+    private StageTimer(boolean enabled, BatchMetrics metrics) {
+        this.enabled = enabled;
+        this.metrics = metrics;
+        this.histograms = new LatencyHistogram[enabled ? Stage.values().length : 0];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * startNanos부터 지금까지를 stage 시간으로 기록하고 현재 시각 반환 (다음 단계의 시작 시각)
+     */
+    public long record(Stage stage, long startNanos) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        histograms[stage.ordinal()].record(now - startNanos);
+        if (metrics.enabled()) {
+            metrics.stage(stage, now - startNanos);
+        }
+        return now;
+    }
+
+    public LatencyHistogram histogram(Stage stage) {
+        return histograms[stage.ordinal()];
+    }
+
+    public void merge(StageTimer other) {
+        if (!enabled || !other.enabled) {
+            return;
+        }
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i].merge(other.histograms[i]);
+        }
+    }
+
+    private long measuredNanos() {
+        long sum = 0;
+        for (LatencyHistogram histogram : histograms) {
+            sum += histogram.totalNanos();
+        }
+        return sum;
+    }
+
+    public boolean hasData() {
+        for (LatencyHistogram histogram : histograms) {
+            if (histogram.count() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 진행률 출력용 한 줄 요약 (측정 합계 대비 단계별 누적 시간 비율)
+     */
+    public String progressLine() {
+        long total = measuredNanos();
+        if (total == 0) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder("시간 비중:");
+        for (Stage stage : Stage.values()) {
+            LatencyHistogram histogram = histograms[stage.ordinal()];
+            if (histogram.count() > 0) {
+                sb.append(String.format(" %s %.0f%%", stage.name(), histogram.totalNanos() * 100.0 / total));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 단계별 건수 / 누적 시간 / 비율 / 평균 / 백분위 / 최대 출력
+     * 병렬 실행은 스레드별 시간의 합이므로 누적 시간이 경과 시간보다 클 수 있음
+     */
+    public void printReport(long elapsedMillis) {
+        if (!hasData()) {
+            return;
+        }
+        long total = measuredNanos();
+        System.out.println("\n=== 단계별 소요 시간 (µs) ===");
+        System.out.printf("%-28s %12s %10s %6s %9s %9s %9s %9s %10s %10s%n",
+                "단계", "건수", "누적(ms)", "비율", "평균", "p50", "p90", "p99", "p99.9", "최대");
+        for (Stage stage : Stage.values()) {
+            LatencyHistogram h = histograms[stage.ordinal()];
+            if (h.count() == 0) {
+                continue;
+            }
+            System.out.printf("%-28s %,12d %,10d %5.1f%% %9.1f %9.1f %9.1f %9.1f %10.1f %10.1f%n",
+                    stage.label(), h.count(), h.totalNanos() / 1_000_000, h.totalNanos() * 100.0 / total,
+                    h.meanNanos() / 1000.0, h.percentile(50) / 1000.0, h.percentile(90) / 1000.0,
+                    h.percentile(99) / 1000.0, h.percentile(99.9) / 1000.0, h.maxNanos() / 1000.0);
+        }
+        long unmeasuredMillis = elapsedMillis - total / 1_000_000;
+        System.out.printf("측정 합계: %,d ms / 경과 시간: %,d ms%s%n", total / 1_000_000, elapsedMillis,
+                unmeasuredMillis >= 0
+                        ? String.format(" (측정 외 %,d ms: 진행률 출력, 체크포인트 등)", unmeasuredMillis)
+                        : " (병렬 실행 스레드 합계)");
+    }
+}
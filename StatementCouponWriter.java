@@ -0,0 +1,73 @@
+package com.kopo.jimin;
+
+import java.sql.*;
+
+/**
+ * Statement + 리터럴 SQL 방식 Writer (stmt_1 ~ stmt_5)
+ * 특징: 매 건 String.format으로 SQL을 만들어 실행 (매번 Hard Parsing)
+ */
+public class StatementCouponWriter implements CouponWriter {
+
+    private final Connection conn;
+    private final String yyyymm;
+    private final String targetTable;
+    private final boolean statementPerRow;  // true: 매번 Statement 생성 (stmt_1)
+    private Statement insertStmt;
+    private int sqlExecutionCount = 0;
+    private StageTimer stages = StageTimer.DISABLED;
+
+    public StatementCouponWriter(Connection conn, BatchContext ctx, boolean statementPerRow) throws SQLException {
+        this.conn = conn;
+        this.yyyymm = ctx.yyyymm();
+        this.targetTable = ctx.targetTable();
+        this.statementPerRow = statementPerRow;
+        if (!statementPerRow) {
+            insertStmt = conn.createStatement();
+        }
+    }
+
+    @Override
+    public void write(CustomerRow row, String couponCode) throws SQLException {
+        long t = stages.start();
+        String insertSQL = String.format("""
+                INSERT INTO %s
+                (YYYYMM, CUSTOMER_ID, EMAIL, COUPON_CD, CREDIT_POINT, SEND_DT)
+                VALUES ('%s', '%s', '%s', '%s', %s, NULL)
+                """,
+                targetTable,
+                yyyymm,
+                row.id().replace("'", "''"), // SQL Injection 기본 방어
+                row.email().replace("'", "''"),
+                couponCode,
+                row.creditLimit().toString());
+        t = stages.record(StageTimer.Stage.BIND, t);
+
+        if (statementPerRow) {
+            // 매번 새로운 Statement 객체 생성 (성능 저하 요인)
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate(insertSQL);
+            }
+        } else {
+            insertStmt.executeUpdate(insertSQL);
+        }
+        stages.record(StageTimer.Stage.EXECUTE, t);
+        sqlExecutionCount++;
+    }
+
+    @Override
+    public void recordStages(StageTimer stages) {
+        this.stages = stages;
+    }
+
+    @Override
+    public int sqlExecutionCount() {
+        return sqlExecutionCount;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (insertStmt != null) {
+            insertStmt.close();
+        }
+    }
+}
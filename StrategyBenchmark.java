@@ -0,0 +1,264 @@
+package com.kopo.jimin;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * 전략 비교 벤치마크 (README 결과표를 재현 가능한 수치로 생성)
+ * 처리방식: 같은 데이터(CUSTOMER)와 같은 설정으로 전략마다 Warmup N번 → 측정 M번 실행
+ *           → 처리시간 중앙값/최소/최대, 처리속도, Fetch 라운드트립, SQL 실행 횟수, Commit 횟수 집계
+ * 결과 파일: bench.output 디렉토리에 전략 × 환경(bench.env) 1행씩 기록
+ *            strategy-benchmark.csv (실행 이력 누적) → 환경/전략별 최신 결과로 .json / .md 재생성
+ * 사용법: java com.kopo.jimin.StrategyBenchmark [전략이름 ...] [--bench.env=A환경] [--bench.repeats=5] [--항목=값 ...]
+ *         (전략을 지정하지 않으면 증분 전략을 제외한 등록 전략 전체)
+ */
+public class StrategyBenchmark {
+
+    static final String FILE_NAME = "strategy-benchmark";
+
+    private static final String[] COLUMNS = {
+            "timestamp", "env", "strategy", "warmup", "repeats", "status",
+            "wall_ms_median", "wall_ms_min", "wall_ms_max", "rows_per_sec",
+            "processed_rows", "inserted_rows", "fetch_size", "fetch_round_trips",
+            "sql_executions", "commits", "errors"
+    };
+
+    /**
+     * 전략 1개의 측정 결과 (Fetch 라운드트립은 마지막 반복에서 Reader가 센 값)
+     */
+    record Result(String timestamp, String env, String strategy, int warmup, int repeats, String status,
+                  long wallMsMedian, long wallMsMin, long wallMsMax, double rowsPerSec,
+                  long processedRows, long insertedRows, int fetchSize, long fetchRoundTrips,
+                  long sqlExecutions, long commits, long errors) {
+
+        String[] values() {
+            return new String[]{
+                    timestamp, env, strategy, String.valueOf(warmup), String.valueOf(repeats), status,
+                    String.valueOf(wallMsMedian), String.valueOf(wallMsMin), String.valueOf(wallMsMax),
+                    String.format(Locale.ROOT, "%.1f", rowsPerSec),
+                    String.valueOf(processedRows), String.valueOf(insertedRows), String.valueOf(fetchSize),
+                    String.valueOf(fetchRoundTrips), String.valueOf(sqlExecutions), String.valueOf(commits),
+                    String.valueOf(errors)
+            };
+        }
+
+        static Result parse(String[] v) {
+            return new Result(v[0], v[1], v[2], Integer.parseInt(v[3]), Integer.parseInt(v[4]), v[5],
+                    Long.parseLong(v[6]), Long.parseLong(v[7]), Long.parseLong(v[8]), Double.parseDouble(v[9]),
+                    Long.parseLong(v[10]), Long.parseLong(v[11]), Integer.parseInt(v[12]),
+                    Long.parseLong(v[13]), Long.parseLong(v[14]), Long.parseLong(v[15]), Long.parseLong(v[16]));
+        }
+    }
+
+    public static void main(String[] args) {
+        CouponBatchEngine engine = new CouponBatchEngine();
+        BatchConfig config = BatchConfig.load(args);
+        config.print();
+
+        int warmup = config.getInt(BatchConfig.BENCH_WARMUP);
+        int repeats = Math.max(1, config.getInt(BatchConfig.BENCH_REPEATS));
+        String env = sanitize(config.get(BatchConfig.BENCH_ENV));
+        Path outputDir = Path.of(config.get(BatchConfig.BENCH_OUTPUT));
+        if (config.getBoolean(BatchConfig.RESUME)) {
+            throw new IllegalArgumentException("벤치마크는 매번 처음부터 실행해야 하므로 resume=true와 함께 사용할 수 없습니다.");
+        }
+
+        // 1. 측정 대상 전략 (지정하지 않으면 증분 전략 제외 전체 → 반복 실행시 변경분만 처리하므로 비교 불가)
+        List<CouponBatchStrategy> targets = new ArrayList<>();
+        if (config.arguments().isEmpty()) {
+            for (CouponBatchStrategy strategy : engine.strategies().values()) {
+                if (!strategy.incremental()) {
+                    targets.add(strategy);
+                }
+            }
+        } else {
+            for (String name : config.arguments()) {
+                targets.add(engine.strategy(name));
+            }
+        }
+
+        BatchContext ctx = CouponBatchEngine.createContext(config);
+        boolean stageTiming = ctx.newStageTimer().enabled();
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
+
+        // 2. 전략별 Warmup + 측정
+        List<Result> results = new ArrayList<>();
+        try {
+            for (CouponBatchStrategy strategy : targets) {
+                results.add(measure(engine, strategy, ctx, env, warmup, repeats, timestamp));
+            }
+        } finally {
+            ctx.metrics().close();
+        }
+
+        // 3. 결과 출력 및 파일 기록
+        printSummary(results, stageTiming);
+        try {
+            Files.createDirectories(outputDir);
+            Path csv = appendCsv(outputDir, results);
+            Collection<Result> latest = latestResults(csv);
+            Files.writeString(outputDir.resolve(FILE_NAME + ".json"), toJson(latest), StandardCharsets.UTF_8);
+            Files.writeString(outputDir.resolve(FILE_NAME + ".md"), toMarkdown(latest), StandardCharsets.UTF_8);
+            System.out.printf("%n벤치마크 결과 기록 완료: %s (%s.csv / .json / .md)%n",
+                    outputDir.toAbsolutePath(), FILE_NAME);
+        } catch (IOException e) {
+            throw new UncheckedIOException("벤치마크 결과 파일을 기록할 수 없습니다: " + outputDir, e);
+        }
+    }
+
+    /**
+     * 전략 1개 측정 (Warmup 결과는 버림, 일부 실행만 실패하거나 오류가 있으면 partial, 모두 실패하면 failed)
+     */
+    static Result measure(CouponBatchEngine engine, CouponBatchStrategy strategy, BatchContext ctx, String env,
+                          int warmup, int repeats, String timestamp) {
+        for (int w = 0; w < warmup; w++) {
+            System.out.printf("%n##### [%s] Warmup %d/%d #####%n", strategy.name(), w + 1, warmup);
+            engine.run(strategy, ctx);
+        }
+
+        long[] wallMillis = new long[repeats];
+        BatchStats last = null;
+        long errors = 0;
+        boolean failed = false;
+        for (int r = 0; r < repeats; r++) {
+            System.out.printf("%n##### [%s] 측정 %d/%d #####%n", strategy.name(), r + 1, repeats);
+            BatchStats stats = engine.run(strategy, ctx); // 발행 / 검증 실패 포함 실패하면 null
+            if (stats == null) {
+                failed = true;
+                wallMillis[r] = -1;
+                continue;
+            }
+            wallMillis[r] = stats.elapsedMillis();
+            errors += stats.errorCount();
+            last = stats;
+        }
+
+        long[] succeeded = Arrays.stream(wallMillis).filter(ms -> ms >= 0).sorted().toArray();
+        if (last == null) {
+            return new Result(timestamp, env, strategy.name(), warmup, repeats, "failed",
+                    0, 0, 0, 0, 0, 0, 0, 0, 0, 0, errors);
+        }
+        long median = succeeded[succeeded.length / 2];
+        double rowsPerSec = median > 0 ? last.processedCount() / (median / 1000.0) : 0;
+        return new Result(timestamp, env, strategy.name(), warmup, repeats,
+                failed || errors > 0 ? "partial" : "ok",
+                median, succeeded[0], succeeded[succeeded.length - 1], rowsPerSec,
+                last.processedCount(), last.insertCount(), last.fetchSize(), last.fetchCount(),
+                last.sqlExecutionCount(), last.commitCount(), errors);
+    }
+
+    private static void printSummary(List<Result> results, boolean stageTiming) {
+        System.out.println("\n=== 전략 비교 벤치마크 결과 (처리시간 중앙값 기준) ===");
+        System.out.println(stageTiming
+                ? "⚠️  단계별 시간 측정 켜짐 (stage.timing 또는 metrics) → Java 처리 전략만 행마다 측정 비용이 포함됨"
+                : "단계별 시간 측정: 꺼짐 (Java / PL/SQL 전략 모두 계측 비용 없음)");
+        System.out.printf("%-22s %8s %12s %14s %12s %12s %10s%n",
+                "전략", "상태", "처리(ms)", "처리속도(건/초)", "Fetch 횟수", "SQL 실행", "Commit");
+        System.out.println("-".repeat(100));
+        for (Result result : results) {
+            System.out.printf("%-22s %8s %,12d %,14.0f %,12d %,12d %,10d%n",
+                    result.strategy(), result.status(), result.wallMsMedian(), result.rowsPerSec(),
+                    result.fetchRoundTrips(), result.sqlExecutions(), result.commits());
+        }
+    }
+
+    /**
+     * CSV에 이번 실행 결과 추가 (파일이 없으면 헤더부터 기록)
+     */
+    private static Path appendCsv(Path outputDir, List<Result> results) throws IOException {
+        Path csv = outputDir.resolve(FILE_NAME + ".csv");
+        StringBuilder sb = new StringBuilder();
+        if (!Files.exists(csv)) {
+            sb.append(String.join(",", COLUMNS)).append('\n');
+        }
+        for (Result result : results) {
+            sb.append(String.join(",", result.values())).append('\n');
+        }
+        Files.writeString(csv, sb, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return csv;
+    }
+
+    /**
+     * CSV 이력에서 환경 + 전략별 가장 최근 결과 (기록 순서 유지)
+     */
+    private static Collection<Result> latestResults(Path csv) throws IOException {
+        Map<String, Result> latest = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(csv, StandardCharsets.UTF_8);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] values = line.split(",", -1);
+            if (values.length != COLUMNS.length) {
+                continue;
+            }
+            Result result = Result.parse(values);
+            latest.put(result.env() + "\u0000" + result.strategy(), result);
+        }
+        return latest.values();
+    }
+
+    static String toJson(Collection<Result> results) {
+        StringBuilder sb = new StringBuilder("[\n");
+        int index = 0;
+        for (Result result : results) {
+            String[] values = result.values();
+            sb.append("  {");
+            for (int i = 0; i < COLUMNS.length; i++) {
+                boolean text = i <= 2 || i == 5;
+                sb.append(i == 0 ? "" : ", ").append('"').append(COLUMNS[i]).append("\": ")
+                        .append(text ? '"' + values[i].replace("\\", "\\\\").replace("\"", "\\\"") + '"' : values[i]);
+            }
+            sb.append(++index < results.size() ? "},\n" : "}\n");
+        }
+        return sb.append("]\n").toString();
+    }
+
+    /**
+     * 전체 결과표 + 전략 × 환경 처리시간 비교표
+     */
+    static String toMarkdown(Collection<Result> results) {
+        StringBuilder sb = new StringBuilder("# 전략 비교 벤치마크\n\n");
+        sb.append("Fetch 횟수는 마지막 반복에서 Reader가 센 Fetch 라운드트립(첫 창은 executeQuery 응답에 포함)이며, 처리시간은 전략 실행 구간(테이블 준비 / 검증 제외)의 중앙값이다.\n\n");
+        sb.append("| 환경 | 전략 | 상태 | 처리(ms) 중앙값 | 최소 | 최대 | 처리속도(건/초) | 조회 건수 | 발급 건수 "
+                + "| Fetch Size | Fetch 횟수 | SQL 실행 | Commit | 오류 | 측정 시각 |\n");
+        sb.append("|---|---|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|---|\n");
+        Set<String> envs = new LinkedHashSet<>();
+        Map<String, Map<String, Result>> matrix = new LinkedHashMap<>();
+        for (Result r : results) {
+            sb.append(String.format(Locale.ROOT, "| %s | %s | %s | %,d | %,d | %,d | %,.0f | %,d | %,d | %,d | %,d | %,d | %,d | %,d | %s |%n",
+                    r.env(), r.strategy(), r.status(), r.wallMsMedian(), r.wallMsMin(), r.wallMsMax(),
+                    r.rowsPerSec(), r.processedRows(), r.insertedRows(), r.fetchSize(), r.fetchRoundTrips(),
+                    r.sqlExecutions(), r.commits(), r.errors(), r.timestamp()));
+            envs.add(r.env());
+            matrix.computeIfAbsent(r.strategy(), k -> new LinkedHashMap<>()).put(r.env(), r);
+        }
+
+        sb.append("\n## 처리시간 비교 (중앙값 ms / 처리속도 건/초)\n\n| 전략 |");
+        envs.forEach(env -> sb.append(' ').append(env).append(" |"));
+        sb.append("\n|---|");
+        envs.forEach(env -> sb.append("---:|"));
+        sb.append('\n');
+        for (Map.Entry<String, Map<String, Result>> row : matrix.entrySet()) {
+            sb.append("| ").append(row.getKey()).append(" |");
+            for (String env : envs) {
+                Result r = row.getValue().get(env);
+                sb.append(r == null || "failed".equals(r.status()) ? " - |"
+                        : String.format(Locale.ROOT, " %,d / %,.0f |", r.wallMsMedian(), r.rowsPerSec()));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * CSV 구분자와 줄바꿈 제거 (환경 이름은 파일 1행에 그대로 기록)
+     */
+    private static String sanitize(String value) {
+        return value.replaceAll("[,\\r\\n]", " ").trim();
+    }
+}
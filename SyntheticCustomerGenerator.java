@@ -0,0 +1,100 @@
+package com.kopo.jimin;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * 실제 CUSTOMER 분포를 흉내낸 가상 고객 데이터 생성기 (Seed 고정 → 매번 동일한 데이터)
+ * 분포: CREDIT_LIMIT 구간(AA 20% / BB 40% / CC 25% / DD 15%), 성별 반반,
+ *       서울 구/동 주소 (송파구 풍납1동 포함), 가입일 2005 ~ 2025년
+ */
+public class SyntheticCustomerGenerator {
+
+    static final String[] DISTRICTS = {
+            "강남구", "강동구", "강서구", "관악구", "광진구", "구로구", "노원구", "마포구",
+            "서초구", "성동구", "성북구", "송파구", "양천구", "영등포구", "용산구", "은평구"
+    };
+
+    static final String[] SONGPA_DONGS = {
+            "풍납1동", "풍납2동", "잠실본동", "잠실2동", "석촌동", "송파1동", "방이1동", "오금동"
+    };
+
+    static final String[] OTHER_DONGS = {
+            "역삼1동", "대치2동", "성내1동", "화곡1동", "신림동", "자양2동", "상계1동", "망원1동",
+            "반포1동", "왕십리2동", "정릉1동", "목1동", "여의동", "이촌1동", "불광1동"
+    };
+
+    private static final String[] STREETS = {
+            "올림픽로", "바람드리길", "테헤란로", "도산대로", "양재대로", "강동대로", "마포대로", "한강대로"
+    };
+
+    private static final LocalDate ENROLL_FROM = LocalDate.of(2005, 1, 1);
+    private static final int ENROLL_DAYS = 365 * 21;
+
+    private final SplittableRandom random;
+
+    public SyntheticCustomerGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * 청크(순번 구간)별 생성기 (청크 번호로 Seed를 섞음 → 스레드 수와 관계없이 같은 Seed면 같은 데이터)
+     */
+    public static SyntheticCustomerGenerator forChunk(long seed, long chunkIndex) {
+        return new SyntheticCustomerGenerator(seed + (chunkIndex + 1) * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * 고객 1건 생성 (ID는 호출 측 순번을 10자리 문자열로 사용)
+     */
+    public CustomerRow next(long sequence) {
+        String id = customerId(sequence);
+        String email = "user" + sequence + "@example.com";
+        BigDecimal creditLimit = BigDecimal.valueOf(nextCreditCents(), 2);
+        String gender = random.nextBoolean() ? "F" : "M";
+
+        String district = DISTRICTS[random.nextInt(DISTRICTS.length)];
+        String dong = "송파구".equals(district)
+                ? SONGPA_DONGS[random.nextInt(SONGPA_DONGS.length)]
+                : OTHER_DONGS[random.nextInt(OTHER_DONGS.length)];
+        String address1 = "서울특별시 " + district + " " + dong;
+        String address2 = STREETS[random.nextInt(STREETS.length)] + " " + (1 + random.nextInt(300))
+                + (random.nextInt(4) == 0 ? "" : ", " + (101 + random.nextInt(20)) + "동 " + (101 + random.nextInt(1500)) + "호");
+
+        Date enrollDt = Date.valueOf(ENROLL_FROM.plusDays(random.nextInt(ENROLL_DAYS)));
+        return new CustomerRow(id, email, creditLimit, gender, address1, address2, enrollDt);
+    }
+
+    /**
+     * "C" + 9자리 순번 (String.format 대신 직접 채움 → 대량 적재시 생성 비용 절감)
+     */
+    static String customerId(long sequence) {
+        String digits = Long.toString(sequence);
+        StringBuilder sb = new StringBuilder(10).append('C');
+        for (int i = digits.length(); i < 9; i++) {
+            sb.append('0');
+        }
+        return sb.append(digits).toString();
+    }
+
+    /**
+     * CREDIT_LIMIT (NUMBER(9,2)) 값을 1/100 단위 정수로 생성
+     */
+    public long nextCreditCents() {
+        int band = random.nextInt(100);
+        long won;
+        if (band < 20) {
+            won = random.nextLong(100, 1000);        // AA
+        } else if (band < 60) {
+            won = random.nextLong(1000, 3000);       // BB
+        } else if (band < 85) {
+            won = random.nextLong(3000, 4000);       // CC / C2
+        } else {
+            won = random.nextLong(4000, 20000);      // DD
+        }
+        // 구간 경계값(1000.00, 3000.00, 4000.00)이 자주 나오도록 일부는 소수점 없이 생성
+        return random.nextInt(10) == 0 ? won * 100 : won * 100 + random.nextInt(100);
+    }
+}
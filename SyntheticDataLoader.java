@@ -0,0 +1,253 @@
+package com.kopo.jimin;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 성능 비교용 CUSTOMER / BONUS_COUPON 테이블 생성 및 가상 고객 적재
+ * 처리방식: 1. 테이블이 없으면 생성 (CUSTOMER는 인덱스 없이 생성 → 적재 후 PK / ENROLL_DT 인덱스 생성)
+ *           2. 순번을 CHUNK_ROWS 단위 청크로 나누고, 스레드마다 전용 Connection에서 청크를 가져가
+ *              SyntheticCustomerGenerator.forChunk로 생성 → addBatch/executeBatch → 청크마다 Commit
+ *           3. Oracle이면 통계 수집 (DBMS_STATS)
+ * 특징: 같은 generator.seed / generator.rows이면 스레드 수와 관계없이 항상 같은 데이터
+ *       Oracle 없이 실행할 때는 H2(Oracle 호환 모드) 설정 파일(coupon-batch-h2.properties)과 함께 사용
+ * 사용법: java com.kopo.jimin.SyntheticDataLoader [--config=coupon-batch-h2.properties] [--generator.rows=5700000]
+ *         [--generator.threads=N] [--generator.seed=20250601] [--generator.replace=true] [--batch.size=5000]
+ */
+public class SyntheticDataLoader {
+
+    static final int CHUNK_ROWS = 50_000;
+    private static final int DEFAULT_BATCH_SIZE = 5000;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO CUSTOMER (ID, EMAIL, CREDIT_LIMIT, GENDER, ADDRESS1, ADDRESS2, ENROLL_DT)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    public static void main(String[] args) {
+        BatchConfig config = BatchConfig.load(args);
+        config.print();
+
+        long rowCount = config.getInt(BatchConfig.GENERATOR_ROWS);
+        int threads = config.getInt(BatchConfig.GENERATOR_THREADS);
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        long seed = Long.parseLong(config.get(BatchConfig.GENERATOR_SEED));
+        int batchSize = config.getInt(BatchConfig.BATCH_SIZE, DEFAULT_BATCH_SIZE);
+        BatchContext ctx = CouponBatchEngine.createContext(config);
+
+        long startTime = System.currentTimeMillis();
+        try (Connection conn = ctx.openConnection()) {
+            System.out.println("데이터베이스 연결 성공: " + conn.getMetaData().getDatabaseProductName());
+
+            // 1. 테이블 준비
+            boolean created = createTables(conn);
+            long existing = countCustomers(conn);
+            if (existing > 0) {
+                if (!config.getBoolean(BatchConfig.GENERATOR_REPLACE)) {
+                    System.err.printf("CUSTOMER에 이미 %,d건이 있습니다. 다시 적재하려면 --generator.replace=true로 실행하세요.%n",
+                            existing);
+                    return;
+                }
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("TRUNCATE TABLE CUSTOMER");
+                }
+                System.out.printf("기존 CUSTOMER %,d건 삭제 완료%n", existing);
+            }
+
+            // 2. 병렬 적재
+            System.out.printf("가상 고객 %,d건 적재 시작 (스레드 %d개, 청크 %,d건, Batch Size %,d, Seed %d)%n",
+                    rowCount, threads, CHUNK_ROWS, batchSize, seed);
+            load(ctx, rowCount, threads, seed, batchSize);
+
+            // 3. 인덱스 생성 및 통계 수집
+            if (created) {
+                createCustomerIndexes(conn);
+            }
+            if (CouponArrayProcedure.isOracle(conn)) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("BEGIN DBMS_STATS.GATHER_TABLE_STATS(USER, 'CUSTOMER'); END;");
+                }
+                System.out.println("CUSTOMER 통계 수집 완료");
+            }
+
+            System.out.printf("%n=== 적재 완료 ===%nCUSTOMER: %,d건 / 총 처리 시간: %,d ms%n",
+                    countCustomers(conn), System.currentTimeMillis() - startTime);
+
+        } catch (SQLException e) {
+            System.err.println("=== 데이터베이스 오류 발생 ===");
+            System.err.println("오류 코드: " + e.getErrorCode());
+            System.err.println("SQL 상태: " + e.getSQLState());
+            System.err.println("오류 메시지: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 청크 단위 병렬 적재 (먼저 끝난 스레드가 다음 청크를 가져감)
+     */
+    static void load(BatchContext ctx, long rowCount, int threads, long seed, int batchSize) throws SQLException {
+        long chunkCount = (rowCount + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        AtomicLong nextChunk = new AtomicLong();
+        AtomicLong loadedRows = new AtomicLong();
+        long startTime = System.currentTimeMillis();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    try (Connection conn = ctx.openConnection();
+                         PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
+                        long chunk;
+                        while ((chunk = nextChunk.getAndIncrement()) < chunkCount) {
+                            long loaded = loadChunk(conn, pstmt, chunk, rowCount, seed, batchSize);
+                            long total = loadedRows.addAndGet(loaded);
+                            if ((chunk + 1) % 20 == 0) {
+                                long elapsed = System.currentTimeMillis() - startTime;
+                                System.out.printf("적재 진행률: %,d / %,d건 (%.1f%%, %,.0f건/초)%n", total, rowCount,
+                                        total * 100.0 / rowCount, elapsed > 0 ? total / (elapsed / 1000.0) : 0);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlEx) {
+                throw sqlEx;
+            }
+            throw new SQLException("가상 고객 적재 실패: " + e.getCause(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("가상 고객 적재 대기 중 인터럽트 발생", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        System.out.printf("적재 완료: %,d건 (%,d ms, %,.0f건/초)%n",
+                loadedRows.get(), elapsed, elapsed > 0 ? loadedRows.get() / (elapsed / 1000.0) : 0);
+    }
+
+    /**
+     * 청크 1개 생성 + INSERT + Commit (순번은 chunk * CHUNK_ROWS + 1부터)
+     */
+    private static long loadChunk(Connection conn, PreparedStatement pstmt, long chunk, long rowCount, long seed,
+                                  int batchSize) throws SQLException {
+        SyntheticCustomerGenerator generator = SyntheticCustomerGenerator.forChunk(seed, chunk);
+        long first = chunk * CHUNK_ROWS + 1;
+        long last = Math.min(first + CHUNK_ROWS - 1, rowCount);
+        int pending = 0;
+        try {
+            for (long sequence = first; sequence <= last; sequence++) {
+                CustomerRow row = generator.next(sequence);
+                pstmt.setString(1, row.id());
+                pstmt.setString(2, row.email());
+                pstmt.setBigDecimal(3, row.creditLimit());
+                pstmt.setString(4, row.gender());
+                pstmt.setString(5, row.address1());
+                pstmt.setString(6, row.address2());
+                pstmt.setDate(7, row.enrollDt());
+                pstmt.addBatch();
+                if (++pending >= batchSize) {
+                    pstmt.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                pstmt.executeBatch();
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            pstmt.clearBatch();
+            CouponBatchEngine.rollbackQuietly(conn);
+            throw e;
+        }
+        return last - first + 1;
+    }
+
+    /**
+     * CUSTOMER / BONUS_COUPON 생성 (없을 때만, CUSTOMER를 새로 만들었으면 true)
+     * DDL은 Oracle과 H2(MODE=Oracle) 모두에서 실행되는 타입만 사용
+     */
+    static boolean createTables(Connection conn) throws SQLException {
+        boolean created = false;
+        try (Statement stmt = conn.createStatement()) {
+            if (!tableExists(conn, "CUSTOMER")) {
+                stmt.execute("""
+                        CREATE TABLE CUSTOMER (
+                            ID           VARCHAR2(10) NOT NULL,
+                            EMAIL        VARCHAR2(100),
+                            CREDIT_LIMIT NUMBER(9,2),
+                            GENDER       CHAR(1),
+                            ADDRESS1     VARCHAR2(200),
+                            ADDRESS2     VARCHAR2(200),
+                            ENROLL_DT    DATE
+                        )
+                        """);
+                System.out.println("CUSTOMER 테이블 생성 완료 (인덱스는 적재 후 생성)");
+                created = true;
+            }
+            if (!tableExists(conn, TruncatePublisher.LIVE_TABLE)) {
+                stmt.execute("""
+                        CREATE TABLE BONUS_COUPON (
+                            YYYYMM       VARCHAR2(6)  NOT NULL,
+                            CUSTOMER_ID  VARCHAR2(10) NOT NULL,
+                            EMAIL        VARCHAR2(100),
+                            COUPON_CD    VARCHAR2(2),
+                            CREDIT_POINT NUMBER(9,2),
+                            SEND_DT      DATE,
+                            CONSTRAINT PK_BONUS_COUPON PRIMARY KEY (YYYYMM, CUSTOMER_ID)
+                        )
+                        """);
+                System.out.println("BONUS_COUPON 테이블 생성 완료");
+            }
+        }
+        conn.commit();
+        return created;
+    }
+
+    private static void createCustomerIndexes(Connection conn) throws SQLException {
+        long startTime = System.currentTimeMillis();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE CUSTOMER ADD CONSTRAINT PK_CUSTOMER PRIMARY KEY (ID)");
+            stmt.execute("CREATE INDEX IX_CUSTOMER_ENROLL_DT ON CUSTOMER (ENROLL_DT)");
+        }
+        conn.commit();
+        System.out.printf("CUSTOMER 인덱스 생성 완료 (PK_CUSTOMER, IX_CUSTOMER_ENROLL_DT, %,d ms)%n",
+                System.currentTimeMillis() - startTime);
+    }
+
+    private static boolean tableExists(Connection conn, String tableName) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getTables(null, null, tableName, new String[]{"TABLE"})) {
+            while (rs.next()) {
+                // Oracle은 다른 스키마의 같은 이름 테이블도 조회되므로 현재 사용자 스키마만 확인
+                String schema = rs.getString("TABLE_SCHEM");
+                if (schema == null || schema.equalsIgnoreCase(conn.getMetaData().getUserName())
+                        || !CouponArrayProcedure.isOracle(conn)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static long countCustomers(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM CUSTOMER")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.kopo.jimin;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 기존 발행 방식 (모든 Calc_Bonus_by_* 클래스와 동일)
+ * 처리방식: TRUNCATE TABLE BONUS_COUPON 후 전략이 BONUS_COUPON에 직접 INSERT
+ */
+public class TruncatePublisher implements CouponPublisher {
+
+    static final String LIVE_TABLE = "BONUS_COUPON";
+
+    @Override
+    public String targetTable(BatchContext ctx) {
+        return LIVE_TABLE;
+    }
+
+    @Override
+    public void prepare(Connection conn, BatchContext ctx) throws SQLException {
+        CouponBatchEngine.truncateTable(conn);
+    }
+}